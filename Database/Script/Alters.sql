@@ -0,0 +1,251 @@
+-- ============================================================================
+-- ALTERAÇÕES DE SCHEMA PARA BASES JÁ EXISTENTES
+-- Executar em ordem; cada bloco acompanha uma mudança da API Java.
+-- Instalações novas usam apenas Table.sql, que já contém todas as colunas,
+-- tabelas e índices abaixo. O script pode ser reexecutado: o que já existe
+-- é ignorado e as cargas de uma única vez só rodam quando a coluna é criada
+-- ============================================================================
+
+-- Executa um DDL ignorando objetos já existentes (removido ao final do script)
+CREATE OR REPLACE PROCEDURE SP_EXECUTAR_DDL(p_ddl IN VARCHAR2) IS
+    e_coluna_existente EXCEPTION;
+    e_nome_em_uso EXCEPTION;
+    e_colunas_ja_indexadas EXCEPTION;
+    e_ja_not_null EXCEPTION;
+    PRAGMA EXCEPTION_INIT(e_coluna_existente, -1430);
+    PRAGMA EXCEPTION_INIT(e_nome_em_uso, -955);
+    PRAGMA EXCEPTION_INIT(e_colunas_ja_indexadas, -1408);
+    PRAGMA EXCEPTION_INIT(e_ja_not_null, -1442);
+BEGIN
+    EXECUTE IMMEDIATE p_ddl;
+EXCEPTION
+    WHEN e_coluna_existente OR e_nome_em_uso OR e_colunas_ja_indexadas OR e_ja_not_null THEN
+        NULL;
+END SP_EXECUTAR_DDL;
+/
+
+-- ============================================================================
+-- SEQUENCE: seq_registro_bemestar
+-- A entidade RegistroBemestar usa allocationSize = 50 (otimizador pooled),
+-- portanto a sequence precisa avançar de 50 em 50
+-- ============================================================================
+
+ALTER SEQUENCE seq_registro_bemestar INCREMENT BY 50;
+
+-- ============================================================================
+-- REGISTRO_BEMESTAR.ID_CLIENTE
+-- Chave de idempotência da ingestão assíncrona (write-behind)
+-- ============================================================================
+
+BEGIN
+    SP_EXECUTAR_DDL('ALTER TABLE REGISTRO_BEMESTAR ADD (id_cliente VARCHAR2(36))');
+    SP_EXECUTAR_DDL('CREATE UNIQUE INDEX idx_rb_id_cliente ON REGISTRO_BEMESTAR (id_cliente)');
+END;
+/
+
+-- ============================================================================
+-- ALERTA como outbox de notificações
+-- Alertas são gravados na transação do check-in e publicados pelo relay;
+-- alertas já existentes são marcados como publicados para não serem reenviados
+-- ============================================================================
+
+ALTER SEQUENCE seq_alerta INCREMENT BY 50;
+
+DECLARE
+    v_existe NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO v_existe
+    FROM USER_TAB_COLUMNS
+    WHERE table_name = 'ALERTA' AND column_name = 'DATA_PUBLICACAO';
+
+    -- A marcação dos alertas antigos só vale na criação da coluna; depois dela,
+    -- DATA_PUBLICACAO nula identifica alertas ainda não publicados
+    IF v_existe = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE ALERTA ADD (
+            destinatario VARCHAR2(150),
+            data_publicacao TIMESTAMP,
+            tentativas_publicacao NUMBER DEFAULT 0
+        )';
+        EXECUTE IMMEDIATE 'UPDATE ALERTA SET data_publicacao = data_alerta';
+        COMMIT;
+    END IF;
+
+    SP_EXECUTAR_DDL('CREATE INDEX idx_alerta_usuario ON ALERTA (id_usuario)');
+    SP_EXECUTAR_DDL('CREATE INDEX idx_alerta_publicacao ON ALERTA (data_publicacao, data_alerta)');
+END;
+/
+
+-- ============================================================================
+-- TABELA: RESUMO_DIARIO_BEMESTAR
+-- Resumo diário de check-ins por usuário (escopo 'U'), mantido a cada
+-- check-in. A carga inicial pode ser feita por
+-- POST /api/v1/wellness/resumos/reconstruir
+-- ============================================================================
+
+BEGIN
+    SP_EXECUTAR_DDL('CREATE TABLE RESUMO_DIARIO_BEMESTAR (
+        escopo CHAR(1) NOT NULL,
+        id_referencia NUMBER NOT NULL,
+        dia DATE NOT NULL,
+        qtd_registros NUMBER DEFAULT 0 NOT NULL,
+        soma_humor NUMBER DEFAULT 0 NOT NULL,
+        soma_quad_humor NUMBER DEFAULT 0 NOT NULL,
+        soma_estresse NUMBER DEFAULT 0 NOT NULL,
+        soma_quad_estresse NUMBER DEFAULT 0 NOT NULL,
+        soma_energia NUMBER DEFAULT 0 NOT NULL,
+        soma_quad_energia NUMBER DEFAULT 0 NOT NULL,
+        qtd_sono NUMBER DEFAULT 0 NOT NULL,
+        soma_sono NUMBER DEFAULT 0 NOT NULL,
+        soma_quad_sono NUMBER DEFAULT 0 NOT NULL,
+        qtd_qualidade_sono NUMBER DEFAULT 0 NOT NULL,
+        soma_qualidade_sono NUMBER DEFAULT 0 NOT NULL,
+        soma_quad_qualidade_sono NUMBER DEFAULT 0 NOT NULL,
+        CONSTRAINT pk_resumo_diario_bemestar PRIMARY KEY (escopo, id_referencia, dia),
+        CONSTRAINT ck_resumo_escopo CHECK (escopo IN (''U''))
+    )');
+END;
+/
+
+-- ============================================================================
+-- ÍNDICE: idx_rb_usuario_data_id
+-- Paginação por cursor do histórico (GET /api/v1/wellness/usuario/{id}/historico)
+-- ============================================================================
+
+BEGIN
+    SP_EXECUTAR_DDL('CREATE INDEX idx_rb_usuario_data_id ON REGISTRO_BEMESTAR (id_usuario, data_registro DESC, id_registro DESC)');
+END;
+/
+
+-- ============================================================================
+-- REGISTRO_BEMESTAR.ALERT_FLAGS
+-- Coluna virtual com a máscara de alertas:
+-- 1 = estresse alto (>= 8), 2 = humor baixo (<= 3), 4 = sono inadequado (< 6h ou > 9h).
+-- Calculada pelo banco, inclusive para as linhas existentes e para as gravações
+-- de PKG_REGISTRO_BEMESTAR. Uma ALERT_FLAGS física criada por versão anterior
+-- deste script é substituída pela virtual
+-- ============================================================================
+
+DECLARE
+    v_virtual USER_TAB_COLS.virtual_column%TYPE;
+BEGIN
+    BEGIN
+        SELECT virtual_column INTO v_virtual
+        FROM USER_TAB_COLS
+        WHERE table_name = 'REGISTRO_BEMESTAR' AND column_name = 'ALERT_FLAGS';
+    EXCEPTION
+        WHEN NO_DATA_FOUND THEN
+            v_virtual := NULL;
+    END;
+
+    IF v_virtual = 'NO' THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE REGISTRO_BEMESTAR DROP COLUMN alert_flags';
+    END IF;
+
+    IF v_virtual IS NULL OR v_virtual = 'NO' THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE REGISTRO_BEMESTAR ADD (alert_flags NUMBER(1) GENERATED ALWAYS AS (
+              CASE WHEN nivel_estresse >= 8 THEN 1 ELSE 0 END
+            + CASE WHEN nivel_humor <= 3 THEN 2 ELSE 0 END
+            + CASE WHEN horas_sono < 6 OR horas_sono > 9 THEN 4 ELSE 0 END) VIRTUAL)';
+    END IF;
+
+    SP_EXECUTAR_DDL('CREATE INDEX idx_rb_alert_flags_data ON REGISTRO_BEMESTAR (alert_flags, data_registro)');
+END;
+/
+
+-- ============================================================================
+-- EMPRESA.TOTAL_COLABORADORES_ATIVOS
+-- Contador de vínculos ativos mantido por UPDATE atômico (+1/-1) ao criar,
+-- desativar e reativar vínculos; divergências corrigidas pela reconciliação
+-- agendada (app.empresas.reconciliacao-colaboradores.cron)
+-- ============================================================================
+
+BEGIN
+    SP_EXECUTAR_DDL('ALTER TABLE EMPRESA ADD (total_colaboradores_ativos NUMBER DEFAULT 0 NOT NULL)');
+END;
+/
+
+-- Recontagem completa: idêntica ao que a reconciliação agendada faria
+UPDATE EMPRESA e SET e.total_colaboradores_ativos = (
+    SELECT COUNT(*) FROM USUARIO_EMPRESA ue
+    WHERE ue.id_empresa = e.id_empresa AND ue.status_vinculo = 'A'
+);
+COMMIT;
+
+BEGIN
+    SP_EXECUTAR_DDL('CREATE INDEX idx_empresa_total_colab ON EMPRESA (total_colaboradores_ativos DESC, id_empresa)');
+END;
+/
+
+-- ============================================================================
+-- USUARIO.ULTIMO_REGISTRO
+-- Data do registro de bem-estar mais recente (ou do cadastro, sem registros),
+-- avançada por RegistroBemestarService.criar/criarLote e por
+-- PKG_REGISTRO_BEMESTAR.SP_INSERIR. Substitui o NOT IN
+-- sobre REGISTRO_BEMESTAR em GET /api/v1/usuario/sem-registros/recentes
+-- ============================================================================
+
+BEGIN
+    SP_EXECUTAR_DDL('ALTER TABLE USUARIO ADD (ultimo_registro TIMESTAMP)');
+END;
+/
+
+-- Preenche a coluna nova e corrige usuários cujo ULTIMO_REGISTRO ficou atrás do
+-- registro mais recente (check-ins gravados por PKG_REGISTRO_BEMESTAR antes de
+-- SP_INSERIR passar a avançá-lo)
+UPDATE USUARIO u SET u.ultimo_registro = NVL(
+    (SELECT MAX(rb.data_registro) FROM REGISTRO_BEMESTAR rb WHERE rb.id_usuario = u.id_usuario),
+    u.data_cadastro
+)
+WHERE u.ultimo_registro IS NULL
+   OR EXISTS (
+       SELECT 1 FROM REGISTRO_BEMESTAR rb
+       WHERE rb.id_usuario = u.id_usuario AND rb.data_registro > u.ultimo_registro
+   );
+COMMIT;
+
+BEGIN
+    SP_EXECUTAR_DDL('ALTER TABLE USUARIO MODIFY (ultimo_registro DEFAULT SYSTIMESTAMP NOT NULL)');
+    SP_EXECUTAR_DDL('CREATE INDEX idx_usuario_status_ultimo_reg ON USUARIO (status_ativo, ultimo_registro)');
+END;
+/
+
+-- ============================================================================
+-- EMPRESA.DIAS_INATIVIDADE_ALERTA
+-- Dias sem registro para considerar um colaborador inativo
+-- (nulo = app.usuarios.inatividade.dias-padrao)
+-- ============================================================================
+
+BEGIN
+    SP_EXECUTAR_DDL('ALTER TABLE EMPRESA ADD (dias_inatividade_alerta NUMBER(3))');
+END;
+/
+
+-- ============================================================================
+-- USUARIO.EMAIL_NORMALIZADO
+-- Coluna virtual LOWER(TRIM(email)) com índice único: login, refresh de token
+-- e CustomUserDetailsService buscam por ela em vez de LOWER(email), que não
+-- usava idx_usuario_email. Calculada pelo banco, inclusive para as linhas
+-- existentes e para as gravações de PKG_USUARIO.
+-- ============================================================================
+
+-- Emails que só diferem em maiúsculas/espaços impedem o índice único; resolver antes:
+-- SELECT LOWER(TRIM(email)), COUNT(*) FROM USUARIO GROUP BY LOWER(TRIM(email)) HAVING COUNT(*) > 1;
+
+BEGIN
+    SP_EXECUTAR_DDL('ALTER TABLE USUARIO ADD (email_normalizado VARCHAR2(100) GENERATED ALWAYS AS (LOWER(TRIM(email))) VIRTUAL)');
+    SP_EXECUTAR_DDL('CREATE UNIQUE INDEX idx_usuario_email_normalizado ON USUARIO (email_normalizado)');
+END;
+/
+
+-- ============================================================================
+-- ALERTA.PROXIMA_TENTATIVA
+-- Backoff do relay do outbox: após uma falha de publicação o alerta só é
+-- tentado de novo a partir desta data
+-- ============================================================================
+
+BEGIN
+    SP_EXECUTAR_DDL('ALTER TABLE ALERTA ADD (proxima_tentativa TIMESTAMP)');
+END;
+/
+
+DROP PROCEDURE SP_EXECUTAR_DDL;
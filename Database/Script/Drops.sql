@@ -6,6 +6,7 @@ DROP TABLE ALERTA CASCADE CONSTRAINTS;
 DROP TABLE RECOMENDACAO_USUARIO CASCADE CONSTRAINTS;
 DROP TABLE RECOMENDACAO CASCADE CONSTRAINTS;
 DROP TABLE CATEGORIA_RECOMENDACAO CASCADE CONSTRAINTS;
+DROP TABLE RESUMO_DIARIO_BEMESTAR CASCADE CONSTRAINTS;
 DROP TABLE REGISTRO_BEMESTAR CASCADE CONSTRAINTS;
 DROP TABLE USUARIO_EMPRESA CASCADE CONSTRAINTS;
 DROP TABLE USUARIO CASCADE CONSTRAINTS;
@@ -8,10 +8,16 @@ CREATE TABLE USUARIO (
     telefone VARCHAR2(20),
     data_cadastro DATE DEFAULT SYSDATE NOT NULL,
     status_ativo CHAR(1) DEFAULT 'S' NOT NULL,
+    ultimo_registro TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
+    email_normalizado VARCHAR2(100) GENERATED ALWAYS AS (LOWER(TRIM(email))) VIRTUAL,
     CONSTRAINT ck_usuario_status CHECK (status_ativo IN ('S', 'N')),
     CONSTRAINT ck_usuario_genero CHECK (genero IN ('Masculino', 'Feminino', 'Outro', 'Prefiro não informar'))
 );
 
+-- Busca de usuários sem registro recente e login/refresh por email normalizado
+CREATE INDEX idx_usuario_status_ultimo_reg ON USUARIO (status_ativo, ultimo_registro);
+CREATE UNIQUE INDEX idx_usuario_email_normalizado ON USUARIO (email_normalizado);
+
 -- ============================================================================
 -- TABELA: EMPRESA
 -- Armazena informações das empresas/organizações
@@ -25,9 +31,14 @@ CREATE TABLE EMPRESA (
     telefone VARCHAR2(20),
     email_contato VARCHAR2(100),
     data_cadastro DATE DEFAULT SYSDATE NOT NULL,
+    total_colaboradores_ativos NUMBER DEFAULT 0 NOT NULL,
+    dias_inatividade_alerta NUMBER(3),
     CONSTRAINT ck_cnpj_formato CHECK (REGEXP_LIKE(cnpj, '^[0-9]{2}\.[0-9]{3}\.[0-9]{3}/[0-9]{4}-[0-9]{2}$'))
 );
 
+-- Ranking de empresas por colaboradores ativos
+CREATE INDEX idx_empresa_total_colab ON EMPRESA (total_colaboradores_ativos DESC, id_empresa);
+
 -- ============================================================================
 -- TABELA: USUARIO_EMPRESA (Tabela Associativa)
 -- Relacionamento N:N entre Usuários e Empresas
@@ -61,6 +72,11 @@ CREATE TABLE REGISTRO_BEMESTAR (
     horas_sono NUMBER(4,2),
     qualidade_sono NUMBER(2),
     observacoes VARCHAR2(500),
+    id_cliente VARCHAR2(36),
+    alert_flags NUMBER(1) GENERATED ALWAYS AS (
+          CASE WHEN nivel_estresse >= 8 THEN 1 ELSE 0 END
+        + CASE WHEN nivel_humor <= 3 THEN 2 ELSE 0 END
+        + CASE WHEN horas_sono < 6 OR horas_sono > 9 THEN 4 ELSE 0 END) VIRTUAL,
     CONSTRAINT fk_registro_usuario FOREIGN KEY (id_usuario) REFERENCES USUARIO(id_usuario) ON DELETE CASCADE,
     CONSTRAINT ck_nivel_humor CHECK (nivel_humor BETWEEN 1 AND 10),
     CONSTRAINT ck_nivel_estresse CHECK (nivel_estresse BETWEEN 1 AND 10),
@@ -69,6 +85,37 @@ CREATE TABLE REGISTRO_BEMESTAR (
     CONSTRAINT ck_qualidade_sono CHECK (qualidade_sono BETWEEN 1 AND 10)
 );
 
+-- Histórico paginado por cursor, idempotência da ingestão assíncrona e filtros por alerta
+CREATE INDEX idx_rb_usuario_data_id ON REGISTRO_BEMESTAR (id_usuario, data_registro DESC, id_registro DESC);
+CREATE UNIQUE INDEX idx_rb_id_cliente ON REGISTRO_BEMESTAR (id_cliente);
+CREATE INDEX idx_rb_alert_flags_data ON REGISTRO_BEMESTAR (alert_flags, data_registro);
+
+-- ============================================================================
+-- TABELA: RESUMO_DIARIO_BEMESTAR
+-- Resumo diário de check-ins por usuário (escopo 'U'), mantido a cada check-in
+-- ============================================================================
+
+CREATE TABLE RESUMO_DIARIO_BEMESTAR (
+    escopo CHAR(1) NOT NULL,
+    id_referencia NUMBER NOT NULL,
+    dia DATE NOT NULL,
+    qtd_registros NUMBER DEFAULT 0 NOT NULL,
+    soma_humor NUMBER DEFAULT 0 NOT NULL,
+    soma_quad_humor NUMBER DEFAULT 0 NOT NULL,
+    soma_estresse NUMBER DEFAULT 0 NOT NULL,
+    soma_quad_estresse NUMBER DEFAULT 0 NOT NULL,
+    soma_energia NUMBER DEFAULT 0 NOT NULL,
+    soma_quad_energia NUMBER DEFAULT 0 NOT NULL,
+    qtd_sono NUMBER DEFAULT 0 NOT NULL,
+    soma_sono NUMBER DEFAULT 0 NOT NULL,
+    soma_quad_sono NUMBER DEFAULT 0 NOT NULL,
+    qtd_qualidade_sono NUMBER DEFAULT 0 NOT NULL,
+    soma_qualidade_sono NUMBER DEFAULT 0 NOT NULL,
+    soma_quad_qualidade_sono NUMBER DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_resumo_diario_bemestar PRIMARY KEY (escopo, id_referencia, dia),
+    CONSTRAINT ck_resumo_escopo CHECK (escopo IN ('U'))
+);
+
 -- ============================================================================
 -- TABELA: CATEGORIA_RECOMENDACAO
 -- Categorias para organizar recomendações
@@ -127,11 +174,19 @@ CREATE TABLE ALERTA (
     data_alerta TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
     nivel_gravidade VARCHAR2(20) NOT NULL,
     status_alerta VARCHAR2(20) DEFAULT 'PENDENTE' NOT NULL,
+    destinatario VARCHAR2(150),
+    data_publicacao TIMESTAMP,
+    tentativas_publicacao NUMBER DEFAULT 0,
+    proxima_tentativa TIMESTAMP,
     CONSTRAINT fk_alerta_usuario FOREIGN KEY (id_usuario) REFERENCES USUARIO(id_usuario) ON DELETE CASCADE,
     CONSTRAINT ck_nivel_gravidade CHECK (nivel_gravidade IN ('BAIXO', 'MEDIO', 'ALTO', 'CRITICO')),
     CONSTRAINT ck_status_alerta CHECK (status_alerta IN ('PENDENTE', 'EM_ANALISE', 'RESOLVIDO', 'IGNORADO'))
 );
 
+-- Outbox: alertas não publicados (DATA_PUBLICACAO nula) são lidos pelo relay
+CREATE INDEX idx_alerta_usuario ON ALERTA (id_usuario);
+CREATE INDEX idx_alerta_publicacao ON ALERTA (data_publicacao, data_alerta);
+
 -- ============================================================================
 -- TABELA: CONQUISTA
 -- Armazena as conquistas disponíveis (gamificação)
@@ -201,11 +256,11 @@ CREATE TABLE SESSAO_APOIO (
 CREATE SEQUENCE seq_usuario START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE seq_empresa START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE seq_usuario_empresa START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE seq_registro_bemestar START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE seq_registro_bemestar START WITH 1 INCREMENT BY 50;
 CREATE SEQUENCE seq_categoria_recomendacao START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE seq_recomendacao START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE seq_recomendacao_usuario START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE seq_alerta START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE seq_alerta START WITH 1 INCREMENT BY 50;
 CREATE SEQUENCE seq_conquista START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE seq_usuario_conquista START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE seq_sessao_apoio START WITH 1 INCREMENT BY 1;
@@ -405,6 +405,7 @@ CREATE OR REPLACE PACKAGE BODY PKG_REGISTRO_BEMESTAR AS
         p_mensagem OUT VARCHAR2
     ) AS
         v_usuario_existe NUMBER;
+        v_data_registro REGISTRO_BEMESTAR.data_registro%TYPE;
     BEGIN
         SELECT COUNT(*) INTO v_usuario_existe FROM USUARIO WHERE id_usuario = p_id_usuario AND status_ativo = 'S';
         IF v_usuario_existe = 0 THEN
@@ -435,7 +436,13 @@ CREATE OR REPLACE PACKAGE BODY PKG_REGISTRO_BEMESTAR AS
                                        nivel_energia, horas_sono, qualidade_sono, observacoes)
         VALUES (seq_registro_bemestar.NEXTVAL, p_id_usuario, SYSTIMESTAMP, p_nivel_humor, p_nivel_estresse,
                 p_nivel_energia, p_horas_sono, p_qualidade_sono, p_observacoes)
-        RETURNING id_registro INTO p_id_registro;
+        RETURNING id_registro, data_registro INTO p_id_registro, v_data_registro;
+
+        -- Mesma regra de RegistroBemestarService: ULTIMO_REGISTRO só avança
+        UPDATE USUARIO
+        SET ultimo_registro = v_data_registro
+        WHERE id_usuario = p_id_usuario
+          AND ultimo_registro < v_data_registro;
 
         p_status := 'SUCESSO';
         p_mensagem := 'Registro inserido';
@@ -0,0 +1,129 @@
+package com.wellmind.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom sobre hashes de 64 bits
+ *
+ * - Dimensionado pela capacidade esperada e pela taxa de falso positivo desejada
+ * - k posições por chave com hashing duplo (h1 + i * h2), a partir de um único hash(String)
+ * - Inclusão e consulta sem lock (AtomicLongArray); nunca dá falso negativo
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray palavras;
+    private final long bits;
+    private final int funcoes;
+    private final long capacidade;
+    private final AtomicLong bitsLigados = new AtomicLong();
+    private final AtomicLong inseridos = new AtomicLong();
+
+    public BloomFilter(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade <= 0 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade e taxa de falso positivo inválidas");
+        }
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+        int palavrasNecessarias = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) >>> 6));
+
+        this.palavras = new AtomicLongArray(palavrasNecessarias);
+        this.bits = (long) palavrasNecessarias << 6;
+        this.funcoes = Math.max(1, (int) Math.round((double) bits / capacidade * ln2));
+        this.capacidade = capacidade;
+    }
+
+    /**
+     * Hash de 64 bits da chave (FNV-1a sobre os caracteres, finalizado com o mix do MurmurHash3)
+     */
+    public static long hash(String chave) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < chave.length(); i++) {
+            h ^= chave.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return misturar(h);
+    }
+
+    /**
+     * @return false se a chave certamente nunca foi incluída
+     */
+    public boolean podeConter(long hash) {
+        long h2 = segundoHash(hash);
+        for (int i = 0; i < funcoes; i++) {
+            long posicao = Long.remainderUnsigned(hash + i * h2, bits);
+            if ((palavras.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true se algum bit mudou (chave possivelmente nova)
+     */
+    public boolean adicionar(long hash) {
+        long h2 = segundoHash(hash);
+        boolean mudou = false;
+        for (int i = 0; i < funcoes; i++) {
+            long posicao = Long.remainderUnsigned(hash + i * h2, bits);
+            if (ligar((int) (posicao >>> 6), 1L << posicao)) {
+                mudou = true;
+            }
+        }
+        if (mudou) {
+            inseridos.incrementAndGet();
+        }
+        return mudou;
+    }
+
+    /**
+     * Fração dos bits ligados (0 a 1)
+     */
+    public double saturacao() {
+        return (double) bitsLigados.get() / bits;
+    }
+
+    /**
+     * Taxa de falso positivo esperada com a saturação atual (saturação ^ k)
+     */
+    public double taxaFalsoPositivoEstimada() {
+        return Math.pow(saturacao(), funcoes);
+    }
+
+    public long getCapacidade() {
+        return capacidade;
+    }
+
+    /**
+     * Chaves distintas incluídas (aproximado: colisões completas não contam)
+     */
+    public long getInseridos() {
+        return inseridos.get();
+    }
+
+    private boolean ligar(int indice, long mascara) {
+        long atual;
+        do {
+            atual = palavras.get(indice);
+            if ((atual & mascara) != 0) {
+                return false;
+            }
+        } while (!palavras.compareAndSet(indice, atual, atual | mascara));
+        bitsLigados.incrementAndGet();
+        return true;
+    }
+
+    private static long segundoHash(long hash) {
+        return misturar(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+    }
+
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53ec6d3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
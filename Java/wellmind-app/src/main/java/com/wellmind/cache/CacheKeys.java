@@ -0,0 +1,60 @@
+package com.wellmind.cache;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+
+/**
+ * Chaves de cache com tags das entidades das quais o valor depende
+ *
+ * Formato: "{tag1},{tag2}|{restante}". O TwoLevelCache indexa a chave em cada tag;
+ * evict(tag("usuario:5")) remove todas as entradas marcadas com "usuario:5".
+ * Uso em SpEL: key = "T(com.wellmind.cache.CacheKeys).pagina('usuario:' + #id, #pageable)"
+ */
+public final class CacheKeys {
+
+    static final String PREFIXO_TAG = "#tag:";
+    static final char SEPARADOR = '|';
+
+    /** Tag das listagens gerais (páginas que não dependem de um único id) */
+    public static final String LISTA = "lista";
+
+    private CacheKeys() {
+    }
+
+    /**
+     * Chave de uma página, incluindo número, tamanho e ordenação
+     */
+    public static String pagina(String tags, Pageable pageable) {
+        return tags + SEPARADOR + "p" + pageable.getPageNumber() +
+                ",s" + pageable.getPageSize() +
+                "," + pageable.getSort();
+    }
+
+    /**
+     * Chave de uma entidade por id, marcada com a própria tag
+     */
+    public static String entidade(String tag) {
+        return tag + SEPARADOR + "id";
+    }
+
+    /**
+     * Chave especial que, passada a evict(), remove todas as entradas da tag
+     */
+    public static String tag(String tag) {
+        return PREFIXO_TAG + tag;
+    }
+
+    public static String tags(Collection<String> tags) {
+        return String.join(",", tags);
+    }
+
+    static boolean isTag(String chave) {
+        return chave.startsWith(PREFIXO_TAG);
+    }
+
+    static String[] extrairTags(String chave) {
+        int fim = chave.indexOf(SEPARADOR);
+        return fim <= 0 ? new String[0] : chave.substring(0, fim).split(",");
+    }
+}
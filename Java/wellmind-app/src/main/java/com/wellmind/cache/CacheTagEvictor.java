@@ -0,0 +1,30 @@
+package com.wellmind.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Remoção por tag para casos em que as tags só são conhecidas durante o
+ * processamento (ex.: lote com vários usuários). Em transação, a remoção
+ * ocorre após o commit (CacheManager transacional).
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheTagEvictor {
+
+    private final CacheManager cacheManager;
+
+    public void evict(String cacheName, Collection<String> tags) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        for (String tag : tags) {
+            cache.evict(CacheKeys.tag(tag));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.wellmind.cache;
+
+import java.util.Set;
+
+/**
+ * Índice tag -> chaves de um cache, usado na remoção por tag
+ */
+public interface CacheTagIndex {
+
+    void registrar(String cache, String tag, String chave);
+
+    /**
+     * Retorna e remove do índice as chaves marcadas com a tag
+     */
+    Set<String> remover(String cache, String tag);
+}
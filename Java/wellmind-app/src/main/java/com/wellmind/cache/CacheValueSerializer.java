@@ -0,0 +1,214 @@
+package com.wellmind.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Codec dos valores do cache no Redis (L2)
+ *
+ * Cabeçalho de 4 bytes: [mágico][versão][formato][flags], seguido do payload.
+ * - formato: JSON ou Smile (JSON binário com nomes de campo compartilhados)
+ * - flags: LZ4 quando o payload passa de app.cache.codec.compressao-min-bytes
+ *   (o tamanho original vem em 4 bytes antes do bloco comprimido)
+ *
+ * O formato de escrita é configurável, mas a leitura aceita qualquer formato
+ * conhecido: nós com configurações diferentes convivem durante o deploy.
+ * Valores sem cabeçalho (serializador antigo) ou de versão desconhecida são
+ * tratados como ausentes e recarregados.
+ *
+ * Os tipos vão no payload (@class) para que o valor volte como o DTO original;
+ * Page é gravado como PaginaCache.
+ */
+@Slf4j
+public class CacheValueSerializer implements RedisSerializer<Object> {
+
+    public enum Formato {
+        JSON((byte) 1),
+        SMILE((byte) 2);
+
+        private final byte codigo;
+
+        Formato(byte codigo) {
+            this.codigo = codigo;
+        }
+
+        static Formato doCodigo(byte codigo) {
+            for (Formato formato : values()) {
+                if (formato.codigo == codigo) {
+                    return formato;
+                }
+            }
+            return null;
+        }
+    }
+
+    static final byte MAGICO = (byte) 0xB7;
+    static final byte VERSAO = 1;
+    static final byte FLAG_LZ4 = 1;
+    static final int TAMANHO_CABECALHO = 4;
+
+    private static final int TAMANHO_ORIGINAL = 4;
+
+    private final Formato formato;
+    private final int limiarCompressao;
+    private final ObjectWriter[] escritores = new ObjectWriter[Formato.values().length];
+    private final ObjectReader[] leitores = new ObjectReader[Formato.values().length];
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor descompressor;
+
+    /**
+     * @param base             mapper da aplicação (módulos e configuração são copiados, não alterados)
+     * @param formato          formato usado na escrita
+     * @param limiarCompressao tamanho mínimo do payload para comprimir com LZ4 (0 desativa)
+     */
+    public CacheValueSerializer(ObjectMapper base, Formato formato, int limiarCompressao) {
+        this.formato = formato;
+        this.limiarCompressao = limiarCompressao;
+
+        // Nomes de campo e valores curtos repetidos (ex.: @class) viram referências
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+
+        registrar(Formato.JSON, comTipos(base.copy()));
+        registrar(Formato.SMILE, comTipos(base.copyWith(smileFactory)));
+
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = lz4.fastCompressor();
+        this.descompressor = lz4.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object valor) throws SerializationException {
+        if (valor == null) {
+            return new byte[0];
+        }
+        byte[] payload;
+        try {
+            payload = escritores[formato.ordinal()].writeValueAsBytes(normalizar(valor));
+        } catch (IOException e) {
+            throw new SerializationException("Falha ao serializar valor do cache: " + e.getMessage(), e);
+        }
+
+        if (limiarCompressao > 0 && payload.length >= limiarCompressao) {
+            int inicio = TAMANHO_CABECALHO + TAMANHO_ORIGINAL;
+            int maximo = compressor.maxCompressedLength(payload.length);
+            byte[] saida = new byte[inicio + maximo];
+            int comprimido = compressor.compress(payload, 0, payload.length, saida, inicio, maximo);
+            // Só compensa se reduzir de fato
+            if (comprimido + TAMANHO_ORIGINAL < payload.length) {
+                escreverCabecalho(saida, FLAG_LZ4);
+                escreverInt(saida, TAMANHO_CABECALHO, payload.length);
+                return Arrays.copyOf(saida, inicio + comprimido);
+            }
+        }
+
+        byte[] saida = new byte[TAMANHO_CABECALHO + payload.length];
+        escreverCabecalho(saida, (byte) 0);
+        System.arraycopy(payload, 0, saida, TAMANHO_CABECALHO, payload.length);
+        return saida;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < TAMANHO_CABECALHO || bytes[0] != MAGICO) {
+            log.debug("Valor de cache sem cabeçalho do codec (formato antigo), tratado como ausente");
+            return null;
+        }
+        if (bytes[1] != VERSAO) {
+            log.debug("Valor de cache na versão {} do codec (suportada: {}), tratado como ausente", bytes[1], VERSAO);
+            return null;
+        }
+        Formato formatoValor = Formato.doCodigo(bytes[2]);
+        if (formatoValor == null) {
+            log.debug("Formato de cache desconhecido: {}, tratado como ausente", bytes[2]);
+            return null;
+        }
+
+        try {
+            Object valor;
+            ObjectReader leitor = leitores[formatoValor.ordinal()];
+            if ((bytes[3] & FLAG_LZ4) != 0) {
+                int tamanhoOriginal = lerInt(bytes, TAMANHO_CABECALHO);
+                byte[] payload = descompressor.decompress(bytes, TAMANHO_CABECALHO + TAMANHO_ORIGINAL, tamanhoOriginal);
+                valor = leitor.readValue(payload);
+            } else {
+                valor = leitor.readValue(bytes, TAMANHO_CABECALHO, bytes.length - TAMANHO_CABECALHO);
+            }
+            return valor instanceof PaginaCache pagina ? pagina.toPage() : valor;
+        } catch (IOException | LZ4Exception e) {
+            throw new SerializationException("Falha ao desserializar valor do cache: " + e.getMessage(), e);
+        }
+    }
+
+    private void registrar(Formato formatoMapper, ObjectMapper mapper) {
+        escritores[formatoMapper.ordinal()] = mapper.writerFor(Object.class);
+        leitores[formatoMapper.ordinal()] = mapper.readerFor(Object.class);
+    }
+
+    private void escreverCabecalho(byte[] saida, byte flags) {
+        saida[0] = MAGICO;
+        saida[1] = VERSAO;
+        saida[2] = formato.codigo;
+        saida[3] = flags;
+    }
+
+    private static ObjectMapper comTipos(ObjectMapper mapper) {
+        PolymorphicTypeValidator validador = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.wellmind.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType("java.lang.")
+                .allowIfSubType("java.math.")
+                .build();
+        mapper.activateDefaultTyping(validador, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return mapper;
+    }
+
+    // Page não é desserializável e listas imutáveis (List.of/toList) não têm construtor
+    private static Object normalizar(Object valor) {
+        if (valor instanceof Page<?> page) {
+            return PaginaCache.de(page);
+        }
+        if (valor instanceof List<?> lista && !(valor instanceof ArrayList<?>)) {
+            return new ArrayList<>(lista);
+        }
+        return valor;
+    }
+
+    private static void escreverInt(byte[] destino, int posicao, int valor) {
+        destino[posicao] = (byte) (valor >>> 24);
+        destino[posicao + 1] = (byte) (valor >>> 16);
+        destino[posicao + 2] = (byte) (valor >>> 8);
+        destino[posicao + 3] = (byte) valor;
+    }
+
+    private static int lerInt(byte[] origem, int posicao) {
+        return ((origem[posicao] & 0xFF) << 24)
+                | ((origem[posicao + 1] & 0xFF) << 16)
+                | ((origem[posicao + 2] & 0xFF) << 8)
+                | (origem[posicao + 3] & 0xFF);
+    }
+}
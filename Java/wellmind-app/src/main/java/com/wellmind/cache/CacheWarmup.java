@@ -0,0 +1,153 @@
+package com.wellmind.cache;
+
+import com.wellmind.service.CategoriaRecomendacaoService;
+import com.wellmind.service.EmpresaService;
+import com.wellmind.service.ProfissionalSaudeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntConsumer;
+
+/**
+ * Aquecimento dos caches de dados de referência na subida da aplicação
+ *
+ * Roda como ApplicationRunner: o Spring Boot só publica
+ * ReadinessState.ACCEPTING_TRAFFIC (probe /actuator/health/readiness) depois
+ * que os runners terminam, então o nó só recebe tráfego com os caches
+ * quentes ou após app.cache.aquecimento.timeout-segundos.
+ *
+ * Itens em app.cache.aquecimento.itens (categorias, especialidades,
+ * profissionais, empresas); listas paginadas aquecem as primeiras
+ * app.cache.aquecimento.paginas páginas com o tamanho padrão dos controllers.
+ * Métricas: wellmind.cache.aquecimento{resultado} e
+ * wellmind.cache.aquecimento.item{item,resultado}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmup implements ApplicationRunner {
+
+    private final CategoriaRecomendacaoService categoriaService;
+    private final ProfissionalSaudeService profissionalService;
+    private final EmpresaService empresaService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cache.aquecimento.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.cache.aquecimento.itens:categorias,especialidades,profissionais,empresas}")
+    private List<String> itens;
+
+    @Value("${app.cache.aquecimento.paginas:3}")
+    private int paginas;
+
+    @Value("${app.cache.aquecimento.tamanho-pagina:20}")
+    private int tamanhoPagina;
+
+    @Value("${app.cache.aquecimento.threads:4}")
+    private int threads;
+
+    @Value("${app.cache.aquecimento.timeout-segundos:30}")
+    private long timeoutSegundos;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!habilitado || itens.isEmpty()) {
+            log.info("Aquecimento de cache desativado");
+            return;
+        }
+
+        Map<String, List<Runnable>> tarefas = tarefas();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-aquecimento-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), threadFactory);
+
+        Timer.Sample total = Timer.start(meterRegistry);
+        List<CompletableFuture<Void>> execucoes = new ArrayList<>();
+        tarefas.forEach((item, cargas) -> cargas.forEach(carga ->
+                execucoes.add(CompletableFuture.runAsync(() -> executar(item, carga), executor))));
+
+        String resultado = "concluido";
+        try {
+            CompletableFuture.allOf(execucoes.toArray(CompletableFuture[]::new))
+                    .get(timeoutSegundos, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            resultado = "timeout";
+            log.warn("Aquecimento de cache excedeu {}s; liberando o tráfego com o restante em andamento", timeoutSegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            resultado = "interrompido";
+        } catch (ExecutionException e) {
+            // Falhas individuais já são tratadas em executar()
+            resultado = "falha";
+        } finally {
+            executor.shutdown();
+        }
+
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(total.stop(Timer.builder("wellmind.cache.aquecimento")
+                .description("Duração do aquecimento de cache na subida")
+                .tag("resultado", resultado)
+                .register(meterRegistry)));
+        log.info("Aquecimento de cache {} em {} ms ({} cargas)", resultado, duracaoMs, execucoes.size());
+    }
+
+    private Map<String, List<Runnable>> tarefas() {
+        Map<String, List<Runnable>> tarefas = new LinkedHashMap<>();
+        for (String item : itens) {
+            String nome = item.trim();
+            switch (nome) {
+                case "categorias" -> tarefas.put(nome, List.of(categoriaService::listarAtivas));
+                case "especialidades" -> tarefas.put(nome, List.of(profissionalService::listarEspecialidades));
+                case "profissionais" -> tarefas.put(nome, paginas(pagina ->
+                        profissionalService.listarDisponíveis(PageRequest.of(pagina, tamanhoPagina))));
+                case "empresas" -> tarefas.put(nome, paginas(pagina ->
+                        empresaService.listarAtivas(PageRequest.of(pagina, tamanhoPagina))));
+                default -> log.warn("Item de aquecimento de cache desconhecido: {}", nome);
+            }
+        }
+        return tarefas;
+    }
+
+    private List<Runnable> paginas(IntConsumer carga) {
+        List<Runnable> cargas = new ArrayList<>();
+        for (int pagina = 0; pagina < paginas; pagina++) {
+            int numero = pagina;
+            cargas.add(() -> carga.accept(numero));
+        }
+        return cargas;
+    }
+
+    private void executar(String item, Runnable carga) {
+        Timer.Sample inicio = Timer.start(meterRegistry);
+        String resultado = "ok";
+        try {
+            carga.run();
+        } catch (RuntimeException e) {
+            resultado = "erro";
+            log.warn("Falha ao aquecer cache {}: {}", item, e.getMessage());
+        } finally {
+            inicio.stop(Timer.builder("wellmind.cache.aquecimento.item")
+                    .tag("item", item)
+                    .tag("resultado", resultado)
+                    .register(meterRegistry));
+        }
+    }
+}
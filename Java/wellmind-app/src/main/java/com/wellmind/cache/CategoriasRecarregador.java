@@ -0,0 +1,34 @@
+package com.wellmind.cache;
+
+import com.wellmind.mapper.CategoriaRecomendacaoMapper;
+import com.wellmind.repository.CategoriaRecomendacaoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Refresh antecipado de "categorias" (CategoriaRecomendacaoService.listarAtivas, chave única)
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoriasRecarregador implements RecarregadorCache {
+
+    private final CategoriaRecomendacaoRepository categoriaRepository;
+    private final CategoriaRecomendacaoMapper categoriaMapper;
+
+    @Override
+    public String cache() {
+        return "categorias";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Object> recarregar(Object chave) {
+        return Optional.of(categoriaRepository.findAllActiveOrdered()
+                .stream()
+                .map(categoriaMapper::toDTO)
+                .toList());
+    }
+}
@@ -0,0 +1,26 @@
+package com.wellmind.cache;
+
+import java.util.Locale;
+
+/**
+ * Espaços de chave com restrição de unicidade verificados por FiltroUnicidade
+ */
+public enum ChaveUnica {
+    EMAIL {
+        // Mesma regra de USUARIO.EMAIL_NORMALIZADO
+        @Override
+        public String normalizar(String valor) {
+            return valor.trim().toLowerCase(Locale.ROOT);
+        }
+    },
+    CNPJ,
+    CRP_CRM,
+    NOME_CATEGORIA;
+
+    /**
+     * Valor na forma comparada pela restrição unique
+     */
+    public String normalizar(String valor) {
+        return valor;
+    }
+}
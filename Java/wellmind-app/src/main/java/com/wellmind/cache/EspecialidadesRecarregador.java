@@ -0,0 +1,29 @@
+package com.wellmind.cache;
+
+import com.wellmind.repository.ProfissionalSaudeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Refresh antecipado de "especialidades" (ProfissionalSaudeService.listarEspecialidades, chave única)
+ */
+@Component
+@RequiredArgsConstructor
+public class EspecialidadesRecarregador implements RecarregadorCache {
+
+    private final ProfissionalSaudeRepository profissionalRepository;
+
+    @Override
+    public String cache() {
+        return "especialidades";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Object> recarregar(Object chave) {
+        return Optional.of(profissionalRepository.findAllEspecialidades());
+    }
+}
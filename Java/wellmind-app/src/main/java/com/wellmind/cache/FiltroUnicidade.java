@@ -0,0 +1,259 @@
+package com.wellmind.cache;
+
+import com.wellmind.repository.CategoriaRecomendacaoRepository;
+import com.wellmind.repository.EmpresaRepository;
+import com.wellmind.repository.ProfissionalSaudeRepository;
+import com.wellmind.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Pré-verificação de unicidade (email, CNPJ, CRP/CRM, nome de categoria) com filtros de Bloom
+ *
+ * - "Certamente ausente" dispensa o existsBy...; só possíveis positivos vão ao banco
+ * - Montado em segundo plano após a subida e recarregado diariamente (recarga-cron)
+ *   ou ao passar da capacidade; enquanto não estiver pronto, toda verificação vai ao banco
+ * - Inclusões (registrar()) entram no filtro local na hora e são publicadas no
+ *   InvalidationBus após o commit, apenas como hash (sem o valor em claro)
+ *
+ * A restrição unique da tabela continua sendo a autoridade final: uma inclusão
+ * perdida (nó desconectado do Redis) vira DataIntegrityViolationException, respondida com 409.
+ * Métricas: wellmind.unicidade.verificacao{espaco,resultado},
+ * wellmind.unicidade.filtro.saturacao{espaco} e wellmind.unicidade.filtro.falso-positivo{espaco}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FiltroUnicidade {
+
+    static final String CANAL = "unicidade";
+
+    private final UsuarioRepository usuarioRepository;
+    private final EmpresaRepository empresaRepository;
+    private final ProfissionalSaudeRepository profissionalRepository;
+    private final CategoriaRecomendacaoRepository categoriaRepository;
+    private final InvalidationBus invalidationBus;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.unicidade.filtro.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.unicidade.filtro.taxa-falso-positivo:0.01}")
+    private double taxaFalsoPositivo;
+
+    @Value("${app.unicidade.filtro.capacidade-minima:10000}")
+    private long capacidadeMinima;
+
+    // Capacidade = registros existentes x folga, para absorver o crescimento até a próxima recarga
+    @Value("${app.unicidade.filtro.folga:2.0}")
+    private double folga;
+
+    private final Map<ChaveUnica, Filtro> filtros = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    private static final class Filtro {
+        private final BloomFilter bloom;
+        private volatile boolean pronto;
+        private final AtomicBoolean recargaAgendada = new AtomicBoolean();
+
+        private Filtro(BloomFilter bloom) {
+            this.bloom = bloom;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("unicidade-filtro-");
+        threadFactory.setDaemon(true);
+        executor = Executors.newSingleThreadExecutor(threadFactory);
+
+        invalidationBus.registrar(CANAL, this::aplicarInclusao);
+
+        for (ChaveUnica espaco : ChaveUnica.values()) {
+            String tag = espaco.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("wellmind.unicidade.filtro.saturacao", this, f -> f.medir(espaco, BloomFilter::saturacao))
+                    .description("Fração de bits ligados no filtro de unicidade")
+                    .tag("espaco", tag)
+                    .register(meterRegistry);
+            Gauge.builder("wellmind.unicidade.filtro.falso-positivo", this,
+                            f -> f.medir(espaco, BloomFilter::taxaFalsoPositivoEstimada))
+                    .description("Taxa de falso positivo estimada pela saturação atual")
+                    .tag("espaco", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaSubida() {
+        if (habilitado) {
+            recarregarTodos();
+        } else {
+            log.info("Filtro de unicidade desativado; verificações seguem no banco");
+        }
+    }
+
+    @Scheduled(cron = "${app.unicidade.filtro.recarga-cron:0 30 4 * * *}")
+    public void recarregarTodos() {
+        if (!habilitado) {
+            return;
+        }
+        for (ChaveUnica espaco : ChaveUnica.values()) {
+            executor.execute(() -> carregar(espaco));
+        }
+    }
+
+    /**
+     * Verifica se o valor já existe, consultando o banco apenas quando o filtro não o descarta
+     *
+     * @param consulta verificação exata no banco (existsBy...)
+     */
+    public boolean existe(ChaveUnica espaco, String valor, BooleanSupplier consulta) {
+        Filtro filtro = filtros.get(espaco);
+        if (valor == null || filtro == null || !filtro.pronto) {
+            contar(espaco, "sem_filtro");
+            return consulta.getAsBoolean();
+        }
+        if (!filtro.bloom.podeConter(BloomFilter.hash(espaco.normalizar(valor)))) {
+            contar(espaco, "ausente");
+            return false;
+        }
+        boolean existe = consulta.getAsBoolean();
+        contar(espaco, existe ? "existente" : "falso_positivo");
+        return existe;
+    }
+
+    /**
+     * Inclui o valor recém-gravado no filtro deste nó e, após o commit, no dos demais
+     */
+    public void registrar(ChaveUnica espaco, String valor) {
+        if (valor == null) {
+            return;
+        }
+        long hash = BloomFilter.hash(espaco.normalizar(valor));
+        incluir(espaco, hash);
+
+        String chave = espaco.name() + ":" + Long.toHexString(hash);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidationBus.publicar(CANAL, chave);
+                }
+            });
+        } else {
+            invalidationBus.publicar(CANAL, chave);
+        }
+    }
+
+    private void aplicarInclusao(String chave) {
+        int separador = chave.indexOf(':');
+        try {
+            incluir(ChaveUnica.valueOf(chave.substring(0, separador)),
+                    Long.parseUnsignedLong(chave.substring(separador + 1), 16));
+        } catch (RuntimeException e) {
+            log.warn("Inclusão inválida no filtro de unicidade: {}", chave);
+        }
+    }
+
+    private void incluir(ChaveUnica espaco, long hash) {
+        Filtro filtro = filtros.get(espaco);
+        if (filtro == null) {
+            // A carga ainda vai ler o valor do banco
+            return;
+        }
+        filtro.bloom.adicionar(hash);
+        if (filtro.bloom.getInseridos() > filtro.bloom.getCapacidade()
+                && filtro.recargaAgendada.compareAndSet(false, true)) {
+            log.info("Filtro de unicidade {} passou da capacidade ({}); recarregando", espaco, filtro.bloom.getCapacidade());
+            executor.execute(() -> carregar(espaco));
+        }
+    }
+
+    private void carregar(ChaveUnica espaco) {
+        long inicio = System.currentTimeMillis();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        try {
+            Filtro filtro = transacao.execute(status -> {
+                long existentes = contarExistentes(espaco);
+                Filtro novo = new Filtro(new BloomFilter(
+                        Math.max(capacidadeMinima, (long) (existentes * folga)), taxaFalsoPositivo));
+                // Publicado antes da leitura: inclusões feitas durante a carga já entram no novo filtro
+                filtros.put(espaco, novo);
+                try (Stream<String> valores = valores(espaco)) {
+                    valores.forEach(valor -> novo.bloom.adicionar(BloomFilter.hash(espaco.normalizar(valor))));
+                }
+                return novo;
+            });
+            filtro.pronto = true;
+            log.info("Filtro de unicidade {} pronto em {} ms - {} chaves, capacidade {}",
+                    espaco, System.currentTimeMillis() - inicio, filtro.bloom.getInseridos(), filtro.bloom.getCapacidade());
+        } catch (RuntimeException e) {
+            filtros.remove(espaco);
+            log.error("Falha ao carregar o filtro de unicidade {}; verificações seguem no banco", espaco, e);
+        }
+    }
+
+    private long contarExistentes(ChaveUnica espaco) {
+        return switch (espaco) {
+            case EMAIL -> usuarioRepository.count();
+            case CNPJ -> empresaRepository.count();
+            case CRP_CRM -> profissionalRepository.count();
+            case NOME_CATEGORIA -> categoriaRepository.count();
+        };
+    }
+
+    private Stream<String> valores(ChaveUnica espaco) {
+        return switch (espaco) {
+            case EMAIL -> usuarioRepository.streamEmails();
+            case CNPJ -> empresaRepository.streamCnpjs();
+            case CRP_CRM -> profissionalRepository.streamCrpCrms();
+            case NOME_CATEGORIA -> categoriaRepository.streamNomesCategoria();
+        };
+    }
+
+    private double medir(ChaveUnica espaco, ToDoubleFunction<BloomFilter> medida) {
+        Filtro filtro = filtros.get(espaco);
+        return filtro == null || !filtro.pronto ? 0 : medida.applyAsDouble(filtro.bloom);
+    }
+
+    private void contar(ChaveUnica espaco, String resultado) {
+        Counter.builder("wellmind.unicidade.verificacao")
+                .tag("espaco", espaco.name().toLowerCase(Locale.ROOT))
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .increment();
+    }
+}
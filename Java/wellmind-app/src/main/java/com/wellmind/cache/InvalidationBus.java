@@ -0,0 +1,22 @@
+package com.wellmind.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal leve de invalidação de caches locais (em memória) entre nós
+ *
+ * publicar() entrega a chave aos ouvintes do próprio nó e dos demais nós
+ * que registraram o mesmo cache.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Publica a invalidação de uma chave do cache informado
+     */
+    void publicar(String cache, String chave);
+
+    /**
+     * Registra o ouvinte de invalidações de um cache
+     */
+    void registrar(String cache, Consumer<String> ouvinte);
+}
@@ -0,0 +1,46 @@
+package com.wellmind.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de tags em memória — ativo em todos perfis exceto o "prod"
+ *
+ * Tags sem uso expiram junto com o TTL máximo das entradas que referenciam;
+ * como no Redis, o prazo é renovado a cada registro.
+ */
+@Component
+@Profile("!prod")
+public class LocalCacheTagIndex implements CacheTagIndex {
+
+    private final Cache<String, Set<String>> indice;
+
+    public LocalCacheTagIndex(@Value("${app.cache.tags.ttl-horas:24}") long ttlHoras) {
+        this.indice = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(ttlHoras))
+                .build();
+    }
+
+    @Override
+    public void registrar(String cache, String tag, String chave) {
+        // compute (e não computeIfAbsent + add) conta como escrita e renova o expireAfterWrite
+        indice.asMap().compute(cache + CacheKeys.SEPARADOR + tag, (k, chaves) -> {
+            Set<String> atualizadas = chaves != null ? chaves : ConcurrentHashMap.newKeySet();
+            atualizadas.add(chave);
+            return atualizadas;
+        });
+    }
+
+    @Override
+    public Set<String> remover(String cache, String tag) {
+        Set<String> chaves = indice.asMap().remove(cache + CacheKeys.SEPARADOR + tag);
+        return chaves != null ? chaves : Set.of();
+    }
+}
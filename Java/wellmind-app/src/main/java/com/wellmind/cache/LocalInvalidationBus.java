@@ -0,0 +1,42 @@
+package com.wellmind.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidação apenas no próprio nó — ativo em todos perfis exceto o "prod"
+ */
+@Component
+@Profile("!prod")
+@Slf4j
+public class LocalInvalidationBus implements InvalidationBus {
+
+    private final Map<String, List<Consumer<String>>> ouvintes = new ConcurrentHashMap<>();
+
+    @Override
+    public void publicar(String cache, String chave) {
+        entregar(ouvintes, cache, chave);
+    }
+
+    @Override
+    public void registrar(String cache, Consumer<String> ouvinte) {
+        ouvintes.computeIfAbsent(cache, c -> new CopyOnWriteArrayList<>()).add(ouvinte);
+    }
+
+    static void entregar(Map<String, List<Consumer<String>>> ouvintes, String cache, String chave) {
+        for (Consumer<String> ouvinte : ouvintes.getOrDefault(cache, List.of())) {
+            try {
+                ouvinte.accept(chave);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao invalidar {} no cache {}: {}", chave, cache, e.getMessage());
+            }
+        }
+    }
+}
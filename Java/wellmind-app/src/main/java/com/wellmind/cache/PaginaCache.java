@@ -0,0 +1,57 @@
+package com.wellmind.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forma serializável de um Page no L2: PageImpl/PageRequest não têm
+ * construtor utilizável pelo Jackson, então o codec grava apenas
+ * conteúdo, página, tamanho, total e ordenação ("propriedade:DIRECAO")
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCache {
+
+    private List<Object> conteudo;
+    private int pagina;
+    private int tamanho;
+    private long total;
+    private List<String> ordenacao;
+
+    public static PaginaCache de(Page<?> page) {
+        Pageable pageable = page.getPageable();
+        List<String> ordenacao = page.getSort().stream()
+                .map(ordem -> ordem.getProperty() + ":" + ordem.getDirection().name())
+                .toList();
+        return new PaginaCache(
+                new ArrayList<>(page.getContent()),
+                pageable.isPaged() ? pageable.getPageNumber() : 0,
+                pageable.isPaged() ? pageable.getPageSize() : 0,
+                page.getTotalElements(),
+                new ArrayList<>(ordenacao));
+    }
+
+    public Page<Object> toPage() {
+        if (tamanho <= 0) {
+            return new PageImpl<>(conteudo, Pageable.unpaged(), total);
+        }
+        List<Sort.Order> ordens = ordenacao == null ? List.of() : ordenacao.stream()
+                .map(item -> {
+                    int separador = item.lastIndexOf(':');
+                    return new Sort.Order(Sort.Direction.fromString(item.substring(separador + 1)),
+                            item.substring(0, separador));
+                })
+                .toList();
+        return new PageImpl<>(conteudo, PageRequest.of(pagina, tamanho, Sort.by(ordens)), total);
+    }
+}
@@ -0,0 +1,54 @@
+package com.wellmind.cache;
+
+import com.wellmind.mapper.ProfissionalSaudeMapper;
+import com.wellmind.repository.ProfissionalSaudeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Refresh antecipado de "profissionais" a partir das chaves de ProfissionalSaudeService:
+ * - entidade('profissional:{id}') -> buscarPorId
+ * - pagina('lista', pageable) sem ordenação -> listarDisponíveis
+ * Páginas ordenadas não são recarregadas e expiram normalmente.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfissionaisRecarregador implements RecarregadorCache {
+
+    // Formatos de CacheKeys.entidade e CacheKeys.pagina
+    private static final Pattern ENTIDADE = Pattern.compile("profissional:(\\d+)\\|id");
+    private static final Pattern PAGINA = Pattern.compile("lista\\|p(\\d+),s(\\d+),UNSORTED");
+
+    private final ProfissionalSaudeRepository profissionalRepository;
+    private final ProfissionalSaudeMapper profissionalMapper;
+
+    @Override
+    public String cache() {
+        return "profissionais";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Object> recarregar(Object chave) {
+        String texto = String.valueOf(chave);
+
+        Matcher entidade = ENTIDADE.matcher(texto);
+        if (entidade.matches()) {
+            return profissionalRepository.findById(Long.valueOf(entidade.group(1)))
+                    .map(profissional -> (Object) profissionalMapper.toDTO(profissional));
+        }
+
+        Matcher pagina = PAGINA.matcher(texto);
+        if (pagina.matches()) {
+            PageRequest pageable = PageRequest.of(Integer.parseInt(pagina.group(1)), Integer.parseInt(pagina.group(2)));
+            return Optional.of(profissionalRepository.findAllAvailable(pageable).map(profissionalMapper::toDTO));
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,25 @@
+package com.wellmind.cache;
+
+import java.util.Optional;
+
+/**
+ * Recarga de entradas de um cache para o refresh antecipado do TwoLevelCache
+ *
+ * Um bean por cache. O TwoLevelCacheManager chama recarregar() pelo proxy do
+ * bean, em uma thread do pool de refresh: a transação e os demais aspectos do
+ * bean valem para a recarga, que não depende da requisição que leu a entrada.
+ */
+public interface RecarregadorCache {
+
+    /**
+     * Nome do cache atendido
+     */
+    String cache();
+
+    /**
+     * Recalcula o valor da chave, sem passar pelo cache
+     *
+     * @return vazio se a chave não for reconhecida (a entrada expira normalmente)
+     */
+    Optional<Object> recarregar(Object chave);
+}
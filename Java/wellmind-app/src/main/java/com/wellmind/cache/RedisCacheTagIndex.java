@@ -0,0 +1,54 @@
+package com.wellmind.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Índice de tags compartilhado no Redis — somente ativo no perfil "prod"
+ *
+ * Um SET por tag (wellmind:cache:tag:{cache}|{tag}) com TTL renovado a cada
+ * registro; a remoção retira apenas as chaves lidas, preservando as incluídas
+ * concorrentemente.
+ */
+@Component
+@Profile("prod")
+public class RedisCacheTagIndex implements CacheTagIndex {
+
+    private static final String PREFIXO = "wellmind:cache:tag:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RedisCacheTagIndex(StringRedisTemplate redisTemplate,
+                              @Value("${app.cache.tags.ttl-horas:24}") long ttlHoras) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofHours(ttlHoras);
+    }
+
+    @Override
+    public void registrar(String cache, String tag, String chave) {
+        String chaveIndice = chaveIndice(cache, tag);
+        redisTemplate.opsForSet().add(chaveIndice, chave);
+        redisTemplate.expire(chaveIndice, ttl);
+    }
+
+    @Override
+    public Set<String> remover(String cache, String tag) {
+        String chaveIndice = chaveIndice(cache, tag);
+        Set<String> chaves = redisTemplate.opsForSet().members(chaveIndice);
+        if (chaves == null || chaves.isEmpty()) {
+            return Set.of();
+        }
+        redisTemplate.opsForSet().remove(chaveIndice, chaves.toArray());
+        return chaves;
+    }
+
+    private static String chaveIndice(String cache, String tag) {
+        return PREFIXO + cache + CacheKeys.SEPARADOR + tag;
+    }
+}
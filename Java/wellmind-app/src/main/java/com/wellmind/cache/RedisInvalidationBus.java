@@ -0,0 +1,81 @@
+package com.wellmind.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidação entre nós via Redis Pub/Sub — somente ativo no perfil "prod"
+ *
+ * Mensagem: "{origem}|{cache}|{chave}". O nó de origem aplica a invalidação
+ * localmente antes de publicar (não depende do Redis) e ignora o próprio eco.
+ * Pub/Sub não guarda mensagens: um nó desconectado só converge pelo TTL do cache.
+ */
+@Component
+@Profile("prod")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisInvalidationBus implements InvalidationBus {
+
+    static final ChannelTopic CANAL = new ChannelTopic("wellmind:cache:invalidacao");
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+
+    private final String origem = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> ouvintes = new ConcurrentHashMap<>();
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    void iniciar() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) ->
+                receber(new String(message.getBody(), StandardCharsets.UTF_8)), CANAL);
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    void encerrar() throws Exception {
+        container.destroy();
+    }
+
+    @Override
+    public void publicar(String cache, String chave) {
+        LocalInvalidationBus.entregar(ouvintes, cache, chave);
+        try {
+            redisTemplate.convertAndSend(CANAL.getTopic(), origem + "|" + cache + "|" + chave);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar invalidação de {} no cache {}: {}", chave, cache, e.getMessage());
+        }
+    }
+
+    @Override
+    public void registrar(String cache, Consumer<String> ouvinte) {
+        ouvintes.computeIfAbsent(cache, c -> new CopyOnWriteArrayList<>()).add(ouvinte);
+    }
+
+    private void receber(String mensagem) {
+        String[] partes = mensagem.split("\\|", 3);
+        if (partes.length != 3 || origem.equals(partes[0])) {
+            return;
+        }
+        LocalInvalidationBus.entregar(ouvintes, partes[1], partes[2]);
+    }
+}
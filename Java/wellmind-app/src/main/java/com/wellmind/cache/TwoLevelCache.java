@@ -0,0 +1,313 @@
+package com.wellmind.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache em dois níveis: L1 local (Caffeine, limitado e com TTL) na frente de
+ * um L2 compartilhado (Redis). Sem L2 funciona apenas com o L1.
+ *
+ * As chaves do L1 usam a forma textual da chave (a mesma usada pelo Redis),
+ * para que invalidações recebidas de outros nós encontrem a entrada local.
+ * Remoções (evict/clear) são publicadas no InvalidationBus: os demais nós
+ * descartam o L1 e voltam a ler do L2. put() é preenchimento (carga do
+ * @Cacheable, refresh antecipado, valores calculados pelos serviços) e não
+ * publica nada: dados alterados chegam aos outros nós pelo evict da escrita.
+ *
+ * Chaves no formato de CacheKeys são indexadas por tag; evict(CacheKeys.tag(t))
+ * remove apenas as entradas marcadas com t.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    /** Chave reservada que sinaliza clear() no InvalidationBus */
+    static final String LIMPAR_TUDO = "\u0000*";
+
+    private final String nome;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1;
+    private final Cache l2;
+    private final InvalidationBus invalidationBus;
+    private final CacheTagIndex tagIndex;
+
+    private final Duration limiarRefresh;
+    private final Executor refreshExecutor;
+    private final Function<Object, Optional<Object>> recarregador;
+    private final Set<String> emRefresh = ConcurrentHashMap.newKeySet();
+
+    private final Nivel nivelL1 = new Nivel();
+    private final Nivel nivelL2 = new Nivel();
+    private final LongAdder carregamentos = new LongAdder();
+    private final LongAdder coalescidos = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    public TwoLevelCache(String nome,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> l1,
+                         Cache l2,
+                         InvalidationBus invalidationBus,
+                         CacheTagIndex tagIndex,
+                         Duration limiarRefresh,
+                         Executor refreshExecutor,
+                         Function<Object, Optional<Object>> recarregador) {
+        super(l2 == null);
+        this.nome = nome;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.invalidationBus = invalidationBus;
+        this.tagIndex = tagIndex;
+        this.limiarRefresh = limiarRefresh;
+        this.refreshExecutor = refreshExecutor;
+        this.recarregador = recarregador;
+        invalidationBus.registrar(nome, this::invalidarLocal);
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String chave = chave(key);
+
+        Object valor = l1.getIfPresent(chave);
+        if (valor != null) {
+            nivelL1.hit();
+            return valor;
+        }
+        nivelL1.miss();
+
+        if (l2 == null) {
+            return null;
+        }
+
+        ValueWrapper remoto = l2.get(key);
+        if (remoto == null) {
+            nivelL2.miss();
+            return null;
+        }
+        nivelL2.hit();
+
+        Object armazenado = toStoreValue(remoto.get());
+        l1.put(chave, armazenado);
+        return armazenado;
+    }
+
+    /**
+     * Usado por @Cacheable(sync = true): single-flight por chave no nó
+     * e refresh antecipado das entradas próximas do fim do TTL
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper existente = get(key);
+        if (existente != null) {
+            agendarRefreshAntecipado(key);
+            return (T) existente.get();
+        }
+
+        // Chamadas concorrentes da mesma chave aguardam a carga em andamento
+        boolean[] executou = {false};
+        Object valor = l1.get(chave(key), k -> {
+            executou[0] = true;
+            return carregar(key, k, valueLoader);
+        });
+        (executou[0] ? carregamentos : coalescidos).increment();
+        return (T) fromStoreValue(valor);
+    }
+
+    private Object carregar(Object key, String chave, Callable<?> valueLoader) {
+        // Outro nó pode ter carregado a chave enquanto esta chamada aguardava
+        if (l2 != null) {
+            ValueWrapper remoto = l2.get(key);
+            if (remoto != null) {
+                return toStoreValue(remoto.get());
+            }
+        }
+        try {
+            Object carregado = toStoreValue(valueLoader.call());
+            if (l2 != null) {
+                l2.put(key, fromStoreValue(carregado));
+            }
+            indexarTags(chave);
+            return carregado;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * Recarrega em segundo plano, pelo RecarregadorCache do cache, a entrada
+     * cuja idade no L1 passou do limiar (fração do TTL). O loader da chamada
+     * atual não é reutilizado: ele pertence à invocação que já terminou.
+     */
+    private void agendarRefreshAntecipado(Object key) {
+        if (limiarRefresh == null || recarregador == null) {
+            return;
+        }
+        String chave = chave(key);
+        boolean expirando = l1.policy().expireAfterWrite()
+                .flatMap(politica -> politica.ageOf(chave))
+                .map(idade -> idade.compareTo(limiarRefresh) >= 0)
+                .orElse(false);
+        if (!expirando || !emRefresh.add(chave)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    recarregador.apply(key).ifPresent(valor -> {
+                        preencher(key, valor);
+                        refreshes.increment();
+                    });
+                } catch (Exception e) {
+                    log.warn("Falha no refresh antecipado de {} no cache {}: {}", chave, nome, e.getMessage());
+                } finally {
+                    emRefresh.remove(chave);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            emRefresh.remove(chave);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        preencher(key, value);
+    }
+
+    /**
+     * Grava L2 e o L1 deste nó sem publicar no InvalidationBus
+     */
+    private void preencher(Object key, Object value) {
+        if (value == null && !isAllowNullValues()) {
+            // Redis não aceita nulos: mantém o comportamento do L2
+            evict(key);
+            return;
+        }
+        String chave = chave(key);
+        if (l2 != null) {
+            l2.put(key, value);
+        }
+        indexarTags(chave);
+        l1.put(chave, toStoreValue(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        String chave = chave(key);
+        if (CacheKeys.isTag(chave)) {
+            evictTag(chave.substring(CacheKeys.PREFIXO_TAG.length()));
+            return;
+        }
+        if (l2 != null) {
+            l2.evict(key);
+        }
+        invalidationBus.publicar(nome, chave);
+    }
+
+    private void evictTag(String tag) {
+        for (String chave : tagIndex.remover(nome, tag)) {
+            if (l2 != null) {
+                l2.evict(chave);
+            }
+            invalidationBus.publicar(nome, chave);
+        }
+    }
+
+    private void indexarTags(String chave) {
+        for (String tag : CacheKeys.extrairTags(chave)) {
+            tagIndex.registrar(nome, tag, chave);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (l2 != null) {
+            l2.clear();
+        }
+        invalidationBus.publicar(nome, LIMPAR_TUDO);
+    }
+
+    void registrarMetricas(MeterRegistry meterRegistry) {
+        nivelL1.registrar(meterRegistry, nome, "l1");
+        if (l2 != null) {
+            nivelL2.registrar(meterRegistry, nome, "l2");
+        }
+        carregamento(meterRegistry, carregamentos, "executado");
+        carregamento(meterRegistry, coalescidos, "coalescido");
+        carregamento(meterRegistry, refreshes, "refresh-antecipado");
+    }
+
+    private void carregamento(MeterRegistry meterRegistry, LongAdder contador, String tipo) {
+        FunctionCounter.builder("wellmind.cache.carregamentos", contador, LongAdder::sum)
+                .description("Cargas do loader: executadas, coalescidas (single-flight) e antecipadas")
+                .tags("cache", nome, "tipo", tipo)
+                .register(meterRegistry);
+    }
+
+    private void invalidarLocal(String chave) {
+        if (LIMPAR_TUDO.equals(chave)) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(chave);
+        }
+    }
+
+    private static String chave(Object key) {
+        return String.valueOf(key);
+    }
+
+    /**
+     * Contadores de acerto/erro de um nível
+     */
+    private static class Nivel {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        void hit() {
+            hits.increment();
+        }
+
+        void miss() {
+            misses.increment();
+        }
+
+        double hitRatio() {
+            long h = hits.sum();
+            long total = h + misses.sum();
+            return total == 0 ? 0.0 : (double) h / total;
+        }
+
+        void registrar(MeterRegistry meterRegistry, String cache, String nivel) {
+            FunctionCounter.builder("wellmind.cache.gets", hits, LongAdder::sum)
+                    .tags("cache", cache, "nivel", nivel, "resultado", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("wellmind.cache.gets", misses, LongAdder::sum)
+                    .tags("cache", cache, "nivel", nivel, "resultado", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("wellmind.cache.hit.ratio", this, Nivel::hitRatio)
+                    .tags("cache", cache, "nivel", nivel)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.wellmind.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * CacheManager composto: cada cache é um TwoLevelCache com L1 Caffeine
+ * e L2 obtido do CacheManager remoto (Redis), quando houver
+ *
+ * Tamanho e TTL do L1 por cache em app.cache.l1.{nome}.max-itens / ttl-segundos,
+ * com padrão em app.cache.l1.padrao.*. Caches não declarados são criados sob demanda.
+ * max-mb troca o limite de itens por um limite de memória: textos e byte[] pesam
+ * pelo conteúdo, os demais valores por bytes-por-item (padrão 1024).
+ * refresh-antecipado-fator (ex.: 0.8) recarrega em segundo plano entradas lidas
+ * após essa fração do TTL, usando um pool pequeno que recusa o excesso. A recarga
+ * é feita pelo bean RecarregadorCache do cache; sem ele o fator é ignorado.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager implements DisposableBean {
+
+    private static final String PREFIXO = "app.cache.l1.";
+
+    private final CacheManager l2CacheManager;
+    private final InvalidationBus invalidationBus;
+    private final CacheTagIndex tagIndex;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final Collection<String> nomesIniciais;
+    private final ObjectProvider<RecarregadorCache> recarregadores;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    // Resolvido na primeira recarga: os recarregadores dependem de beans criados depois do CacheManager
+    private volatile Map<String, RecarregadorCache> recarregadoresPorCache;
+
+    public TwoLevelCacheManager(CacheManager l2CacheManager,
+                                InvalidationBus invalidationBus,
+                                CacheTagIndex tagIndex,
+                                MeterRegistry meterRegistry,
+                                Environment environment,
+                                Collection<String> nomesIniciais,
+                                ObjectProvider<RecarregadorCache> recarregadores) {
+        this.l2CacheManager = l2CacheManager;
+        this.invalidationBus = invalidationBus;
+        this.tagIndex = tagIndex;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.nomesIniciais = List.copyOf(nomesIniciais);
+        this.recarregadores = recarregadores;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-refresh-");
+        threadFactory.setDaemon(true);
+        this.refreshExecutor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return nomesIniciais.stream()
+                .map(this::criarCache)
+                .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return criarCache(name);
+    }
+
+    private Cache criarCache(String nome) {
+        long maxItens = propriedade(nome, "max-itens", 10_000L);
+        long ttlSegundos = propriedade(nome, "ttl-segundos", 300L);
+
+        long maxMb = propriedade(nome, "max-mb", 0L);
+        int bytesPorItem = (int) propriedade(nome, "bytes-por-item", 1024L);
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats();
+        com.github.benmanes.caffeine.cache.Cache<String, Object> l1 = maxMb > 0
+                ? builder.maximumWeight(maxMb * 1024 * 1024)
+                        .<String, Object>weigher((chave, valor) -> peso(chave, valor, bytesPorItem))
+                        .build()
+                : builder.maximumSize(maxItens).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, nome, "nivel", "l1");
+
+        Cache l2 = l2CacheManager != null ? l2CacheManager.getCache(nome) : null;
+
+        // Refresh antecipado: recarrega após fator * TTL (0 = desativado)
+        double fatorRefresh = environment.getProperty(PREFIXO + nome + ".refresh-antecipado-fator", Double.class, 0.0);
+        Duration limiarRefresh = fatorRefresh > 0 && fatorRefresh < 1
+                ? Duration.ofMillis((long) (ttlSegundos * 1000 * fatorRefresh))
+                : null;
+
+        TwoLevelCache cache = new TwoLevelCache(nome, l1, l2, invalidationBus, tagIndex, limiarRefresh, refreshExecutor,
+                chave -> recarregar(nome, chave));
+        cache.registrarMetricas(meterRegistry);
+        return cache;
+    }
+
+    private Optional<Object> recarregar(String cache, Object chave) {
+        Map<String, RecarregadorCache> porCache = recarregadoresPorCache;
+        if (porCache == null) {
+            porCache = recarregadores.orderedStream()
+                    .collect(Collectors.toMap(RecarregadorCache::cache, r -> r, (primeiro, outro) -> {
+                        log.warn("Mais de um RecarregadorCache para o cache {}; usando {}",
+                                primeiro.cache(), primeiro.getClass().getSimpleName());
+                        return primeiro;
+                    }));
+            recarregadoresPorCache = porCache;
+        }
+        RecarregadorCache recarregador = porCache.get(cache);
+        return recarregador == null ? Optional.empty() : recarregador.recarregar(chave);
+    }
+
+    /**
+     * Tamanho aproximado da entrada no heap (String com 2 bytes por caractere, por segurança)
+     */
+    static int peso(String chave, Object valor, int bytesPorItem) {
+        long bytes = 64L + 2L * chave.length();
+        if (valor instanceof String texto) {
+            bytes += 2L * texto.length();
+        } else if (valor instanceof byte[] conteudo) {
+            bytes += conteudo.length;
+        } else {
+            bytes += bytesPorItem;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private long propriedade(String cache, String chave, long padrao) {
+        Long valor = environment.getProperty(PREFIXO + cache + "." + chave, Long.class);
+        if (valor != null) {
+            return valor;
+        }
+        return environment.getProperty(PREFIXO + "padrao." + chave, Long.class, padrao);
+    }
+}
@@ -4,6 +4,14 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.wellmind.cache.CacheTagIndex;
+import com.wellmind.cache.CacheValueSerializer;
+import com.wellmind.cache.InvalidationBus;
+import com.wellmind.cache.RecarregadorCache;
+import com.wellmind.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -12,33 +20,73 @@ import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.env.Environment;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig implements CachingConfigurer {
 
-    // CacheManager para Redis — somente ativo no perfil "prod"
+    // Caches declarados (demais nomes são criados sob demanda com a configuração padrão)
+    static final List<String> CACHES = List.of(
+            "usuarios", "empresas", "registros-bemestar", "recomendacoes", "categorias",
+            "profissionais", "especialidades", "vinculosempresa", "estatisticas-diarias");
+
+    @Value("${app.cache.codec.formato:SMILE}")
+    private CacheValueSerializer.Formato formatoCodec;
+
+    @Value("${app.cache.codec.compressao-min-bytes:1024}")
+    private int compressaoMinBytes;
+
+    // L1 Caffeine + L2 Redis — somente ativo no perfil "prod"
     @Bean
     @Profile("prod")
-    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
-        // sua configuração atual para Redis aqui...
+    public CacheManager twoLevelCacheManager(RedisConnectionFactory connectionFactory,
+                                             InvalidationBus invalidationBus,
+                                             CacheTagIndex cacheTagIndex,
+                                             MeterRegistry meterRegistry,
+                                             Environment environment,
+                                             RedisSerializer<Object> cacheValueSerializer,
+                                             ObjectProvider<RecarregadorCache> recarregadores) {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                redisCacheManager(connectionFactory, cacheValueSerializer), invalidationBus, cacheTagIndex, meterRegistry,
+                environment, CACHES, recarregadores);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    // Apenas L1 Caffeine (limitado, com TTL e estatísticas) — ativo em todos perfis exceto o "prod"
+    @Bean
+    @Profile({"!prod"})
+    public CacheManager localCacheManager(InvalidationBus invalidationBus,
+                                          CacheTagIndex cacheTagIndex,
+                                          MeterRegistry meterRegistry,
+                                          Environment environment,
+                                          ObjectProvider<RecarregadorCache> recarregadores) {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                null, invalidationBus, cacheTagIndex, meterRegistry, environment, CACHES, recarregadores);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
 
+    // L2: transação tratada pelo TwoLevelCacheManager, que envolve os dois níveis
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                                RedisSerializer<Object> cacheValueSerializer) {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30))
                 .disableCachingNullValues()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer(objectMapper())));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer));
 
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
         cacheConfigurations.put("usuarios", defaultConfig.entryTtl(Duration.ofHours(1)));
@@ -47,19 +95,21 @@ public class CacheConfig implements CachingConfigurer {
         cacheConfigurations.put("recomendacoes", defaultConfig.entryTtl(Duration.ofHours(1)));
         cacheConfigurations.put("categorias", defaultConfig.entryTtl(Duration.ofHours(4)));
         cacheConfigurations.put("profissionais", defaultConfig.entryTtl(Duration.ofHours(2)));
+        cacheConfigurations.put("estatisticas-diarias", defaultConfig.entryTtl(Duration.ofDays(7)));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
-                .transactionAware()
                 .build();
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
     }
 
-    // CacheManager para cache simples — ativo em todos perfis exceto o "prod"
+    // Codec dos valores no Redis: Smile/JSON com cabeçalho versionado e LZ4 acima do limiar
     @Bean
-    @Profile({"!prod"})
-    public CacheManager simpleCacheManager() {
-        return new ConcurrentMapCacheManager(); // cache na memória local simples
+    @Profile("prod")
+    public RedisSerializer<Object> cacheValueSerializer(ObjectMapper objectMapper) {
+        return new CacheValueSerializer(objectMapper, formatoCodec, compressaoMinBytes);
     }
 
     // O ObjectMapper pode ficar comum para ambos perfis
@@ -2,6 +2,7 @@ package com.wellmind.config;
 
 import com.wellmind.security.JwtAuthenticationFilter;
 import com.wellmind.security.JwtTokenProvider;
+import com.wellmind.security.UsuarioStatusCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,6 +32,7 @@ public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final UsuarioStatusCache usuarioStatusCache;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -49,7 +51,7 @@ public class SecurityConfig {
                 // O filtro JWT permanece, mas não é obrigatório em ambiente público
 
                 .addFilterBefore(
-                        new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService),
+                        new JwtAuthenticationFilter(jwtTokenProvider, usuarioStatusCache),
                         UsernamePasswordAuthenticationFilter.class
                 )
                 .authenticationProvider(authenticationProvider());
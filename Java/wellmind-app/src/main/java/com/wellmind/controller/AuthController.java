@@ -1,7 +1,10 @@
 package com.wellmind.controller;
 
 import com.wellmind.dto.auth.*;
+import com.wellmind.security.AuthRateLimiter;
+import com.wellmind.security.AuthRateLimiter.Operacao;
 import com.wellmind.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -15,6 +18,9 @@ import org.springframework.web.bind.annotation.*;
  * - POST /api/v1/auth/login
  * - POST /api/v1/auth/register
  * - POST /api/v1/auth/refresh
+ * - POST /api/v1/auth/logout
+ *
+ * login, register e refresh passam pelo AuthRateLimiter (429 + Retry-After)
  */
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -22,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthRateLimiter authRateLimiter;
 
     /**
      * Login do usuário
@@ -31,7 +38,8 @@ public class AuthController {
      * @return AuthResponseDTO com token JWT
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginDTO dto) {
+    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginDTO dto, HttpServletRequest request) {
+        authRateLimiter.verificar(Operacao.LOGIN, request, dto.getEmail());
         AuthResponseDTO response = authService.login(dto);
         return ResponseEntity.ok(response);
     }
@@ -44,7 +52,8 @@ public class AuthController {
      * @return AuthResponseDTO com token JWT
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponseDTO> register(@Valid @RequestBody RegisterDTO dto) {
+    public ResponseEntity<AuthResponseDTO> register(@Valid @RequestBody RegisterDTO dto, HttpServletRequest request) {
+        authRateLimiter.verificar(Operacao.REGISTER, request, dto.getEmail());
         AuthResponseDTO response = authService.register(dto);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
@@ -53,11 +62,24 @@ public class AuthController {
      * Refresh do token JWT
      * POST /api/v1/auth/refresh
      *
-     * @return AuthResponseDTO com novo token
+     * @param dto RefreshTokenDTO com o refresh token atual (é rotacionado)
+     * @return AuthResponseDTO com novo token e novo refresh token
      */
     @PostMapping("/refresh")
-    public ResponseEntity<AuthResponseDTO> refreshToken(@RequestHeader("Authorization") String token) {
-        AuthResponseDTO response = authService.refreshToken(token);
+    public ResponseEntity<AuthResponseDTO> refreshToken(@Valid @RequestBody RefreshTokenDTO dto,
+                                                        HttpServletRequest request) {
+        authRateLimiter.verificar(Operacao.REFRESH, request, null);
+        AuthResponseDTO response = authService.refreshToken(dto.getRefreshToken());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Logout (revoga o refresh token e sua família)
+     * POST /api/v1/auth/logout
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenDTO dto) {
+        authService.logout(dto.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,39 @@
+package com.wellmind.controller;
+
+import com.wellmind.dto.busca.SugestaoBuscaDTO;
+import com.wellmind.search.TipoBusca;
+import com.wellmind.service.BuscaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller da busca por nome (autocomplete)
+ */
+@RestController
+@RequestMapping("/api/v1/busca")
+@RequiredArgsConstructor
+@Slf4j
+public class BuscaController {
+
+    private final BuscaService buscaService;
+
+    /**
+     * Sugestões de nomes enquanto o usuário digita
+     * GET /api/v1/busca/autocomplete?termo=jo&tipo=PROFISSIONAL&limite=10
+     */
+    @GetMapping("/autocomplete")
+    //@PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<SugestaoBuscaDTO>> autocompletar(
+            @RequestParam String termo,
+            @RequestParam(required = false) TipoBusca tipo,
+            @RequestParam(defaultValue = "10") int limite) {
+
+        log.debug("Autocomplete: termo={}, tipo={}", termo, tipo);
+
+        return ResponseEntity.ok(buscaService.autocompletar(termo, tipo, limite));
+    }
+}
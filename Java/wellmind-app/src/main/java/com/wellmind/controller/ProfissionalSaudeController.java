@@ -1,6 +1,7 @@
 package com.wellmind.controller;
 
 import com.wellmind.dto.profissionalsaude.*;
+import com.wellmind.search.OrdenacaoProfissional;
 import com.wellmind.service.ProfissionalSaudeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -78,6 +79,35 @@ public class ProfissionalSaudeController {
         return ResponseEntity.ok(profissionais);
     }
 
+    /**
+     * Busca facetada com filtros combináveis e contagens por faceta
+     * GET /api/v1/profissional/search?especialidade=Psicologia&especialidade=Nutrição
+     *     &tipoRegistro=PSICÓLOGO&precoMin=100&precoMax=250&disponivel=true&ordenar=MENOR_PRECO&page=0&size=20
+     */
+    @GetMapping("/search")
+    //@PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<BuscaProfissionalDTO> buscar(
+            @RequestParam(required = false) List<String> especialidade,
+            @RequestParam(required = false) List<String> tipoRegistro,
+            @RequestParam(required = false) Double precoMin,
+            @RequestParam(required = false) Double precoMax,
+            @RequestParam(required = false) Boolean disponivel,
+            @RequestParam(defaultValue = "NOME") OrdenacaoProfissional ordenar,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        FiltroProfissionalDTO filtro = FiltroProfissionalDTO.builder()
+                .especialidades(especialidade)
+                .tiposRegistro(tipoRegistro)
+                .precoMin(precoMin)
+                .precoMax(precoMax)
+                .disponivel(disponivel)
+                .build();
+
+        Pageable pageable = PageRequest.of(page, size);
+        return ResponseEntity.ok(profissionalService.buscar(filtro, ordenar, pageable));
+    }
+
     /**
      * Lista todas as especialidades
      * GET /api/v1/profissional/especialidades
@@ -1,22 +1,41 @@
 package com.wellmind.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.wellmind.dto.registrobemestar.*;
+import com.wellmind.service.EstatisticasBemestarService;
+import com.wellmind.service.RegistroBemestarExportService;
 import com.wellmind.service.RegistroBemestarService;
+import com.wellmind.service.RegistroBemestarWriteBehindService;
+import com.wellmind.service.ResumoDiarioBemestarService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controller para Registros de Bem-estar
@@ -24,10 +43,15 @@ import java.util.Map;
  * Endpoints:
  * - GET /api/v1/wellness - Listar registros
  * - GET /api/v1/wellness/usuario/{id} - Registros do usuário
+ * - GET /api/v1/wellness/usuario/{id}/historico - Histórico paginado por cursor
  * - GET /api/v1/wellness/usuario/{id}/ultimo - Último registro
  * - POST /api/v1/wellness - Criar registro
+ * - POST /api/v1/wellness/batch - Criar registros em lote (JSON array ou NDJSON)
+ * - POST /api/v1/wellness/async - Aceitar registro para gravação assíncrona
  * - GET /api/v1/wellness/alertas - Registros com alerta
- * - GET /api/v1/wellness/estatísticas/{empresaId} - Estatísticas
+ * - GET /api/v1/wellness/estatisticas/{empresaId} - Estatísticas (percentis, alertas, participação)
+ * - GET /api/v1/wellness/export - Exportar registros da empresa (NDJSON ou CSV)
+ * - POST /api/v1/wellness/resumos/reconstruir - Reconstruir resumos diários
  */
 @RestController
 @RequestMapping("/api/v1/wellness")
@@ -36,6 +60,11 @@ import java.util.Map;
 public class RegistroBemestarController {
 
     private final RegistroBemestarService bemestarService;
+    private final RegistroBemestarWriteBehindService writeBehindService;
+    private final ResumoDiarioBemestarService resumoDiarioService;
+    private final RegistroBemestarExportService exportService;
+    private final EstatisticasBemestarService estatisticasService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Busca registros de bem-estar de um usuário
@@ -56,6 +85,22 @@ public class RegistroBemestarController {
         return ResponseEntity.ok(registros);
     }
 
+    /**
+     * Busca histórico de bem-estar paginado por cursor (sem total de registros)
+     * GET /api/v1/wellness/usuario/123/historico?size=30&cursor=...
+     */
+    @GetMapping("/usuario/{usuarioId}/historico")
+    //@PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<HistoricoRegistroBemestarDTO> buscarHistorico(
+            @PathVariable Long usuarioId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size) {
+
+        log.info("Buscando histórico de bem-estar do usuário: {}", usuarioId);
+
+        return ResponseEntity.ok(bemestarService.buscarHistorico(usuarioId, cursor, size));
+    }
+
     /**
      * Busca último registro de bem-estar
      * GET /api/v1/wellness/usuario/123/ultimo
@@ -101,6 +146,70 @@ public class RegistroBemestarController {
         return ResponseEntity.status(HttpStatus.CREATED).body(registro);
     }
 
+    /**
+     * Aceita registro de bem-estar para gravação assíncrona (202)
+     * Com o modo write-behind desabilitado, grava de forma síncrona (201)
+     * POST /api/v1/wellness/async
+     */
+    @PostMapping("/async")
+    public ResponseEntity<IngestaoAceitaResponseDTO> aceitar(@Valid @RequestBody CreateRegistroBemestarDTO dto) {
+        if (!writeBehindService.isHabilitado()) {
+            RegistroBemestarDTO registro = bemestarService.criar(dto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(IngestaoAceitaResponseDTO.builder()
+                    .idCliente(dto.getIdCliente())
+                    .status("CRIADO")
+                    .idRegistro(registro.getIdRegistro())
+                    .build());
+        }
+
+        String idCliente = writeBehindService.aceitar(dto);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(IngestaoAceitaResponseDTO.builder()
+                .idCliente(idCliente)
+                .status("ACEITO")
+                .build());
+    }
+
+    /**
+     * Cria registros de bem-estar em lote a partir de um array JSON
+     * POST /api/v1/wellness/batch
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LoteRegistroBemestarResponseDTO> criarLote(
+            @RequestBody List<CreateRegistroBemestarDTO> dtos) {
+
+        log.info("Recebendo lote JSON com {} registros de bem-estar", dtos.size());
+
+        return ResponseEntity.ok(bemestarService.criarLote(dtos));
+    }
+
+    /**
+     * Cria registros de bem-estar em lote a partir de NDJSON (um registro por linha)
+     * POST /api/v1/wellness/batch
+     */
+    @PostMapping(value = "/batch", consumes = "application/x-ndjson")
+    public ResponseEntity<LoteRegistroBemestarResponseDTO> criarLoteNdjson(InputStream corpo) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(CreateRegistroBemestarDTO.class);
+        List<CreateRegistroBemestarDTO> dtos = new ArrayList<>();
+
+        try (BufferedReader linhas = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = linhas.readLine()) != null) {
+                if (linha.isBlank()) continue;
+                try {
+                    dtos.add(reader.readValue(linha));
+                } catch (IOException e) {
+                    // Linha mal formatada vira item com erro no resultado
+                    dtos.add(null);
+                }
+            }
+        }
+
+        log.info("Recebendo lote NDJSON com {} registros de bem-estar", dtos.size());
+
+        return ResponseEntity.ok(bemestarService.criarLote(dtos));
+    }
+
     /**
      * Busca registros que precisam de alerta
      * GET /api/v1/wellness/alertas
@@ -142,15 +251,67 @@ public class RegistroBemestarController {
     }
 
     /**
-     * Gera estatísticas de bem-estar por empresa
-     * GET /api/v1/wellness/estatísticas/123
+     * Estatísticas de bem-estar por empresa (percentis, alertas e participação)
+     * GET /api/v1/wellness/estatisticas/123?dias=30
      */
-    @GetMapping("/estatísticas/{empresaId}")
+    @GetMapping({"/estatisticas/{empresaId}", "/estatísticas/{empresaId}"})
     //@PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> gerarEstatísticas(@PathVariable Long empresaId) {
+    public ResponseEntity<EstatisticasBemestarDTO> gerarEstatísticas(
+            @PathVariable Long empresaId,
+            @RequestParam(defaultValue = "30") int dias) {
+
         log.info("Gerando estatísticas de bem-estar para empresa: {}", empresaId);
 
-        bemestarService.gerarEstatísticas(empresaId);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(estatisticasService.calcular(empresaId, dias));
+    }
+
+    /**
+     * Reconstrói os resumos diários de bem-estar a partir dos registros
+     * POST /api/v1/wellness/resumos/reconstruir?dias=90
+     */
+    @PostMapping("/resumos/reconstruir")
+    //@PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> reconstruirResumos(@RequestParam(defaultValue = "90") int dias) {
+        log.info("Reconstruindo resumos diários de bem-estar - últimos {} dias", dias);
+
+        return ResponseEntity.ok(resumoDiarioService.reconstruir(dias));
+    }
+
+    /**
+     * Exporta registros de bem-estar de uma empresa em streaming
+     * GET /api/v1/wellness/export?empresaId=1&from=2025-01-01&to=2025-01-31&format=csv&gzip=true
+     */
+    @GetMapping("/export")
+    //@PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam Long empresaId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        log.info("Exportando registros de bem-estar da empresa: {}", empresaId);
+
+        String formato = format.toLowerCase();
+        exportService.validar(empresaId, from, to, formato);
+
+        StreamingResponseBody corpo = saida -> {
+            OutputStream destino = gzip ? new GZIPOutputStream(saida, 8192) : saida;
+            exportService.exportar(empresaId, from, to, formato, destino);
+            destino.close();
+        };
+
+        String arquivo = "bemestar-empresa-" + empresaId + "-" + from + "-" + to + "." + formato;
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType("csv".equals(formato)
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"");
+
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return resposta.body(corpo);
     }
-}
\ No newline at end of file
+}
@@ -153,15 +153,18 @@ public class UsuarioController {
     }
 
     /**
-     * Busca usuários sem registros recentes
-     * GET /api/v1/usuario/sem-registros/recentes
+     * Busca usuários sem registros recentes (paginado por cursor)
+     * GET /api/v1/usuario/sem-registros/recentes?empresaId=1&size=100&cursor=...
      */
     @GetMapping("/sem-registros/recentes")
     //@PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UsuarioDTO>> buscarSemRegistrosRecentes() {
+    public ResponseEntity<UsuariosSemRegistroDTO> buscarSemRegistrosRecentes(
+            @RequestParam(required = false) Long empresaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
         log.info("Buscando usuários sem registros recentes");
 
-        List<UsuarioDTO> usuarios = usuarioService.buscarSemRegistrosRecentes();
+        UsuariosSemRegistroDTO usuarios = usuarioService.buscarSemRegistrosRecentes(empresaId, cursor, size);
         return ResponseEntity.ok(usuarios);
     }
 
@@ -14,6 +14,8 @@ public class AuthResponseDTO {
     private String token;
     private String tokenType;
     private Long expiresIn;
+    private String refreshToken;
+    private Long refreshExpiresIn;
     private String usuario;
     private String email;
     private String mensagem;
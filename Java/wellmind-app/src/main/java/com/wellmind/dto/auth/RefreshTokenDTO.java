@@ -0,0 +1,17 @@
+package com.wellmind.dto.auth;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * DTO para renovação/revogação com refresh token
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshTokenDTO {
+
+    @NotBlank(message = "Refresh token é obrigatório")
+    private String refreshToken;
+}
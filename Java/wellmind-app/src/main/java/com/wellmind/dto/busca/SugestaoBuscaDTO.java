@@ -0,0 +1,17 @@
+package com.wellmind.dto.busca;
+
+import lombok.*;
+
+/**
+ * Sugestão do autocomplete de nomes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SugestaoBuscaDTO {
+
+    private String tipo; // USUARIO, EMPRESA ou PROFISSIONAL
+    private Long id;
+    private String nome;
+}
@@ -22,4 +22,5 @@ public class EmpresaDTO {
     private LocalDateTime dataCadastro;
     private LocalDateTime ultimaAtualizacao;
     private Long totalColaboradores;
+    private Integer diasInatividadeAlerta;
 }
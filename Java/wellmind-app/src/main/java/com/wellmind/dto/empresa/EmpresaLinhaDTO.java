@@ -0,0 +1,27 @@
+package com.wellmind.dto.empresa;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção das colunas usadas em EmpresaDTO (listagens)
+ * O total de colaboradores ativos vem de uma subconsulta, sem carregar os vínculos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmpresaLinhaDTO {
+
+    private Long idEmpresa;
+    private String nomeEmpresa;
+    private String cnpj;
+    private String endereco;
+    private String telefone;
+    private String emailContato;
+    private String statusAtivo;
+    private LocalDateTime dataCadastro;
+    private LocalDateTime ultimaAtualizacao;
+    private Long totalColaboradores;
+    private Integer diasInatividadeAlerta;
+}
@@ -21,4 +21,8 @@ public class UpdateEmpresaDTO {
     @Email(message = "{validation.email.invalid}")
     @Size(max = 100, message = "{validation.email.size}")
     private String emailContato;
+
+    @Min(value = 1, message = "{validation.diasinatividade.min}")
+    @Max(value = 365, message = "{validation.diasinatividade.max}")
+    private Integer diasInatividadeAlerta;
 }
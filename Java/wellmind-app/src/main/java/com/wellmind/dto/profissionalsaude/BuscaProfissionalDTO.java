@@ -0,0 +1,20 @@
+package com.wellmind.dto.profissionalsaude;
+
+import lombok.*;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * Resultado da busca facetada: página de profissionais e contagens por faceta
+ * (especialidade, tipoRegistro, disponivel, faixaPreco -> valor -> quantidade)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BuscaProfissionalDTO {
+
+    private Page<ProfissionalSaudeDTO> profissionais;
+    private Map<String, Map<String, Long>> facetas;
+}
@@ -0,0 +1,22 @@
+package com.wellmind.dto.profissionalsaude;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Filtros combináveis da busca de profissionais
+ * Vários valores na mesma faceta = OU; facetas diferentes = E
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FiltroProfissionalDTO {
+
+    private List<String> especialidades;
+    private List<String> tiposRegistro; // PSICÓLOGO, MÉDICO
+    private Double precoMin;
+    private Double precoMax;
+    private Boolean disponivel;
+}
@@ -1,8 +1,11 @@
 package com.wellmind.dto.registrobemestar;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 /**
  * DTO para criar um registro de bem-estar
  */
@@ -40,4 +43,12 @@ public class CreateRegistroBemestarDTO {
 
     @Size(max = 1000, message = "{validation.observacoes.size}")
     private String observacoes;
+
+    // Identificador gerado pelo cliente (idempotência da ingestão assíncrona)
+    @Size(max = 36, message = "{validation.idcliente.size}")
+    private String idCliente;
+
+    // Momento em que o check-in foi aceito (ingestão assíncrona); ignorado na entrada da API
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime dataRegistro;
 }
@@ -0,0 +1,31 @@
+package com.wellmind.dto.registrobemestar;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Estatísticas de bem-estar de uma empresa em uma janela de dias
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstatisticasBemestarDTO {
+
+    private Long empresaId;
+    private LocalDate inicio;
+    private LocalDate fim;
+    private Long totalRegistros;
+
+    private PercentisDTO humor;
+    private PercentisDTO estresse;
+    private PercentisDTO energia;
+    private PercentisDTO horasSono;
+    private PercentisDTO qualidadeSono;
+
+    private Double percentualComAlerta;   // 0-100
+    private Long participantes;           // usuários com ao menos um check-in
+    private Long colaboradoresAtivos;
+    private Double taxaParticipacao;      // 0-100
+}
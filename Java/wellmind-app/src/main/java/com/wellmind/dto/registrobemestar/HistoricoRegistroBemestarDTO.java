@@ -0,0 +1,19 @@
+package com.wellmind.dto.registrobemestar;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Página do histórico de bem-estar paginada por cursor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistoricoRegistroBemestarDTO {
+
+    private List<RegistroBemestarDTO> registros;
+    private String proximoCursor; // nulo na última página
+    private Boolean temMais;
+}
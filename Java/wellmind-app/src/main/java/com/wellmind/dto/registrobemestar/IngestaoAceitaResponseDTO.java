@@ -0,0 +1,17 @@
+package com.wellmind.dto.registrobemestar;
+
+import lombok.*;
+
+/**
+ * Resposta da ingestão assíncrona de registro de bem-estar
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestaoAceitaResponseDTO {
+
+    private String idCliente;
+    private String status; // ACEITO, CRIADO
+    private Long idRegistro;
+}
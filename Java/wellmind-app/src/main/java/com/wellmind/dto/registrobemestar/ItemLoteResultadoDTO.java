@@ -0,0 +1,22 @@
+package com.wellmind.dto.registrobemestar;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Resultado de um item da ingestão em lote
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemLoteResultadoDTO {
+
+    private Integer indice;
+    private Long idUsuario;
+    private String status; // CRIADO, DUPLICADO, ERRO
+    private Long idRegistro;
+    private Boolean temAlerta;
+    private List<String> erros;
+}
@@ -0,0 +1,21 @@
+package com.wellmind.dto.registrobemestar;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para resposta da ingestão em lote de registros de bem-estar
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoteRegistroBemestarResponseDTO {
+
+    private Integer total;
+    private Integer sucesso;
+    private Integer falhas;
+    private Integer duplicados;
+    private List<ItemLoteResultadoDTO> resultados;
+}
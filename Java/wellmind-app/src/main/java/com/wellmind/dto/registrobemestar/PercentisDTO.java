@@ -0,0 +1,18 @@
+package com.wellmind.dto.registrobemestar;
+
+import lombok.*;
+
+/**
+ * Percentis e média de um indicador de bem-estar
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PercentisDTO {
+
+    private Double p10;
+    private Double p50;
+    private Double p90;
+    private Double media;
+}
@@ -0,0 +1,26 @@
+package com.wellmind.dto.registrobemestar;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha da exportação de registros de bem-estar
+ * Projeção montada direto na consulta (sem entidades no contexto de persistência)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroBemestarExportDTO {
+
+    private Long idRegistro;
+    private Long idUsuario;
+    private String nomeUsuario;
+    private LocalDateTime dataRegistro;
+    private Integer nivelHumor;
+    private Integer nivelEstresse;
+    private Integer nivelEnergia;
+    private Double horasSono;
+    private Integer qualidadeSono;
+    private Integer alertFlags;
+}
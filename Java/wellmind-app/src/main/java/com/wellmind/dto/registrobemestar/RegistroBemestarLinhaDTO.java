@@ -0,0 +1,27 @@
+package com.wellmind.dto.registrobemestar;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção das colunas usadas em RegistroBemestarDTO (listagens)
+ * Montada direto na consulta, com o nome do usuário vindo do JOIN
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroBemestarLinhaDTO {
+
+    private Long idRegistro;
+    private Long idUsuario;
+    private String nomeUsuario;
+    private Integer nivelHumor;
+    private Integer nivelEstresse;
+    private Integer nivelEnergia;
+    private Double horasSono;
+    private Integer qualidadeSono;
+    private String observacoes;
+    private LocalDateTime dataRegistro;
+    private Integer alertFlags;
+}
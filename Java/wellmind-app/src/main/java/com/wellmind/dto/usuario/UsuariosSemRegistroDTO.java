@@ -0,0 +1,22 @@
+package com.wellmind.dto.usuario;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Página de usuários sem registro recente, paginada por cursor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsuariosSemRegistroDTO {
+
+    private List<UsuarioDTO> usuarios;
+    private Integer diasInatividade;
+    private LocalDateTime semRegistroDesde;
+    private String proximoCursor; // nulo na última página
+    private Boolean temMais;
+}
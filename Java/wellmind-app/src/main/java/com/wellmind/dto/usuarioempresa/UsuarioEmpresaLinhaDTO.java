@@ -0,0 +1,25 @@
+package com.wellmind.dto.usuarioempresa;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção das colunas usadas em UsuarioEmpresaDTO (listagens)
+ * Montada direto na consulta, com usuário e empresa vindos do JOIN
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioEmpresaLinhaDTO {
+
+    private Long idUsuarioEmpresa;
+    private Long idUsuario;
+    private String nomeUsuario;
+    private Long idEmpresa;
+    private String nomeEmpresa;
+    private String cargo;
+    private LocalDate dataVinculo;
+    private LocalDate dataDesvinculo;
+    private String statusVinculo;
+}
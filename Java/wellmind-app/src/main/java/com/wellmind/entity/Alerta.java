@@ -0,0 +1,85 @@
+package com.wellmind.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Alerta de risco de bem-estar
+ *
+ * Também funciona como outbox: o alerta é gravado na mesma transação do
+ * registro de bem-estar e publicado no RabbitMQ depois, pelo AlertaOutboxRelay.
+ * DATA_PUBLICACAO nula indica alerta ainda não publicado; após uma falha o relay
+ * só tenta de novo a partir de PROXIMA_TENTATIVA.
+ */
+@Entity
+@Table(name = "ALERTA", indexes = {
+        @Index(name = "idx_alerta_usuario", columnList = "ID_USUARIO"),
+        @Index(name = "idx_alerta_publicacao", columnList = "DATA_PUBLICACAO, DATA_ALERTA")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "usuario")
+@EqualsAndHashCode(of = "idAlerta")
+public class Alerta {
+
+    @Id
+    @SequenceGenerator(
+            name = "seq_alerta_gen",
+            sequenceName = "seq_alerta",
+            allocationSize = 50
+    )
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "seq_alerta_gen"
+    )
+    @Column(name = "ID_ALERTA")
+    private Long idAlerta;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ID_USUARIO", nullable = false)
+    private Usuario usuario;
+
+    @Column(name = "TIPO_ALERTA", nullable = false, length = 100)
+    private String tipoAlerta;
+
+    @Column(name = "DESCRICAO", length = 500)
+    private String descricao;
+
+    @Column(name = "DATA_ALERTA", nullable = false)
+    private LocalDateTime dataAlerta;
+
+    @Column(name = "NIVEL_GRAVIDADE", nullable = false, length = 20)
+    private String nivelGravidade; // BAIXO, MEDIO, ALTO, CRITICO
+
+    @Column(name = "STATUS_ALERTA", nullable = false, length = 20)
+    @Builder.Default
+    private String statusAlerta = "PENDENTE"; // PENDENTE, EM_ANALISE, RESOLVIDO, IGNORADO
+
+    // Outbox
+
+    @Column(name = "DESTINATARIO", length = 150)
+    private String destinatario; // e-mail do usuário no momento do alerta
+
+    @Column(name = "DATA_PUBLICACAO")
+    private LocalDateTime dataPublicacao;
+
+    @Column(name = "TENTATIVAS_PUBLICACAO")
+    @Builder.Default
+    private Integer tentativasPublicacao = 0;
+
+    @Column(name = "PROXIMA_TENTATIVA")
+    private LocalDateTime proximaTentativa; // backoff após falha de publicação
+
+    // Lifecycle Callbacks
+
+    @PrePersist
+    protected void onCreate() {
+        if (dataAlerta == null) {
+            dataAlerta = LocalDateTime.now();
+        }
+    }
+}
@@ -11,7 +11,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "EMPRESA", indexes = {
-        @Index(name = "idx_empresa_cnpj", columnList = "CNPJ")
+        @Index(name = "idx_empresa_cnpj", columnList = "CNPJ"),
+        @Index(name = "idx_empresa_total_colab", columnList = "TOTAL_COLABORADORES_ATIVOS DESC, ID_EMPRESA")
 })
 @Data
 @NoArgsConstructor
@@ -60,6 +61,20 @@ public class Empresa {
     @Column(name = "STATUS_ATIVO", length = 1)
     private String statusAtivo;
 
+    /**
+     * Vínculos ativos da empresa. Mantido por UPDATE atômico em
+     * EmpresaRepository.ajustarTotalColaboradoresAtivos, nunca pelo flush da entidade
+     */
+    @Column(name = "TOTAL_COLABORADORES_ATIVOS", nullable = false, updatable = false)
+    @Builder.Default
+    private long totalColaboradoresAtivos = 0L;
+
+    /**
+     * Dias sem registro para considerar um colaborador inativo (nulo = app.usuarios.inatividade.dias-padrao)
+     */
+    @Column(name = "DIAS_INATIVIDADE_ALERTA")
+    private Integer diasInatividadeAlerta;
+
     // Relacionamentos
 
     @OneToMany(mappedBy = "empresa", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -114,20 +129,15 @@ public class Empresa {
         vinculo.setEmpresa(this);
     }
 
-    /**
-     * Retorna total de colaboradores ativos
-     */
-    public long getTotalColaboradoresAtivos() {
-        return usuarios.stream()
-                .filter(ue -> "A".equals(ue.getStatusVinculo()))
-                .count();
-    }
-
     /**
      * Formata CNPJ para exibição
      * 12.345.678/0001-90
      */
     public String getCnpjFormatado() {
+        return formatarCnpj(cnpj);
+    }
+
+    public static String formatarCnpj(String cnpj) {
         if (cnpj == null || cnpj.length() != 14) {
             return cnpj;
         }
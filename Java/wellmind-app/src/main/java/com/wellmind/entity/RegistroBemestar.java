@@ -2,14 +2,18 @@ package com.wellmind.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "REGISTRO_BEMESTAR", indexes = {
         @Index(name = "idx_rb_usuario", columnList = "ID_USUARIO"),
-        @Index(name = "idx_rb_data", columnList = "DATA_REGISTRO")
+        @Index(name = "idx_rb_data", columnList = "DATA_REGISTRO"),
+        @Index(name = "idx_rb_usuario_data_id", columnList = "ID_USUARIO, DATA_REGISTRO DESC, ID_REGISTRO DESC"),
+        @Index(name = "idx_rb_id_cliente", columnList = "ID_CLIENTE", unique = true),
+        @Index(name = "idx_rb_alert_flags_data", columnList = "ALERT_FLAGS, DATA_REGISTRO")
 })
 @Data
 @NoArgsConstructor
@@ -19,11 +23,20 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(of = "idRegistro")
 public class RegistroBemestar {
 
+    // Bits de ALERT_FLAGS
+    public static final int ALERTA_ESTRESSE_ALTO = 1;
+    public static final int ALERTA_HUMOR_BAIXO = 2;
+    public static final int ALERTA_SONO_INADEQUADO = 4;
+    public static final int ALERTA_QUALQUER = ALERTA_ESTRESSE_ALTO | ALERTA_HUMOR_BAIXO | ALERTA_SONO_INADEQUADO;
+
+    // allocationSize > 1 ativa o otimizador "pooled" do Hibernate: um round trip
+    // na sequence a cada 50 ids, permitindo batch real de INSERTs.
+    // A sequence no banco deve ter INCREMENT BY 50 (ver Database/Script/Alters.sql).
     @Id
     @SequenceGenerator(
             name = "seq_registro_bemestar_gen",
             sequenceName = "seq_registro_bemestar",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -36,7 +49,7 @@ public class RegistroBemestar {
     @JoinColumn(name = "ID_USUARIO", nullable = false)
     private Usuario usuario;
 
-    @CreationTimestamp
+    // Preenchida em onCreate() quando não informada (a ingestão assíncrona traz o momento do aceite)
     @Column(name = "DATA_REGISTRO", nullable = false, updatable = false)
     private LocalDateTime dataRegistro;
 
@@ -58,6 +71,21 @@ public class RegistroBemestar {
     @Column(name = "OBSERVACOES", length = 1000)
     private String observacoes;
 
+    @Column(name = "ID_CLIENTE", length = 36)
+    private String idCliente; // UUID enviado/gerado na ingestão assíncrona
+
+    /**
+     * Soma dos bits ALERTA_*, coluna virtual calculada pelo banco (também nas gravações feitas pelos pacotes PL/SQL).
+     * onCreate/onUpdate replicam o cálculo para a instância em memória, já que a coluna nunca é gravada pela JPA
+     */
+    @Column(name = "ALERT_FLAGS", insertable = false, updatable = false,
+            columnDefinition = "integer generated always as ("
+                    + "case when nivel_estresse >= 8 then 1 else 0 end"
+                    + " + case when nivel_humor <= 3 then 2 else 0 end"
+                    + " + case when horas_sono < 6 or horas_sono > 9 then 4 else 0 end)")
+    @Setter(AccessLevel.NONE)
+    private Integer alertFlags;
+
     // Lifecycle Callbacks
 
     @PrePersist
@@ -65,6 +93,12 @@ public class RegistroBemestar {
         if (dataRegistro == null) {
             dataRegistro = LocalDateTime.now();
         }
+        alertFlags = calcularAlertFlags();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        alertFlags = calcularAlertFlags();
     }
 
     // Business Methods
@@ -73,33 +107,49 @@ public class RegistroBemestar {
      * Calcula média geral de bem-estar
      */
     public double getMediaBemestar() {
-        int total = nivelHumor + (11 - nivelEstresse) + nivelEnergia;
-        if (qualidadeSono != null) {
-            total += qualidadeSono;
-            return total / 4.0;
-        }
-        return total / 3.0;
+        return calcularMediaBemestar(nivelHumor, nivelEstresse, nivelEnergia, qualidadeSono);
     }
 
     /**
      * Verifica se há alerta de estresse alto
      */
     public boolean isEstresseAlto() {
-        return nivelEstresse != null && nivelEstresse >= 8;
+        return isEstresseAlto(nivelEstresse);
     }
 
     /**
      * Verifica se há alerta de humor baixo
      */
     public boolean isHumorBaixo() {
-        return nivelHumor != null && nivelHumor <= 3;
+        return isHumorBaixo(nivelHumor);
     }
 
     /**
      * Verifica se há alerta de sono inadequado
      */
     public boolean isSonoInadequado() {
-        return horasSono != null && (horasSono < 6 || horasSono > 9);
+        return isSonoInadequado(horasSono);
+    }
+
+    /**
+     * Calcula a máscara de alertas a partir dos limites de alerta
+     */
+    public int calcularAlertFlags() {
+        return calcularAlertFlags(nivelHumor, nivelEstresse, horasSono);
+    }
+
+    /**
+     * Valores possíveis de ALERT_FLAGS que contêm algum dos bits informados
+     * Usado nas consultas para filtrar com IN e aproveitar o índice
+     */
+    public static List<Integer> valoresAlertFlagsCom(int bits) {
+        List<Integer> valores = new ArrayList<>();
+        for (int flags = 1; flags <= ALERTA_QUALQUER; flags++) {
+            if ((flags & bits) != 0) {
+                valores.add(flags);
+            }
+        }
+        return List.copyOf(valores);
     }
 
     /**
@@ -113,11 +163,46 @@ public class RegistroBemestar {
      * Classifica nível de bem-estar
      */
     public String getClassificacaoBemestar() {
-        double media = getMediaBemestar();
+        return classificarBemestar(getMediaBemestar());
+    }
+
+    // Regras de bem-estar (também usadas pelos mappers a partir de projeções)
+
+    public static double calcularMediaBemestar(int nivelHumor, int nivelEstresse, int nivelEnergia,
+                                               Integer qualidadeSono) {
+        int total = nivelHumor + (11 - nivelEstresse) + nivelEnergia;
+        if (qualidadeSono != null) {
+            total += qualidadeSono;
+            return total / 4.0;
+        }
+        return total / 3.0;
+    }
+
+    public static String classificarBemestar(double media) {
         if (media >= 8) return "EXCELENTE";
         if (media >= 6) return "BOM";
         if (media >= 4) return "REGULAR";
         if (media >= 2) return "RUIM";
         return "CRÍTICO";
     }
+
+    public static boolean isEstresseAlto(Integer nivelEstresse) {
+        return nivelEstresse != null && nivelEstresse >= 8;
+    }
+
+    public static boolean isHumorBaixo(Integer nivelHumor) {
+        return nivelHumor != null && nivelHumor <= 3;
+    }
+
+    public static boolean isSonoInadequado(Double horasSono) {
+        return horasSono != null && (horasSono < 6 || horasSono > 9);
+    }
+
+    public static int calcularAlertFlags(Integer nivelHumor, Integer nivelEstresse, Double horasSono) {
+        int flags = 0;
+        if (isEstresseAlto(nivelEstresse)) flags |= ALERTA_ESTRESSE_ALTO;
+        if (isHumorBaixo(nivelHumor)) flags |= ALERTA_HUMOR_BAIXO;
+        if (isSonoInadequado(horasSono)) flags |= ALERTA_SONO_INADEQUADO;
+        return flags;
+    }
 }
@@ -0,0 +1,176 @@
+package com.wellmind.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Agregado diário de registros de bem-estar por usuário (escopo U)
+ *
+ * Guarda contagens, somas e somas dos quadrados, o que permite calcular
+ * médias e desvios de qualquer janela somando poucas linhas. Mantido de
+ * forma incremental a cada check-in e reconstruível a partir de
+ * REGISTRO_BEMESTAR.
+ */
+@Entity
+@Table(name = "RESUMO_DIARIO_BEMESTAR")
+@IdClass(ResumoDiarioBemestarId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumoDiarioBemestar {
+
+    public static final String ESCOPO_USUARIO = "U";
+
+    @Id
+    @Column(name = "ESCOPO", length = 1)
+    private String escopo;
+
+    @Id
+    @Column(name = "ID_REFERENCIA")
+    private Long idReferencia; // ID_USUARIO
+
+    @Id
+    @Column(name = "DIA")
+    private LocalDate dia;
+
+    @Column(name = "QTD_REGISTROS", nullable = false)
+    private long qtdRegistros;
+
+    @Column(name = "SOMA_HUMOR", nullable = false)
+    private long somaHumor;
+
+    @Column(name = "SOMA_QUAD_HUMOR", nullable = false)
+    private long somaQuadHumor;
+
+    @Column(name = "SOMA_ESTRESSE", nullable = false)
+    private long somaEstresse;
+
+    @Column(name = "SOMA_QUAD_ESTRESSE", nullable = false)
+    private long somaQuadEstresse;
+
+    @Column(name = "SOMA_ENERGIA", nullable = false)
+    private long somaEnergia;
+
+    @Column(name = "SOMA_QUAD_ENERGIA", nullable = false)
+    private long somaQuadEnergia;
+
+    // Campos opcionais têm contagem própria
+
+    @Column(name = "QTD_SONO", nullable = false)
+    private long qtdSono;
+
+    @Column(name = "SOMA_SONO", nullable = false)
+    private double somaSono;
+
+    @Column(name = "SOMA_QUAD_SONO", nullable = false)
+    private double somaQuadSono;
+
+    @Column(name = "QTD_QUALIDADE_SONO", nullable = false)
+    private long qtdQualidadeSono;
+
+    @Column(name = "SOMA_QUALIDADE_SONO", nullable = false)
+    private long somaQualidadeSono;
+
+    @Column(name = "SOMA_QUAD_QUALIDADE_SONO", nullable = false)
+    private long somaQuadQualidadeSono;
+
+    // Business Methods
+
+    /**
+     * Acumula um registro de bem-estar
+     */
+    public void acumular(RegistroBemestar registro) {
+        qtdRegistros++;
+        somaHumor += registro.getNivelHumor();
+        somaQuadHumor += (long) registro.getNivelHumor() * registro.getNivelHumor();
+        somaEstresse += registro.getNivelEstresse();
+        somaQuadEstresse += (long) registro.getNivelEstresse() * registro.getNivelEstresse();
+        somaEnergia += registro.getNivelEnergia();
+        somaQuadEnergia += (long) registro.getNivelEnergia() * registro.getNivelEnergia();
+
+        if (registro.getHorasSono() != null) {
+            qtdSono++;
+            somaSono += registro.getHorasSono();
+            somaQuadSono += registro.getHorasSono() * registro.getHorasSono();
+        }
+
+        if (registro.getQualidadeSono() != null) {
+            qtdQualidadeSono++;
+            somaQualidadeSono += registro.getQualidadeSono();
+            somaQuadQualidadeSono += (long) registro.getQualidadeSono() * registro.getQualidadeSono();
+        }
+    }
+
+    /**
+     * Acumula outro resumo (ex.: somar os dias de uma janela)
+     */
+    public void acumular(ResumoDiarioBemestar outro) {
+        qtdRegistros += outro.qtdRegistros;
+        somaHumor += outro.somaHumor;
+        somaQuadHumor += outro.somaQuadHumor;
+        somaEstresse += outro.somaEstresse;
+        somaQuadEstresse += outro.somaQuadEstresse;
+        somaEnergia += outro.somaEnergia;
+        somaQuadEnergia += outro.somaQuadEnergia;
+        qtdSono += outro.qtdSono;
+        somaSono += outro.somaSono;
+        somaQuadSono += outro.somaQuadSono;
+        qtdQualidadeSono += outro.qtdQualidadeSono;
+        somaQualidadeSono += outro.somaQualidadeSono;
+        somaQuadQualidadeSono += outro.somaQuadQualidadeSono;
+    }
+
+    /**
+     * Média de (humor + (11 - estresse) + energia) / 3, mesma fórmula de
+     * RegistroBemestarRepository.calculateAverageWellness
+     */
+    public Double getMediaBemestar() {
+        if (qtdRegistros == 0) return null;
+        return (somaHumor + 11.0 * qtdRegistros - somaEstresse + somaEnergia) / (3.0 * qtdRegistros);
+    }
+
+    public Double getMediaHumor() {
+        return media(somaHumor, qtdRegistros);
+    }
+
+    public Double getMediaEstresse() {
+        return media(somaEstresse, qtdRegistros);
+    }
+
+    public Double getMediaEnergia() {
+        return media(somaEnergia, qtdRegistros);
+    }
+
+    public Double getMediaSono() {
+        return media(somaSono, qtdSono);
+    }
+
+    public Double getMediaQualidadeSono() {
+        return media(somaQualidadeSono, qtdQualidadeSono);
+    }
+
+    public Double getDesvioPadraoHumor() {
+        return desvioPadrao(somaHumor, somaQuadHumor, qtdRegistros);
+    }
+
+    public Double getDesvioPadraoEstresse() {
+        return desvioPadrao(somaEstresse, somaQuadEstresse, qtdRegistros);
+    }
+
+    public Double getDesvioPadraoEnergia() {
+        return desvioPadrao(somaEnergia, somaQuadEnergia, qtdRegistros);
+    }
+
+    private static Double media(double soma, long qtd) {
+        return qtd == 0 ? null : soma / qtd;
+    }
+
+    private static Double desvioPadrao(double soma, double somaQuad, long qtd) {
+        if (qtd == 0) return null;
+        double media = soma / qtd;
+        return Math.sqrt(Math.max(0, somaQuad / qtd - media * media));
+    }
+}
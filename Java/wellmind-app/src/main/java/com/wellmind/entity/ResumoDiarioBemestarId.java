@@ -0,0 +1,19 @@
+package com.wellmind.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Chave composta de ResumoDiarioBemestar
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoDiarioBemestarId implements Serializable {
+
+    private String escopo;
+    private Long idReferencia;
+    private LocalDate dia;
+}
@@ -15,7 +15,9 @@ import java.util.*;
 @Entity
 @Table(name = "USUARIO", indexes = {
         @Index(name = "idx_usuario_email", columnList = "EMAIL"),
-        @Index(name = "idx_usuario_status", columnList = "STATUS_ATIVO")
+        @Index(name = "idx_usuario_email_normalizado", columnList = "EMAIL_NORMALIZADO", unique = true),
+        @Index(name = "idx_usuario_status", columnList = "STATUS_ATIVO"),
+        @Index(name = "idx_usuario_status_ultimo_reg", columnList = "STATUS_ATIVO, ULTIMO_REGISTRO")
 })
 @Data
 @NoArgsConstructor
@@ -44,6 +46,15 @@ public class Usuario implements UserDetails {
     @Column(name = "EMAIL", nullable = false, unique = true, length = 100)
     private String email;
 
+    /**
+     * LOWER(TRIM(EMAIL)), coluna virtual calculada pelo banco (também nas gravações feitas pelos pacotes PL/SQL).
+     * Chave das buscas por email, servidas por idx_usuario_email_normalizado sem LOWER() sobre EMAIL
+     */
+    @Column(name = "EMAIL_NORMALIZADO", insertable = false, updatable = false,
+            columnDefinition = "varchar(100) generated always as (lower(trim(email)))")
+    @Setter(AccessLevel.NONE)
+    private String emailNormalizado;
+
     @Column(name = "SENHA_HASH", nullable = false, length = 255)
     private String senhaHash;
 
@@ -67,6 +78,14 @@ public class Usuario implements UserDetails {
     @Column(name = "ULTIMA_ATUALIZACAO")
     private LocalDateTime ultimaAtualizacao;
 
+    /**
+     * Data do registro de bem-estar mais recente (no cadastro, a data de cadastro).
+     * Mantido por UPDATE em UsuarioRepository.atualizarUltimoRegistro, nunca pelo flush da entidade
+     */
+    @Column(name = "ULTIMO_REGISTRO", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime ultimoRegistro = LocalDateTime.now();
+
     @OneToMany(mappedBy = "usuario", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
     private List<UsuarioEmpresa> empresas = new ArrayList<>();
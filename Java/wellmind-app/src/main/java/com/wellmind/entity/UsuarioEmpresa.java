@@ -110,6 +110,10 @@ public class UsuarioEmpresa {
      * Calcula tempo de vínculo em anos
      */
     public int getTempoVinculoAnos() {
+        return calcularTempoVinculoAnos(dataVinculo, dataDesvinculo);
+    }
+
+    public static int calcularTempoVinculoAnos(LocalDate dataVinculo, LocalDate dataDesvinculo) {
         LocalDate dataFim = dataDesvinculo != null ? dataDesvinculo : LocalDate.now();
         return dataFim.getYear() - dataVinculo.getYear();
     }
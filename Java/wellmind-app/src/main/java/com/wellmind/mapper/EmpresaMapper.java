@@ -27,6 +27,26 @@ public class EmpresaMapper {
                 .dataCadastro(empresa.getDataCadastro())
                 .ultimaAtualizacao(empresa.getUltimaAtualizacao())
                 .totalColaboradores(empresa.getTotalColaboradoresAtivos())
+                .diasInatividadeAlerta(empresa.getDiasInatividadeAlerta())
+                .build();
+    }
+
+    public EmpresaDTO toDTO(EmpresaLinhaDTO linha) {
+        if (linha == null) return null;
+
+        return EmpresaDTO.builder()
+                .idEmpresa(linha.getIdEmpresa())
+                .nomeEmpresa(linha.getNomeEmpresa())
+                .cnpj(linha.getCnpj())
+                .cnpjFormatado(Empresa.formatarCnpj(linha.getCnpj()))
+                .endereco(linha.getEndereco())
+                .telefone(linha.getTelefone())
+                .emailContato(linha.getEmailContato())
+                .ativa("S".equals(linha.getStatusAtivo()))
+                .dataCadastro(linha.getDataCadastro())
+                .ultimaAtualizacao(linha.getUltimaAtualizacao())
+                .totalColaboradores(linha.getTotalColaboradores())
+                .diasInatividadeAlerta(linha.getDiasInatividadeAlerta())
                 .build();
     }
 
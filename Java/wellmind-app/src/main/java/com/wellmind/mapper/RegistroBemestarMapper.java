@@ -7,30 +7,34 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.wellmind.entity.RegistroBemestar.ALERTA_ESTRESSE_ALTO;
+import static com.wellmind.entity.RegistroBemestar.ALERTA_HUMOR_BAIXO;
+import static com.wellmind.entity.RegistroBemestar.ALERTA_QUALQUER;
+import static com.wellmind.entity.RegistroBemestar.ALERTA_SONO_INADEQUADO;
+
 /**
  * Mapper para converter RegistroBemestar ↔ DTOs
  */
 @Component
 public class RegistroBemestarMapper {
 
+    // Texto de motivoAlerta para cada valor de ALERT_FLAGS (índice = máscara)
+    private static final String[] MOTIVOS_ALERTA = new String[ALERTA_QUALQUER + 1];
+
+    static {
+        for (int flags = 1; flags <= ALERTA_QUALQUER; flags++) {
+            List<String> motivos = new ArrayList<>();
+            if ((flags & ALERTA_ESTRESSE_ALTO) != 0) motivos.add("Nível de estresse alto (>= 8)");
+            if ((flags & ALERTA_HUMOR_BAIXO) != 0) motivos.add("Humor baixo (<= 3)");
+            if ((flags & ALERTA_SONO_INADEQUADO) != 0) motivos.add("Sono inadequado (< 6h ou > 9h)");
+            MOTIVOS_ALERTA[flags] = String.join(", ", motivos);
+        }
+    }
+
     public RegistroBemestarDTO toDTO(RegistroBemestar registro) {
         if (registro == null) return null;
 
-        List<String> motivosAlerta = new ArrayList<>();
-        boolean temAlerta = false;
-
-        if (registro.isEstresseAlto()) {
-            motivosAlerta.add("Nível de estresse alto (>= 8)");
-            temAlerta = true;
-        }
-        if (registro.isHumorBaixo()) {
-            motivosAlerta.add("Humor baixo (<= 3)");
-            temAlerta = true;
-        }
-        if (registro.isSonoInadequado()) {
-            motivosAlerta.add("Sono inadequado (< 6h ou > 9h)");
-            temAlerta = true;
-        }
+        int flags = registro.getAlertFlags() != null ? registro.getAlertFlags() : registro.calcularAlertFlags();
 
         return RegistroBemestarDTO.builder()
                 .idRegistro(registro.getIdRegistro())
@@ -45,8 +49,34 @@ public class RegistroBemestarMapper {
                 .classificacao(registro.getClassificacaoBemestar())
                 .observacoes(registro.getObservacoes())
                 .dataRegistro(registro.getDataRegistro())
-                .temAlerta(temAlerta)
-                .motivoAlerta(motivosAlerta.isEmpty() ? null : String.join(", ", motivosAlerta))
+                .temAlerta(flags != 0)
+                .motivoAlerta(MOTIVOS_ALERTA[flags])
+                .build();
+    }
+
+    public RegistroBemestarDTO toDTO(RegistroBemestarLinhaDTO linha) {
+        if (linha == null) return null;
+
+        int flags = linha.getAlertFlags() != null ? linha.getAlertFlags()
+                : RegistroBemestar.calcularAlertFlags(linha.getNivelHumor(), linha.getNivelEstresse(), linha.getHorasSono());
+        double media = RegistroBemestar.calcularMediaBemestar(
+                linha.getNivelHumor(), linha.getNivelEstresse(), linha.getNivelEnergia(), linha.getQualidadeSono());
+
+        return RegistroBemestarDTO.builder()
+                .idRegistro(linha.getIdRegistro())
+                .idUsuario(linha.getIdUsuario())
+                .nomeUsuario(linha.getNomeUsuario())
+                .nivelHumor(linha.getNivelHumor())
+                .nivelEstresse(linha.getNivelEstresse())
+                .nivelEnergia(linha.getNivelEnergia())
+                .horasSono(linha.getHorasSono())
+                .qualidadeSono(linha.getQualidadeSono())
+                .mediaBemestar(media)
+                .classificacao(RegistroBemestar.classificarBemestar(media))
+                .observacoes(linha.getObservacoes())
+                .dataRegistro(linha.getDataRegistro())
+                .temAlerta(flags != 0)
+                .motivoAlerta(MOTIVOS_ALERTA[flags])
                 .build();
     }
 
@@ -60,6 +90,8 @@ public class RegistroBemestarMapper {
                 .horasSono(dto.getHorasSono())
                 .qualidadeSono(dto.getQualidadeSono())
                 .observacoes(dto.getObservacoes())
+                .idCliente(dto.getIdCliente())
+                .dataRegistro(dto.getDataRegistro())
                 .build();
     }
 }
@@ -28,6 +28,24 @@ public class UsuarioEmpresaMapper {
                 .build();
     }
 
+    public UsuarioEmpresaDTO toDTO(UsuarioEmpresaLinhaDTO linha) {
+        if (linha == null) return null;
+
+        return UsuarioEmpresaDTO.builder()
+                .idUsuarioEmpresa(linha.getIdUsuarioEmpresa())
+                .idUsuario(linha.getIdUsuario())
+                .nomeUsuario(linha.getNomeUsuario())
+                .idEmpresa(linha.getIdEmpresa())
+                .nomeEmpresa(linha.getNomeEmpresa())
+                .cargo(linha.getCargo())
+                .dataVinculo(linha.getDataVinculo())
+                .dataDesvinculo(linha.getDataDesvinculo())
+                .statusVinculo(linha.getStatusVinculo())
+                .tempoVinculoAnos(UsuarioEmpresa.calcularTempoVinculoAnos(linha.getDataVinculo(), linha.getDataDesvinculo()))
+                .ativo("A".equals(linha.getStatusVinculo()))
+                .build();
+    }
+
     public UsuarioEmpresa toEntity(CreateUsuarioEmpresaDTO dto) {
         if (dto == null) return null;
 
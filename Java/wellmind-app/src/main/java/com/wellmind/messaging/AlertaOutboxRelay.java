@@ -0,0 +1,187 @@
+package com.wellmind.messaging;
+
+import com.wellmind.entity.Alerta;
+import com.wellmind.repository.AlertaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+/**
+ * Publica no RabbitMQ os alertas gravados na tabela ALERTA (outbox)
+ *
+ * - Bloqueia um lote de alertas pendentes (FOR UPDATE SKIP LOCKED, sem limite no SQL)
+ * - Publica o lote aguardando confirmação do broker (publisher confirms)
+ * - Marca os alertas como publicados na mesma transação do bloqueio
+ * - Em caso de falha, cada alerta só volta a ser tentado após um backoff exponencial
+ *   (PROXIMA_TENTATIVA); ao atingir max-tentativas deixa de ser publicado e é contado
+ *   em wellmind.alertas.outbox.esgotados
+ *
+ * Entrega ao menos uma vez: se a transação falhar após a publicação o alerta
+ * é reenviado. O messageId ("alerta-{id}") permite deduplicar no consumidor.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertaOutboxRelay {
+
+    private final AlertaRepository alertaRepository;
+    private final EntityManager entityManager;
+    private final NotificationProducer notificationProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.alertas.outbox.tamanho-lote:200}")
+    private int tamanhoLote;
+
+    @Value("${app.alertas.outbox.timeout-confirmacao-ms:5000}")
+    private long timeoutConfirmacaoMs;
+
+    @Value("${app.alertas.outbox.max-tentativas:10}")
+    private int maxTentativas;
+
+    @Value("${app.alertas.outbox.backoff-inicial-segundos:5}")
+    private long backoffInicialSegundos;
+
+    @Value("${app.alertas.outbox.backoff-max-segundos:900}")
+    private long backoffMaxSegundos;
+
+    private final AtomicLong pendentes = new AtomicLong();
+    private final AtomicLong esgotados = new AtomicLong();
+    private final AtomicLong atrasoSegundos = new AtomicLong();
+
+    private Counter publicados;
+    private Counter falhas;
+    private Timer publicacaoTimer;
+
+    @PostConstruct
+    void registrarMetricas() {
+        Gauge.builder("wellmind.alertas.outbox.pendentes", pendentes, AtomicLong::get)
+                .description("Alertas aguardando publicação")
+                .register(meterRegistry);
+        Gauge.builder("wellmind.alertas.outbox.esgotados", esgotados, AtomicLong::get)
+                .description("Alertas que esgotaram as tentativas de publicação")
+                .register(meterRegistry);
+        Gauge.builder("wellmind.alertas.outbox.atraso", atrasoSegundos, AtomicLong::get)
+                .description("Idade do alerta pendente mais antigo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        publicados = meterRegistry.counter("wellmind.alertas.outbox.publicados");
+        falhas = meterRegistry.counter("wellmind.alertas.outbox.falhas");
+        publicacaoTimer = Timer.builder("wellmind.alertas.outbox.publicacao")
+                .description("Latência de publicação de um lote com confirmação")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publica lotes até esvaziar o outbox ou o broker falhar
+     */
+    @Scheduled(fixedDelayString = "${app.alertas.outbox.intervalo-ms:1000}")
+    public void publicarPendentes() {
+        try {
+            Integer processados;
+            do {
+                processados = transactionTemplate.execute(status -> publicarLote());
+            } while (processados != null && processados == tamanhoLote);
+        } catch (Exception e) {
+            log.error("Erro ao publicar alertas do outbox", e);
+        } finally {
+            atualizarAtraso();
+        }
+    }
+
+    /**
+     * @return quantidade de alertas publicados, ou -1 se o broker falhou
+     */
+    private int publicarLote() {
+        List<Alerta> lote;
+        try (Stream<Alerta> pendentesPublicacao = streamPendentesPublicacao()) {
+            lote = pendentesPublicacao.limit(tamanhoLote).toList();
+        }
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            publicacaoTimer.record(() -> notificationProducer.enviarAlertas(lote, timeoutConfirmacaoMs));
+        } catch (Exception e) {
+            registrarFalha(lote, e);
+            return -1;
+        }
+
+        alertaRepository.marcarPublicados(lote.stream().map(Alerta::getIdAlerta).toList(), LocalDateTime.now());
+        publicados.increment(lote.size());
+        log.debug("{} alertas publicados", lote.size());
+
+        return lote.size();
+    }
+
+    /**
+     * Alertas prontos para publicação, bloqueados à medida que são lidos (ver AlertaRepository.SELECT_PENDENTES_PUBLICACAO)
+     * Um lote por round trip: o fetch size acompanha app.alertas.outbox.tamanho-lote
+     */
+    @SuppressWarnings("unchecked")
+    private Stream<Alerta> streamPendentesPublicacao() {
+        return entityManager.createNativeQuery(AlertaRepository.SELECT_PENDENTES_PUBLICACAO, Alerta.class)
+                .setParameter("maxTentativas", maxTentativas)
+                .setParameter("agora", LocalDateTime.now())
+                .setHint(HINT_FETCH_SIZE, tamanhoLote)
+                .getResultStream();
+    }
+
+    /**
+     * Conta a tentativa e agenda a próxima de cada alerta (alertas gerenciados; gravados no commit)
+     */
+    private void registrarFalha(List<Alerta> lote, Exception erro) {
+        LocalDateTime agora = LocalDateTime.now();
+        int semNovaTentativa = 0;
+
+        for (Alerta alerta : lote) {
+            int tentativas = (alerta.getTentativasPublicacao() == null ? 0 : alerta.getTentativasPublicacao()) + 1;
+            long espera = Math.min(backoffMaxSegundos, backoffInicialSegundos << Math.min(tentativas - 1, 20));
+
+            alerta.setTentativasPublicacao(tentativas);
+            alerta.setProximaTentativa(agora.plusSeconds(espera));
+            if (tentativas >= maxTentativas) {
+                semNovaTentativa++;
+            }
+        }
+
+        falhas.increment(lote.size());
+        log.warn("Falha ao publicar {} alertas; nova tentativa após backoff: {}", lote.size(), erro.getMessage());
+        if (semNovaTentativa > 0) {
+            log.error("{} alertas esgotaram {} tentativas de publicação e não serão reenviados",
+                    semNovaTentativa, maxTentativas);
+        }
+    }
+
+    private void atualizarAtraso() {
+        try {
+            Object[] resumo = alertaRepository.resumoPendentesPublicacao(maxTentativas).get(0);
+            LocalDateTime maisAntigo = (LocalDateTime) resumo[1];
+
+            pendentes.set(((Number) resumo[0]).longValue());
+            esgotados.set(alertaRepository.countEsgotados(maxTentativas));
+            atrasoSegundos.set(maisAntigo == null ? 0
+                    : Math.max(0, Duration.between(maisAntigo, LocalDateTime.now()).toSeconds()));
+        } catch (Exception e) {
+            log.debug("Não foi possível calcular o atraso do outbox: {}", e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.wellmind.messaging;
 
+import com.wellmind.entity.Alerta;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
@@ -19,8 +20,21 @@ public class NotificationProducer {
         rabbitTemplate.convertAndSend(exchange, routingKey, mensagem);
     }
 
-    public void enviarAlerta(String emailUsuario, List<String> alertas) {
-        String mensagem = "Alerta para " + emailUsuario + ": " + String.join(", ", alertas);
-        rabbitTemplate.convertAndSend(exchange, routingKey, mensagem);
+    /**
+     * Publica alertas do outbox em um único canal e aguarda a confirmação
+     * do broker para o lote inteiro (requer publisher-confirm-type: simple)
+     */
+    public void enviarAlertas(List<Alerta> alertas, long timeoutConfirmacaoMs) {
+        rabbitTemplate.invoke(operacoes -> {
+            for (Alerta alerta : alertas) {
+                String mensagem = "Alerta para " + alerta.getDestinatario() + ": " + alerta.getDescricao();
+                operacoes.convertAndSend(exchange, routingKey, mensagem, m -> {
+                    m.getMessageProperties().setMessageId("alerta-" + alerta.getIdAlerta());
+                    return m;
+                });
+            }
+            operacoes.waitForConfirmsOrDie(timeoutConfirmacaoMs);
+            return null;
+        });
     }
 }
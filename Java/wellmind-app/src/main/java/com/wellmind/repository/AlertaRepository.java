@@ -0,0 +1,53 @@
+package com.wellmind.repository;
+
+import com.wellmind.entity.Alerta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AlertaRepository extends JpaRepository<Alerta, Long> {
+
+    /**
+     * Alertas prontos para publicação (outbox), bloqueados à medida que são lidos
+     *
+     * Sem limite de linhas no SQL: no Oracle o ROWNUM/FETCH FIRST é aplicado antes do
+     * SKIP LOCKED (e FETCH FIRST não aceita FOR UPDATE), então uma segunda instância do
+     * relay ficaria só com linhas já bloqueadas. O chamador consome apenas o tamanho do
+     * lote, com fetch size igual a ele para não ler e bloquear linhas além disso; como o
+     * fetch size vem de app.alertas.outbox.tamanho-lote, a consulta é executada pelo
+     * AlertaOutboxRelay (parâmetros :maxTentativas e :agora).
+     */
+    String SELECT_PENDENTES_PUBLICACAO =
+            "SELECT * FROM ALERTA WHERE DATA_PUBLICACAO IS NULL " +
+            "AND COALESCE(TENTATIVAS_PUBLICACAO, 0) < :maxTentativas " +
+            "AND (PROXIMA_TENTATIVA IS NULL OR PROXIMA_TENTATIVA <= :agora) " +
+            "FOR UPDATE SKIP LOCKED";
+
+    /**
+     * Marca alertas como publicados
+     */
+    @Modifying
+    @Query("UPDATE Alerta a SET a.dataPublicacao = :data WHERE a.idAlerta IN :ids")
+    int marcarPublicados(@Param("ids") Collection<Long> ids, @Param("data") LocalDateTime data);
+
+    /**
+     * Quantidade e data do alerta mais antigo ainda não publicado (sem contar os que esgotaram as tentativas)
+     */
+    @Query("SELECT COUNT(a), MIN(a.dataAlerta) FROM Alerta a WHERE a.dataPublicacao IS NULL " +
+            "AND COALESCE(a.tentativasPublicacao, 0) < :maxTentativas")
+    List<Object[]> resumoPendentesPublicacao(@Param("maxTentativas") int maxTentativas);
+
+    /**
+     * Alertas não publicados que esgotaram as tentativas (exigem intervenção)
+     */
+    @Query("SELECT COUNT(a) FROM Alerta a WHERE a.dataPublicacao IS NULL " +
+            "AND COALESCE(a.tentativasPublicacao, 0) >= :maxTentativas")
+    long countEsgotados(@Param("maxTentativas") int maxTentativas);
+}
@@ -1,13 +1,19 @@
 package com.wellmind.repository;
 
 import com.wellmind.entity.CategoriaRecomendacao;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface CategoriaRecomendacaoRepository extends JpaRepository<CategoriaRecomendacao, Long> {
@@ -46,4 +52,14 @@ public interface CategoriaRecomendacaoRepository extends JpaRepository<Categoria
      * Verifica se nome de categoria já existe
      */
     boolean existsByNomeCategoria(String nomeCategoria);
+
+    /**
+     * Todos os nomes de categoria cadastrados (carga do filtro de unicidade)
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.nomeCategoria FROM CategoriaRecomendacao c")
+    Stream<String> streamNomesCategoria();
 }
@@ -1,20 +1,36 @@
 package com.wellmind.repository;
 
+import com.wellmind.dto.empresa.EmpresaLinhaDTO;
 import com.wellmind.entity.Empresa;
+import com.wellmind.search.NomeIndexado;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 
 @Repository
 public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
 
+    // Listagens projetam as colunas de EmpresaDTO em uma única consulta
+    String SELECT_LINHA = "SELECT new com.wellmind.dto.empresa.EmpresaLinhaDTO(" +
+            "e.idEmpresa, e.nomeEmpresa, e.cnpj, e.endereco, e.telefone, e.emailContato, e.statusAtivo, " +
+            "e.dataCadastro, e.ultimaAtualizacao, e.totalColaboradoresAtivos, e.diasInatividadeAlerta) " +
+            "FROM Empresa e ";
+
     /**
      * Busca empresa por CNPJ
      */
@@ -35,8 +51,9 @@ public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
     /**
      * Lista todas as empresas ativas (paginado)
      */
-    @Query("SELECT e FROM Empresa e WHERE e.statusAtivo = 'S' ORDER BY e.nomeEmpresa")
-    Page<Empresa> findAllActive(Pageable pageable);
+    @Query(value = SELECT_LINHA + "WHERE e.statusAtivo = 'S' ORDER BY e.nomeEmpresa",
+            countQuery = "SELECT COUNT(e) FROM Empresa e WHERE e.statusAtivo = 'S'")
+    Page<EmpresaLinhaDTO> findAllActive(Pageable pageable);
 
     /**
      * Lista empresas por status
@@ -46,9 +63,17 @@ public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
     /**
      * Busca empresas por nome (case-insensitive, parcial)
      */
-    @Query("SELECT e FROM Empresa e WHERE LOWER(e.nomeEmpresa) LIKE LOWER(CONCAT('%', :nome, '%')) " +
-            "AND e.statusAtivo = 'S'")
-    Page<Empresa> findByNomeContaining(@Param("nome") String nome, Pageable pageable);
+    @Query(value = SELECT_LINHA + "WHERE LOWER(e.nomeEmpresa) LIKE LOWER(CONCAT('%', :nome, '%')) " +
+            "AND e.statusAtivo = 'S'",
+            countQuery = "SELECT COUNT(e) FROM Empresa e " +
+                    "WHERE LOWER(e.nomeEmpresa) LIKE LOWER(CONCAT('%', :nome, '%')) AND e.statusAtivo = 'S'")
+    Page<EmpresaLinhaDTO> findByNomeContaining(@Param("nome") String nome, Pageable pageable);
+
+    /**
+     * Linhas das empresas informadas (página de ids vinda do índice de busca)
+     */
+    @Query(SELECT_LINHA + "WHERE e.idEmpresa IN :ids")
+    List<EmpresaLinhaDTO> findLinhasByIds(@Param("ids") Collection<Long> ids);
 
     /**
      * Conta total de empresas ativas
@@ -61,15 +86,23 @@ public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
      */
     boolean existsByCnpj(String cnpj);
 
+    /**
+     * Todos os CNPJs cadastrados (carga do filtro de unicidade)
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.cnpj FROM Empresa e")
+    Stream<String> streamCnpjs();
+
     /**
      * Busca empresas com mais colaboradores
      */
-    @Query("SELECT e FROM Empresa e " +
-            "LEFT JOIN e.usuarios ue " +
-            "WHERE e.statusAtivo = 'S' " +
-            "GROUP BY e " +
-            "ORDER BY COUNT(ue) DESC")
-    Page<Empresa> findEmpresasComMaisColaboradores(Pageable pageable);
+    @Query(value = SELECT_LINHA + "WHERE e.statusAtivo = 'S' " +
+            "ORDER BY e.totalColaboradoresAtivos DESC, e.idEmpresa",
+            countQuery = "SELECT COUNT(e) FROM Empresa e WHERE e.statusAtivo = 'S'")
+    Page<EmpresaLinhaDTO> findEmpresasComMaisColaboradores(Pageable pageable);
 
     /**
      * Busca empresas por cidade (extraído do endereço)
@@ -77,4 +110,43 @@ public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
     @Query("SELECT e FROM Empresa e WHERE LOWER(e.endereco) LIKE LOWER(CONCAT('%', :cidade, '%')) " +
             "AND e.statusAtivo = 'S'")
     List<Empresa> findByCidade(@Param("cidade") String cidade);
+
+    /**
+     * Soma delta ao contador de colaboradores ativos em um único UPDATE
+     */
+    @Modifying
+    @Query("UPDATE Empresa e SET e.totalColaboradoresAtivos = e.totalColaboradoresAtivos + :delta " +
+            "WHERE e.idEmpresa = :id")
+    int ajustarTotalColaboradoresAtivos(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Recalcula o contador a partir de USUARIO_EMPRESA onde estiver divergente
+     *
+     * @return quantidade de empresas corrigidas
+     */
+    @Modifying
+    @Query("UPDATE Empresa e SET e.totalColaboradoresAtivos = " +
+            "(SELECT COUNT(ue) FROM UsuarioEmpresa ue WHERE ue.empresa = e AND ue.statusVinculo = 'A') " +
+            "WHERE e.totalColaboradoresAtivos <> " +
+            "(SELECT COUNT(ue) FROM UsuarioEmpresa ue WHERE ue.empresa = e AND ue.statusVinculo = 'A')")
+    int reconciliarTotalColaboradoresAtivos();
+
+    /**
+     * Nomes dos registros ativos, em streaming, para montar o índice de busca
+     * Deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.wellmind.search.NomeIndexado(e.idEmpresa, e.nomeEmpresa) FROM Empresa e " +
+            "WHERE e.statusAtivo = 'S'")
+    Stream<NomeIndexado> streamNomesAtivos();
+
+    /**
+     * Nome do registro, se ativo (atualização pontual do índice de busca)
+     */
+    @Query("SELECT new com.wellmind.search.NomeIndexado(e.idEmpresa, e.nomeEmpresa) FROM Empresa e " +
+            "WHERE e.idEmpresa = :id AND e.statusAtivo = 'S'")
+    Optional<NomeIndexado> findNomeAtivo(@Param("id") Long id);
 }
@@ -1,15 +1,22 @@
 package com.wellmind.repository;
 
 import com.wellmind.entity.ProfissionalSaude;
+import com.wellmind.search.NomeIndexado;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ProfissionalSaudeRepository extends JpaRepository<ProfissionalSaude, Long> {
@@ -67,10 +74,50 @@ public interface ProfissionalSaudeRepository extends JpaRepository<ProfissionalS
      */
     boolean existsByCrpCrm(String crpCrm);
 
+    /**
+     * Todos os registros CRP/CRM cadastrados (carga do filtro de unicidade)
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.crpCrm FROM ProfissionalSaude p")
+    Stream<String> streamCrpCrms();
+
     /**
      * Busca profissionais por faixa de preço
      */
     @Query("SELECT p FROM ProfissionalSaude p WHERE p.valorConsulta BETWEEN :min AND :max " +
             "AND p.statusAtivo = 'S' AND p.disponivel = 'S' ORDER BY p.valorConsulta")
     List<ProfissionalSaude> findByFaixaPreco(@Param("min") Double min, @Param("max") Double max);
+
+    /**
+     * Profissionais ativos, em streaming, para montar o índice de facetas
+     * Deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM ProfissionalSaude p WHERE p.statusAtivo = 'S'")
+    Stream<ProfissionalSaude> streamAtivos();
+
+    /**
+     * Nomes dos registros ativos, em streaming, para montar o índice de busca
+     * Deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.wellmind.search.NomeIndexado(p.idProfissional, p.nome) FROM ProfissionalSaude p " +
+            "WHERE p.statusAtivo = 'S'")
+    Stream<NomeIndexado> streamNomesAtivos();
+
+    /**
+     * Nome do registro, se ativo (atualização pontual do índice de busca)
+     */
+    @Query("SELECT new com.wellmind.search.NomeIndexado(p.idProfissional, p.nome) FROM ProfissionalSaude p " +
+            "WHERE p.idProfissional = :id AND p.statusAtivo = 'S'")
+    Optional<NomeIndexado> findNomeAtivo(@Param("id") Long id);
 }
@@ -1,26 +1,68 @@
 package com.wellmind.repository;
 
+import com.wellmind.dto.registrobemestar.RegistroBemestarExportDTO;
+import com.wellmind.dto.registrobemestar.RegistroBemestarLinhaDTO;
 import com.wellmind.entity.RegistroBemestar;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface RegistroBemestarRepository extends JpaRepository<RegistroBemestar, Long> {
 
+    List<Integer> VALORES_COM_ALERTA = RegistroBemestar.valoresAlertFlagsCom(RegistroBemestar.ALERTA_QUALQUER);
+
+    // Listagens projetam as colunas de RegistroBemestarDTO em uma única consulta
+    String SELECT_LINHA = "SELECT new com.wellmind.dto.registrobemestar.RegistroBemestarLinhaDTO(" +
+            "rb.idRegistro, u.idUsuario, u.nome, rb.nivelHumor, rb.nivelEstresse, rb.nivelEnergia, " +
+            "rb.horasSono, rb.qualidadeSono, rb.observacoes, rb.dataRegistro, rb.alertFlags) " +
+            "FROM RegistroBemestar rb JOIN rb.usuario u ";
+
     /**
      * Busca registros por usuário (paginado)
      */
-    @Query("SELECT rb FROM RegistroBemestar rb WHERE rb.usuario.idUsuario = :usuarioId " +
-            "ORDER BY rb.dataRegistro DESC")
-    Page<RegistroBemestar> findByUsuarioId(@Param("usuarioId") Long usuarioId, Pageable pageable);
+    @Query(value = SELECT_LINHA + "WHERE u.idUsuario = :usuarioId ORDER BY rb.dataRegistro DESC",
+            countQuery = "SELECT COUNT(rb) FROM RegistroBemestar rb WHERE rb.usuario.idUsuario = :usuarioId")
+    Page<RegistroBemestarLinhaDTO> findByUsuarioId(@Param("usuarioId") Long usuarioId, Pageable pageable);
+
+    /**
+     * Primeira página do histórico de um usuário (paginação por cursor, sem COUNT)
+     */
+    @Query(SELECT_LINHA + "WHERE u.idUsuario = :usuarioId ORDER BY rb.dataRegistro DESC, rb.idRegistro DESC")
+    List<RegistroBemestarLinhaDTO> findHistorico(@Param("usuarioId") Long usuarioId, Pageable pageable);
+
+    /**
+     * Próxima página do histórico: registros anteriores ao cursor (dataRegistro, idRegistro)
+     */
+    @Query(SELECT_LINHA + "WHERE u.idUsuario = :usuarioId " +
+            "AND (rb.dataRegistro < :dataCursor " +
+            "OR (rb.dataRegistro = :dataCursor AND rb.idRegistro < :idCursor)) " +
+            "ORDER BY rb.dataRegistro DESC, rb.idRegistro DESC")
+    List<RegistroBemestarLinhaDTO> findHistoricoAntesDe(@Param("usuarioId") Long usuarioId,
+                                                        @Param("dataCursor") LocalDateTime dataCursor,
+                                                        @Param("idCursor") Long idCursor,
+                                                        Pageable pageable);
+
+    /**
+     * Retorna, dentre os identificadores de cliente informados, os que já foram persistidos
+     */
+    @Query("SELECT rb.idCliente FROM RegistroBemestar rb WHERE rb.idCliente IN :idsCliente")
+    Set<String> findIdsClienteExistentes(@Param("idsCliente") Collection<String> idsCliente);
 
     /**
      * Busca registros recentes por usuário
@@ -40,25 +82,32 @@ public interface RegistroBemestarRepository extends JpaRepository<RegistroBemest
     /**
      * Busca registros por período
      */
-    @Query("SELECT rb FROM RegistroBemestar rb WHERE rb.usuario.idUsuario = :usuarioId " +
+    @Query(SELECT_LINHA + "WHERE u.idUsuario = :usuarioId " +
             "AND rb.dataRegistro BETWEEN :inicio AND :fim ORDER BY rb.dataRegistro DESC")
-    List<RegistroBemestar> findByPeriodo(@Param("usuarioId") Long usuarioId,
-                                         @Param("inicio") LocalDateTime inicio,
-                                         @Param("fim") LocalDateTime fim);
+    List<RegistroBemestarLinhaDTO> findByPeriodo(@Param("usuarioId") Long usuarioId,
+                                                 @Param("inicio") LocalDateTime inicio,
+                                                 @Param("fim") LocalDateTime fim);
+
+    /**
+     * Busca registros cuja máscara de alertas está entre os valores informados
+     */
+    @Query(value = SELECT_LINHA + "WHERE rb.alertFlags IN :flags ORDER BY rb.dataRegistro DESC",
+            countQuery = "SELECT COUNT(rb) FROM RegistroBemestar rb WHERE rb.alertFlags IN :flags")
+    Page<RegistroBemestarLinhaDTO> findByAlertFlagsIn(@Param("flags") Collection<Integer> flags, Pageable pageable);
 
     /**
      * Busca registros com estresse alto
      */
-    @Query("SELECT rb FROM RegistroBemestar rb WHERE rb.nivelEstresse >= 8 " +
-            "ORDER BY rb.dataRegistro DESC")
-    Page<RegistroBemestar> findWithHighStress(Pageable pageable);
+    default Page<RegistroBemestarLinhaDTO> findWithHighStress(Pageable pageable) {
+        return findByAlertFlagsIn(RegistroBemestar.valoresAlertFlagsCom(RegistroBemestar.ALERTA_ESTRESSE_ALTO), pageable);
+    }
 
     /**
      * Busca registros com humor baixo
      */
-    @Query("SELECT rb FROM RegistroBemestar rb WHERE rb.nivelHumor <= 3 " +
-            "ORDER BY rb.dataRegistro DESC")
-    Page<RegistroBemestar> findWithLowMood(Pageable pageable);
+    default Page<RegistroBemestarLinhaDTO> findWithLowMood(Pageable pageable) {
+        return findByAlertFlagsIn(RegistroBemestar.valoresAlertFlagsCom(RegistroBemestar.ALERTA_HUMOR_BAIXO), pageable);
+    }
 
     /**
      * Calcula média de bem-estar de um usuário
@@ -78,12 +127,19 @@ public interface RegistroBemestarRepository extends JpaRepository<RegistroBemest
                                    @Param("dataInicio") LocalDateTime dataInicio);
 
     /**
-     * Busca registros que precisam de alerta
+     * Busca registros com qualquer alerta desde o início do dia anterior
+     * (CURRENT_DATE - 1, pelo relógio do banco)
      */
-    @Query("SELECT rb FROM RegistroBemestar rb WHERE " +
-            "(rb.nivelEstresse >= 8 OR rb.nivelHumor <= 3 OR rb.horasSono < 6 OR rb.horasSono > 9) " +
+    @Query(SELECT_LINHA + "WHERE rb.alertFlags IN :flags " +
             "AND rb.dataRegistro >= CURRENT_DATE - 1 ORDER BY rb.dataRegistro DESC")
-    List<RegistroBemestar> findRequiringAlert();
+    List<RegistroBemestarLinhaDTO> findByAlertFlagsInDesdeOntem(@Param("flags") Collection<Integer> flags);
+
+    /**
+     * Busca registros que precisam de alerta (desde o início do dia anterior)
+     */
+    default List<RegistroBemestarLinhaDTO> findRequiringAlert() {
+        return findByAlertFlagsInDesdeOntem(VALORES_COM_ALERTA);
+    }
 
     /**
      * Estatísticas de bem-estar por empresa
@@ -96,4 +152,26 @@ public interface RegistroBemestarRepository extends JpaRepository<RegistroBemest
             "AND rb.dataRegistro >= :dataInicio")
     List<Object[]> findStatisticsByEmpresa(@Param("empresaId") Long empresaId,
                                            @Param("dataInicio") LocalDateTime dataInicio);
+
+    /**
+     * Registros dos colaboradores com vínculo ativo na empresa, no período, em streaming, para exportação
+     * EXISTS em vez de JOIN: cada registro sai uma única vez, mesmo com mais de um vínculo
+     * Deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.wellmind.dto.registrobemestar.RegistroBemestarExportDTO(" +
+            "rb.idRegistro, u.idUsuario, u.nome, rb.dataRegistro, rb.nivelHumor, rb.nivelEstresse, " +
+            "rb.nivelEnergia, rb.horasSono, rb.qualidadeSono, rb.alertFlags) " +
+            "FROM RegistroBemestar rb " +
+            "JOIN rb.usuario u " +
+            "WHERE EXISTS (SELECT 1 FROM UsuarioEmpresa ue " +
+            "WHERE ue.usuario = u AND ue.empresa.idEmpresa = :empresaId AND ue.statusVinculo = 'A') " +
+            "AND rb.dataRegistro >= :inicio AND rb.dataRegistro < :fim " +
+            "ORDER BY rb.dataRegistro, rb.idRegistro")
+    Stream<RegistroBemestarExportDTO> streamExportByEmpresa(@Param("empresaId") Long empresaId,
+                                                            @Param("inicio") LocalDateTime inicio,
+                                                            @Param("fim") LocalDateTime fim);
 }
@@ -0,0 +1,110 @@
+package com.wellmind.repository;
+
+import com.wellmind.entity.ResumoDiarioBemestar;
+import com.wellmind.entity.ResumoDiarioBemestarId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ResumoDiarioBemestarRepository extends JpaRepository<ResumoDiarioBemestar, ResumoDiarioBemestarId> {
+
+    String MERGE_INCREMENTO =
+            "MERGE INTO RESUMO_DIARIO_BEMESTAR r " +
+            "USING (SELECT :escopo ESCOPO, :idReferencia ID_REFERENCIA, :dia DIA FROM DUAL) s " +
+            "ON (r.ESCOPO = s.ESCOPO AND r.ID_REFERENCIA = s.ID_REFERENCIA AND r.DIA = s.DIA) " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "r.QTD_REGISTROS = r.QTD_REGISTROS + :qtdRegistros, " +
+            "r.SOMA_HUMOR = r.SOMA_HUMOR + :somaHumor, " +
+            "r.SOMA_QUAD_HUMOR = r.SOMA_QUAD_HUMOR + :somaQuadHumor, " +
+            "r.SOMA_ESTRESSE = r.SOMA_ESTRESSE + :somaEstresse, " +
+            "r.SOMA_QUAD_ESTRESSE = r.SOMA_QUAD_ESTRESSE + :somaQuadEstresse, " +
+            "r.SOMA_ENERGIA = r.SOMA_ENERGIA + :somaEnergia, " +
+            "r.SOMA_QUAD_ENERGIA = r.SOMA_QUAD_ENERGIA + :somaQuadEnergia, " +
+            "r.QTD_SONO = r.QTD_SONO + :qtdSono, " +
+            "r.SOMA_SONO = r.SOMA_SONO + :somaSono, " +
+            "r.SOMA_QUAD_SONO = r.SOMA_QUAD_SONO + :somaQuadSono, " +
+            "r.QTD_QUALIDADE_SONO = r.QTD_QUALIDADE_SONO + :qtdQualidadeSono, " +
+            "r.SOMA_QUALIDADE_SONO = r.SOMA_QUALIDADE_SONO + :somaQualidadeSono, " +
+            "r.SOMA_QUAD_QUALIDADE_SONO = r.SOMA_QUAD_QUALIDADE_SONO + :somaQuadQualidadeSono " +
+            "WHEN NOT MATCHED THEN INSERT (ESCOPO, ID_REFERENCIA, DIA, QTD_REGISTROS, " +
+            "SOMA_HUMOR, SOMA_QUAD_HUMOR, SOMA_ESTRESSE, SOMA_QUAD_ESTRESSE, SOMA_ENERGIA, SOMA_QUAD_ENERGIA, " +
+            "QTD_SONO, SOMA_SONO, SOMA_QUAD_SONO, QTD_QUALIDADE_SONO, SOMA_QUALIDADE_SONO, SOMA_QUAD_QUALIDADE_SONO) " +
+            "VALUES (s.ESCOPO, s.ID_REFERENCIA, s.DIA, :qtdRegistros, " +
+            ":somaHumor, :somaQuadHumor, :somaEstresse, :somaQuadEstresse, :somaEnergia, :somaQuadEnergia, " +
+            ":qtdSono, :somaSono, :somaQuadSono, :qtdQualidadeSono, :somaQualidadeSono, :somaQuadQualidadeSono)";
+
+    String COLUNAS_AGREGADAS =
+            "COUNT(*), " +
+            "SUM(rb.NIVEL_HUMOR), SUM(rb.NIVEL_HUMOR * rb.NIVEL_HUMOR), " +
+            "SUM(rb.NIVEL_ESTRESSE), SUM(rb.NIVEL_ESTRESSE * rb.NIVEL_ESTRESSE), " +
+            "SUM(rb.NIVEL_ENERGIA), SUM(rb.NIVEL_ENERGIA * rb.NIVEL_ENERGIA), " +
+            "COUNT(rb.HORAS_SONO), NVL(SUM(rb.HORAS_SONO), 0), NVL(SUM(rb.HORAS_SONO * rb.HORAS_SONO), 0), " +
+            "COUNT(rb.QUALIDADE_SONO), NVL(SUM(rb.QUALIDADE_SONO), 0), " +
+            "NVL(SUM(rb.QUALIDADE_SONO * rb.QUALIDADE_SONO), 0) ";
+
+    String INSERT_RESUMO =
+            "INSERT INTO RESUMO_DIARIO_BEMESTAR (ESCOPO, ID_REFERENCIA, DIA, QTD_REGISTROS, " +
+            "SOMA_HUMOR, SOMA_QUAD_HUMOR, SOMA_ESTRESSE, SOMA_QUAD_ESTRESSE, SOMA_ENERGIA, SOMA_QUAD_ENERGIA, " +
+            "QTD_SONO, SOMA_SONO, SOMA_QUAD_SONO, QTD_QUALIDADE_SONO, SOMA_QUALIDADE_SONO, SOMA_QUAD_QUALIDADE_SONO) ";
+
+    /**
+     * Busca os resumos diários de um usuário a partir de uma data
+     */
+    @Query("SELECT r FROM ResumoDiarioBemestar r WHERE r.escopo = :escopo " +
+            "AND r.idReferencia = :idReferencia AND r.dia >= :diaInicio")
+    List<ResumoDiarioBemestar> findDesde(@Param("escopo") String escopo,
+                                         @Param("idReferencia") Long idReferencia,
+                                         @Param("diaInicio") LocalDate diaInicio);
+
+    /**
+     * Soma os valores informados ao resumo do dia, criando-o se necessário
+     *
+     * Em caso de corrida na criação da linha (ORA-00001) o MERGE é repetido,
+     * agora encontrando a linha criada pela outra transação.
+     */
+    @Modifying
+    @Query(value = "BEGIN " + MERGE_INCREMENTO + "; " +
+            "EXCEPTION WHEN DUP_VAL_ON_INDEX THEN " + MERGE_INCREMENTO + "; END;",
+            nativeQuery = true)
+    void mergeIncremento(@Param("escopo") String escopo,
+                         @Param("idReferencia") Long idReferencia,
+                         @Param("dia") LocalDate dia,
+                         @Param("qtdRegistros") long qtdRegistros,
+                         @Param("somaHumor") long somaHumor,
+                         @Param("somaQuadHumor") long somaQuadHumor,
+                         @Param("somaEstresse") long somaEstresse,
+                         @Param("somaQuadEstresse") long somaQuadEstresse,
+                         @Param("somaEnergia") long somaEnergia,
+                         @Param("somaQuadEnergia") long somaQuadEnergia,
+                         @Param("qtdSono") long qtdSono,
+                         @Param("somaSono") double somaSono,
+                         @Param("somaQuadSono") double somaQuadSono,
+                         @Param("qtdQualidadeSono") long qtdQualidadeSono,
+                         @Param("somaQualidadeSono") long somaQualidadeSono,
+                         @Param("somaQuadQualidadeSono") long somaQuadQualidadeSono);
+
+    /**
+     * Remove resumos a partir de uma data (reconstrução)
+     */
+    @Modifying
+    @Query("DELETE FROM ResumoDiarioBemestar r WHERE r.dia >= :diaInicio")
+    int deleteDesde(@Param("diaInicio") LocalDate diaInicio);
+
+    /**
+     * Recalcula os resumos por usuário a partir de REGISTRO_BEMESTAR
+     */
+    @Modifying
+    @Query(value = INSERT_RESUMO +
+            "SELECT 'U', rb.ID_USUARIO, TRUNC(rb.DATA_REGISTRO), " + COLUNAS_AGREGADAS +
+            "FROM REGISTRO_BEMESTAR rb WHERE rb.DATA_REGISTRO >= :inicio " +
+            "GROUP BY rb.ID_USUARIO, TRUNC(rb.DATA_REGISTRO)",
+            nativeQuery = true)
+    int reconstruirPorUsuario(@Param("inicio") LocalDateTime inicio);
+}
@@ -1,13 +1,17 @@
 package com.wellmind.repository;
 
+import com.wellmind.dto.usuarioempresa.UsuarioEmpresaLinhaDTO;
 import com.wellmind.entity.UsuarioEmpresa;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,33 +19,40 @@ import java.util.Optional;
 @Repository
 public interface UsuarioEmpresaRepository extends JpaRepository<UsuarioEmpresa, Long> {
 
+    // Listagens projetam as colunas de UsuarioEmpresaDTO em uma única consulta
+    String SELECT_LINHA = "SELECT new com.wellmind.dto.usuarioempresa.UsuarioEmpresaLinhaDTO(" +
+            "ue.idUsuarioEmpresa, u.idUsuario, u.nome, e.idEmpresa, e.nomeEmpresa, ue.cargo, " +
+            "ue.dataVinculo, ue.dataDesvinculo, ue.statusVinculo) " +
+            "FROM UsuarioEmpresa ue JOIN ue.usuario u JOIN ue.empresa e ";
+
     /**
      * Busca vínculos por usuário
      */
-    @Query("SELECT ue FROM UsuarioEmpresa ue WHERE ue.usuario.idUsuario = :usuarioId " +
-            "ORDER BY ue.dataVinculo DESC")
-    List<UsuarioEmpresa> findByUsuarioId(@Param("usuarioId") Long usuarioId);
+    @Query(SELECT_LINHA + "WHERE u.idUsuario = :usuarioId ORDER BY ue.dataVinculo DESC")
+    List<UsuarioEmpresaLinhaDTO> findByUsuarioId(@Param("usuarioId") Long usuarioId);
 
     /**
      * Busca vínculos ativos por usuário
      */
-    @Query("SELECT ue FROM UsuarioEmpresa ue WHERE ue.usuario.idUsuario = :usuarioId " +
+    @Query(SELECT_LINHA + "WHERE u.idUsuario = :usuarioId " +
             "AND ue.statusVinculo = 'A' ORDER BY ue.dataVinculo DESC")
-    List<UsuarioEmpresa> findActiveByUsuarioId(@Param("usuarioId") Long usuarioId);
+    List<UsuarioEmpresaLinhaDTO> findActiveByUsuarioId(@Param("usuarioId") Long usuarioId);
 
     /**
      * Busca vínculos por empresa
      */
-    @Query("SELECT ue FROM UsuarioEmpresa ue WHERE ue.empresa.idEmpresa = :empresaId " +
-            "ORDER BY ue.dataVinculo DESC")
-    Page<UsuarioEmpresa> findByEmpresaId(@Param("empresaId") Long empresaId, Pageable pageable);
+    @Query(value = SELECT_LINHA + "WHERE e.idEmpresa = :empresaId ORDER BY ue.dataVinculo DESC",
+            countQuery = "SELECT COUNT(ue) FROM UsuarioEmpresa ue WHERE ue.empresa.idEmpresa = :empresaId")
+    Page<UsuarioEmpresaLinhaDTO> findByEmpresaId(@Param("empresaId") Long empresaId, Pageable pageable);
 
     /**
      * Busca vínculos ativos por empresa
      */
-    @Query("SELECT ue FROM UsuarioEmpresa ue WHERE ue.empresa.idEmpresa = :empresaId " +
-            "AND ue.statusVinculo = 'A' ORDER BY ue.usuario.nome")
-    Page<UsuarioEmpresa> findActiveByEmpresaId(@Param("empresaId") Long empresaId, Pageable pageable);
+    @Query(value = SELECT_LINHA + "WHERE e.idEmpresa = :empresaId " +
+            "AND ue.statusVinculo = 'A' ORDER BY u.nome",
+            countQuery = "SELECT COUNT(ue) FROM UsuarioEmpresa ue WHERE ue.empresa.idEmpresa = :empresaId " +
+                    "AND ue.statusVinculo = 'A'")
+    Page<UsuarioEmpresaLinhaDTO> findActiveByEmpresaId(@Param("empresaId") Long empresaId, Pageable pageable);
 
     /**
      * Busca vínculo específico usuário-empresa
@@ -72,7 +83,24 @@ public interface UsuarioEmpresaRepository extends JpaRepository<UsuarioEmpresa,
     /**
      * Busca usuários por cargo
      */
-    @Query("SELECT ue FROM UsuarioEmpresa ue WHERE LOWER(ue.cargo) LIKE LOWER(CONCAT('%', :cargo, '%')) " +
-            "AND ue.statusVinculo = 'A'")
-    Page<UsuarioEmpresa> findByCargo(@Param("cargo") String cargo, Pageable pageable);
+    @Query(value = SELECT_LINHA + "WHERE LOWER(ue.cargo) LIKE LOWER(CONCAT('%', :cargo, '%')) " +
+            "AND ue.statusVinculo = 'A'",
+            countQuery = "SELECT COUNT(ue) FROM UsuarioEmpresa ue " +
+                    "WHERE LOWER(ue.cargo) LIKE LOWER(CONCAT('%', :cargo, '%')) AND ue.statusVinculo = 'A'")
+    Page<UsuarioEmpresaLinhaDTO> findByCargo(@Param("cargo") String cargo, Pageable pageable);
+
+    /**
+     * Pares (ID_USUARIO, ID_EMPRESA) dos vínculos dos usuários informados
+     */
+    @Query("SELECT ue.usuario.idUsuario, ue.empresa.idEmpresa FROM UsuarioEmpresa ue " +
+            "WHERE ue.usuario.idUsuario IN :usuarioIds")
+    List<Object[]> findEmpresaIdsByUsuarioIds(@Param("usuarioIds") Collection<Long> usuarioIds);
+
+    /**
+     * Busca vínculo bloqueando a linha (SELECT ... FOR UPDATE), serializando
+     * mudanças de status concorrentes do mesmo vínculo
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ue FROM UsuarioEmpresa ue WHERE ue.idUsuarioEmpresa = :id")
+    Optional<UsuarioEmpresa> findByIdForUpdate(@Param("id") Long id);
 }
@@ -1,16 +1,25 @@
 package com.wellmind.repository;
 
 import com.wellmind.entity.Usuario;
+import com.wellmind.search.NomeIndexado;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 
 @Repository
@@ -18,14 +27,15 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     /**
      * Busca usuário por email (case-insensitive)
+     * LOWER/TRIM apenas no parâmetro: a coluna EMAIL_NORMALIZADO é indexada
      */
-    @Query("SELECT u FROM Usuario u WHERE LOWER(u.email) = LOWER(:email)")
+    @Query("SELECT u FROM Usuario u WHERE u.emailNormalizado = LOWER(TRIM(:email))")
     Optional<Usuario> findByEmail(@Param("email") String email);
 
     /**
      * Busca usuário por email e status ativo
      */
-    @Query("SELECT u FROM Usuario u WHERE LOWER(u.email) = LOWER(:email) AND u.statusAtivo = 'S'")
+    @Query("SELECT u FROM Usuario u WHERE u.emailNormalizado = LOWER(TRIM(:email)) AND u.statusAtivo = 'S'")
     Optional<Usuario> findByEmailAndActive(@Param("email") String email);
 
     /**
@@ -67,9 +77,20 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     long countActiveUsers();
 
     /**
-     * Verifica se email já existe
+     * Verifica se email já existe (case-insensitive, mesma regra do índice único)
+     */
+    @Query("SELECT COUNT(u) > 0 FROM Usuario u WHERE u.emailNormalizado = LOWER(TRIM(:email))")
+    boolean existsByEmail(@Param("email") String email);
+
+    /**
+     * Todos os emails cadastrados, normalizados (carga do filtro de unicidade)
      */
-    boolean existsByEmail(String email);
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.emailNormalizado FROM Usuario u")
+    Stream<String> streamEmails();
 
     /**
      * Busca usuários por gênero
@@ -78,12 +99,57 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Page<Usuario> findByGenero(@Param("genero") String genero, Pageable pageable);
 
     /**
-     * Busca usuários que precisam de atenção (sem registros recentes)
+     * Usuários ativos sem registro desde :limite, após o cursor (ultimoRegistro, idUsuario)
+     * Faixa no índice idx_usuario_status_ultimo_reg, sem varrer REGISTRO_BEMESTAR
+     */
+    @Query("SELECT u FROM Usuario u WHERE u.statusAtivo = 'S' AND u.ultimoRegistro < :limite " +
+            "AND (u.ultimoRegistro > :dataCursor " +
+            "OR (u.ultimoRegistro = :dataCursor AND u.idUsuario > :idCursor)) " +
+            "ORDER BY u.ultimoRegistro, u.idUsuario")
+    List<Usuario> findSemRegistrosDesde(@Param("limite") LocalDateTime limite,
+                                        @Param("dataCursor") LocalDateTime dataCursor,
+                                        @Param("idCursor") Long idCursor,
+                                        Pageable pageable);
+
+    /**
+     * Colaboradores ativos da empresa sem registro desde :limite, após o cursor (ultimoRegistro, idUsuario)
+     */
+    @Query("SELECT u FROM UsuarioEmpresa ue JOIN ue.usuario u " +
+            "WHERE ue.empresa.idEmpresa = :empresaId AND ue.statusVinculo = 'A' " +
+            "AND u.statusAtivo = 'S' AND u.ultimoRegistro < :limite " +
+            "AND (u.ultimoRegistro > :dataCursor " +
+            "OR (u.ultimoRegistro = :dataCursor AND u.idUsuario > :idCursor)) " +
+            "ORDER BY u.ultimoRegistro, u.idUsuario")
+    List<Usuario> findSemRegistrosDesdeNaEmpresa(@Param("empresaId") Long empresaId,
+                                                 @Param("limite") LocalDateTime limite,
+                                                 @Param("dataCursor") LocalDateTime dataCursor,
+                                                 @Param("idCursor") Long idCursor,
+                                                 Pageable pageable);
+
+    /**
+     * Avança a data do último registro (nunca retrocede, registros retroativos não alteram)
+     */
+    @Modifying
+    @Query("UPDATE Usuario u SET u.ultimoRegistro = :data " +
+            "WHERE u.idUsuario = :id AND u.ultimoRegistro < :data")
+    int atualizarUltimoRegistro(@Param("id") Long id, @Param("data") LocalDateTime data);
+
+    /**
+     * Nomes dos registros ativos, em streaming, para montar o índice de busca
+     * Deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.wellmind.search.NomeIndexado(u.idUsuario, u.nome) FROM Usuario u " +
+            "WHERE u.statusAtivo = 'S'")
+    Stream<NomeIndexado> streamNomesAtivos();
+
+    /**
+     * Nome do registro, se ativo (atualização pontual do índice de busca)
      */
-    @Query("SELECT u FROM Usuario u WHERE u.statusAtivo = 'S' " +
-            "AND u.idUsuario NOT IN (" +
-            "  SELECT DISTINCT rb.usuario.idUsuario FROM RegistroBemestar rb " +
-            "  WHERE rb.dataRegistro >= CURRENT_DATE - 7" +
-            ")")
-    List<Usuario> findUsuariosSemRegistrosRecentes();
+    @Query("SELECT new com.wellmind.search.NomeIndexado(u.idUsuario, u.nome) FROM Usuario u " +
+            "WHERE u.idUsuario = :id AND u.statusAtivo = 'S'")
+    Optional<NomeIndexado> findNomeAtivo(@Param("id") Long id);
 }
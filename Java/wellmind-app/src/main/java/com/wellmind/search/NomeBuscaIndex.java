@@ -0,0 +1,246 @@
+package com.wellmind.search;
+
+import com.wellmind.cache.InvalidationBus;
+import com.wellmind.repository.EmpresaRepository;
+import com.wellmind.repository.ProfissionalSaudeRepository;
+import com.wellmind.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória (trigramas) da busca por nome de usuários, empresas e profissionais
+ *
+ * - Montado em segundo plano após a subida, a partir dos registros ativos
+ * - Atualizado após o commit de criação, alteração e desativação (atualizar()):
+ *   a mudança é publicada no InvalidationBus e cada nó relê o nome do banco
+ * - Enquanto não estiver pronto, os métodos devolvem vazio e a busca segue
+ *   pela consulta LIKE no banco
+ *
+ * Montagem e atualizações rodam na mesma thread, em ordem: atualizações
+ * recebidas durante a montagem são aplicadas depois dela.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NomeBuscaIndex {
+
+    static final String CANAL = "busca-nomes";
+
+    private final UsuarioRepository usuarioRepository;
+    private final EmpresaRepository empresaRepository;
+    private final ProfissionalSaudeRepository profissionalRepository;
+    private final InvalidationBus invalidationBus;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.busca.indice.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.busca.indice.max-resultados:1000}")
+    private int maxResultados;
+
+    // Nulo até a primeira montagem terminar
+    private volatile Map<TipoBusca, TrigramIndex> indices;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("busca-indice-");
+        threadFactory.setDaemon(true);
+        executor = Executors.newSingleThreadExecutor(threadFactory);
+
+        invalidationBus.registrar(CANAL, chave -> executor.execute(() -> sincronizar(chave)));
+
+        for (TipoBusca tipo : TipoBusca.values()) {
+            Gauge.builder("wellmind.busca.indice.documentos", this, indice -> indice.tamanho(tipo))
+                    .description("Registros no índice de busca por nome")
+                    .tag("tipo", tipo.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void montarNaSubida() {
+        if (habilitado) {
+            executor.execute(this::montar);
+        } else {
+            log.info("Índice de busca por nome desativado; buscas seguem no banco");
+        }
+    }
+
+    public boolean isPronto() {
+        return indices != null;
+    }
+
+    /**
+     * Ids que contêm o termo, na ordem de relevância (no máximo app.busca.indice.max-resultados)
+     *
+     * @return vazio se o índice ainda não estiver pronto
+     */
+    public Optional<List<Long>> buscarIds(TipoBusca tipo, String termo) {
+        return consultar(tipo, termo, maxResultados)
+                .map(resultado -> resultado.stream().map(TrigramIndex.Correspondencia::getId).toList());
+    }
+
+    /**
+     * Melhores correspondências (id e nome) para autocomplete, sem acesso ao banco
+     *
+     * @return vazio se o índice ainda não estiver pronto
+     */
+    public Optional<List<TrigramIndex.Correspondencia>> sugerir(TipoBusca tipo, String termo, int limite) {
+        return consultar(tipo, termo, limite);
+    }
+
+    /**
+     * Agenda a releitura do registro no índice de todos os nós, após o commit da transação atual
+     */
+    public void atualizar(TipoBusca tipo, Long id) {
+        if (id == null) {
+            return;
+        }
+        String chave = tipo.name() + ":" + id;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidationBus.publicar(CANAL, chave);
+                }
+            });
+        } else {
+            invalidationBus.publicar(CANAL, chave);
+        }
+    }
+
+    /**
+     * Monta a página pedida a partir dos ids do índice, preservando a ordem de relevância
+     */
+    public static <E, D> Page<D> paginar(List<Long> ids, Pageable pageable,
+                                         Function<List<Long>, ? extends Collection<E>> carregar,
+                                         Function<E, Long> id,
+                                         Function<E, D> mapear) {
+        int inicio = (int) Math.min(pageable.getOffset(), ids.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), ids.size());
+        List<Long> pagina = ids.subList(inicio, fim);
+        if (pagina.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.size());
+        }
+
+        Map<Long, E> porId = carregar.apply(pagina).stream()
+                .collect(Collectors.toMap(id, Function.identity()));
+        List<D> conteudo = pagina.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(mapear)
+                .toList();
+        return new PageImpl<>(conteudo, pageable, ids.size());
+    }
+
+    private Optional<List<TrigramIndex.Correspondencia>> consultar(TipoBusca tipo, String termo, int limite) {
+        Map<TipoBusca, TrigramIndex> atuais = indices;
+        if (atuais == null) {
+            return Optional.empty();
+        }
+        Timer.Sample inicio = Timer.start(meterRegistry);
+        List<TrigramIndex.Correspondencia> resultado = atuais.get(tipo).buscar(termo, limite);
+        inicio.stop(meterRegistry.timer("wellmind.busca.indice.consulta", "tipo", tipo.name().toLowerCase(Locale.ROOT)));
+        return Optional.of(resultado);
+    }
+
+    private int tamanho(TipoBusca tipo) {
+        Map<TipoBusca, TrigramIndex> atuais = indices;
+        return atuais == null ? 0 : atuais.get(tipo).tamanho();
+    }
+
+    private void montar() {
+        long inicio = System.currentTimeMillis();
+        Map<TipoBusca, TrigramIndex> novos = new EnumMap<>(TipoBusca.class);
+        for (TipoBusca tipo : TipoBusca.values()) {
+            novos.put(tipo, new TrigramIndex());
+        }
+
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        try {
+            transacao.executeWithoutResult(status -> {
+                carregar(novos.get(TipoBusca.USUARIO), usuarioRepository.streamNomesAtivos());
+                carregar(novos.get(TipoBusca.EMPRESA), empresaRepository.streamNomesAtivos());
+                carregar(novos.get(TipoBusca.PROFISSIONAL), profissionalRepository.streamNomesAtivos());
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao montar o índice de busca por nome; buscas seguem no banco", e);
+            return;
+        }
+
+        indices = novos;
+        log.info("Índice de busca por nome pronto em {} ms - usuários: {}, empresas: {}, profissionais: {}",
+                System.currentTimeMillis() - inicio,
+                novos.get(TipoBusca.USUARIO).tamanho(),
+                novos.get(TipoBusca.EMPRESA).tamanho(),
+                novos.get(TipoBusca.PROFISSIONAL).tamanho());
+    }
+
+    private static void carregar(TrigramIndex indice, Stream<NomeIndexado> nomes) {
+        try (nomes) {
+            nomes.forEach(nome -> indice.indexar(nome.getId(), nome.getNome()));
+        }
+    }
+
+    private void sincronizar(String chave) {
+        Map<TipoBusca, TrigramIndex> atuais = indices;
+        if (atuais == null) {
+            // A montagem ainda vai ler o estado atual do banco
+            return;
+        }
+        try {
+            int separador = chave.indexOf(':');
+            TipoBusca tipo = TipoBusca.valueOf(chave.substring(0, separador));
+            Long id = Long.valueOf(chave.substring(separador + 1));
+
+            Optional<NomeIndexado> nome = switch (tipo) {
+                case USUARIO -> usuarioRepository.findNomeAtivo(id);
+                case EMPRESA -> empresaRepository.findNomeAtivo(id);
+                case PROFISSIONAL -> profissionalRepository.findNomeAtivo(id);
+            };
+            TrigramIndex indice = atuais.get(tipo);
+            nome.ifPresentOrElse(n -> indice.indexar(n.getId(), n.getNome()), () -> indice.remover(id));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar índice de busca para {}: {}", chave, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.wellmind.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Projeção (id, nome) usada para montar e atualizar o índice de busca por nome
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NomeIndexado {
+
+    private Long id;
+    private String nome;
+}
@@ -0,0 +1,10 @@
+package com.wellmind.search;
+
+/**
+ * Ordenação dos resultados da busca facetada de profissionais
+ */
+public enum OrdenacaoProfissional {
+    NOME,
+    MENOR_PRECO,
+    MAIOR_PRECO
+}
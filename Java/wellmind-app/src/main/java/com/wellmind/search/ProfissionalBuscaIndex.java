@@ -0,0 +1,173 @@
+package com.wellmind.search;
+
+import com.wellmind.cache.InvalidationBus;
+import com.wellmind.dto.profissionalsaude.FiltroProfissionalDTO;
+import com.wellmind.entity.ProfissionalSaude;
+import com.wellmind.mapper.ProfissionalSaudeMapper;
+import com.wellmind.repository.ProfissionalSaudeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Índice de facetas da busca de profissionais (ProfissionalFacetIndex)
+ *
+ * - Montado como ApplicationRunner: a readiness só é liberada com o índice carregado
+ * - Atualizado após o commit das escritas de ProfissionalSaudeService (atualizar()):
+ *   a mudança é publicada no InvalidationBus e cada nó relê o profissional do banco
+ * - Se a montagem falhar, buscar() devolve vazio e uma nova montagem é agendada
+ *
+ * Montagem e atualizações rodam na mesma thread, em ordem.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfissionalBuscaIndex implements ApplicationRunner {
+
+    static final String CANAL = "busca-profissionais";
+
+    private final ProfissionalSaudeRepository profissionalRepository;
+    private final ProfissionalSaudeMapper profissionalMapper;
+    private final InvalidationBus invalidationBus;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.busca.profissionais.faixas-preco:100,200,300,500}")
+    private List<Double> faixasPreco;
+
+    // Nulo até a primeira montagem terminar
+    private volatile ProfissionalFacetIndex indice;
+
+    private final AtomicBoolean montando = new AtomicBoolean();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("busca-profissionais-");
+        threadFactory.setDaemon(true);
+        executor = Executors.newSingleThreadExecutor(threadFactory);
+
+        invalidationBus.registrar(CANAL, chave -> executor.execute(() -> sincronizar(chave)));
+
+        Gauge.builder("wellmind.busca.profissionais.documentos", this, i -> i.indice == null ? 0 : i.indice.tamanho())
+                .description("Profissionais no índice de facetas")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        montando.set(true);
+        try {
+            executor.submit(this::montar).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Falha ao montar o índice de busca de profissionais", e);
+        }
+    }
+
+    /**
+     * @return vazio se o índice ainda não estiver pronto
+     */
+    public Optional<ProfissionalFacetIndex.Resultado> buscar(FiltroProfissionalDTO filtro, OrdenacaoProfissional ordenacao,
+                                                             long inicio, int limite) {
+        ProfissionalFacetIndex atual = indice;
+        if (atual == null) {
+            if (montando.compareAndSet(false, true)) {
+                executor.execute(this::montar);
+            }
+            return Optional.empty();
+        }
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        ProfissionalFacetIndex.Resultado resultado = atual.buscar(filtro, ordenacao, inicio, limite);
+        amostra.stop(meterRegistry.timer("wellmind.busca.profissionais.consulta"));
+        return Optional.of(resultado);
+    }
+
+    /**
+     * Agenda a releitura do profissional no índice de todos os nós, após o commit da transação atual
+     */
+    public void atualizar(Long id) {
+        if (id == null) {
+            return;
+        }
+        String chave = String.valueOf(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidationBus.publicar(CANAL, chave);
+                }
+            });
+        } else {
+            invalidationBus.publicar(CANAL, chave);
+        }
+    }
+
+    private void montar() {
+        long inicio = System.currentTimeMillis();
+        ProfissionalFacetIndex novo = new ProfissionalFacetIndex(
+                faixasPreco.stream().mapToDouble(Double::doubleValue).toArray());
+
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        try {
+            transacao.executeWithoutResult(status -> {
+                try (Stream<ProfissionalSaude> ativos = profissionalRepository.streamAtivos()) {
+                    ativos.forEach(p -> novo.indexar(profissionalMapper.toDTO(p)));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao montar o índice de busca de profissionais; nova tentativa na próxima busca", e);
+            return;
+        } finally {
+            montando.set(false);
+        }
+
+        indice = novo;
+        log.info("Índice de busca de profissionais pronto em {} ms - {} profissionais",
+                System.currentTimeMillis() - inicio, novo.tamanho());
+    }
+
+    private void sincronizar(String chave) {
+        ProfissionalFacetIndex atual = indice;
+        if (atual == null) {
+            // A montagem ainda vai ler o estado atual do banco
+            return;
+        }
+        try {
+            Long id = Long.valueOf(chave);
+            profissionalRepository.findById(id)
+                    .filter(ProfissionalSaude::isAtivo)
+                    .ifPresentOrElse(p -> atual.indexar(profissionalMapper.toDTO(p)), () -> atual.remover(id));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar índice de busca de profissionais para {}: {}", chave, e.getMessage());
+        }
+    }
+}
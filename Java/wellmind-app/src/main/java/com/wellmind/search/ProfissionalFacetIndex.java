@@ -0,0 +1,379 @@
+package com.wellmind.search;
+
+import com.wellmind.dto.profissionalsaude.FiltroProfissionalDTO;
+import com.wellmind.dto.profissionalsaude.ProfissionalSaudeDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de facetas dos profissionais ativos: um RoaringBitmap (bitset comprimido)
+ * de slots por valor de faceta e um array de preços ordenado
+ *
+ * - Facetas: especialidade, tipo de registro (ProfissionalSaude.getTipoRegistro) e disponibilidade;
+ *   valores comparados sem acento e sem distinção de maiúsculas (TextoBusca)
+ * - Preço: precos[] ordenado com o slot correspondente em slotsPorPreco[]; uma faixa
+ *   vira o intervalo entre duas buscas binárias. Sem valor de consulta = "a combinar"
+ * - Filtros: OU entre valores da mesma faceta, E entre facetas
+ * - Contagens por faceta aplicam todos os filtros exceto o da própria faceta,
+ *   para que a interface mostre quantos resultados cada alternativa traria
+ *
+ * Alterações são incrementais (indexar/remover por id); cada id mantém o mesmo slot.
+ * Leituras concorrentes, escritas exclusivas (ReentrantReadWriteLock).
+ */
+public class ProfissionalFacetIndex {
+
+    public static final String ESPECIALIDADE = "especialidade";
+    public static final String TIPO_REGISTRO = "tipoRegistro";
+    public static final String DISPONIVEL = "disponivel";
+    public static final String FAIXA_PRECO = "faixaPreco";
+
+    static final String A_COMBINAR = "a combinar";
+
+    /**
+     * Página de resultados e contagens por faceta (faceta -> valor -> quantidade)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Resultado {
+        private final List<ProfissionalSaudeDTO> profissionais;
+        private final long total;
+        private final Map<String, Map<String, Long>> facetas;
+    }
+
+    /**
+     * Slots de um valor de faceta, com o rótulo original para exibição
+     */
+    private static final class Faceta {
+        private final String rotulo;
+        private final RoaringBitmap slots = new RoaringBitmap();
+
+        private Faceta(String rotulo) {
+            this.rotulo = rotulo;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final double[] limitesFaixas;
+
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private final List<ProfissionalSaudeDTO> documentos = new ArrayList<>();
+    private final List<String> nomesNormalizados = new ArrayList<>();
+    private final RoaringBitmap todos = new RoaringBitmap();
+    private final RoaringBitmap disponiveis = new RoaringBitmap();
+    private final Map<String, Faceta> especialidades = new TreeMap<>();
+    private final Map<String, Faceta> tiposRegistro = new TreeMap<>();
+
+    // Ordenados por (preço, slot)
+    private double[] precos = new double[64];
+    private int[] slotsPorPreco = new int[64];
+    private int comPreco;
+
+    /**
+     * @param limitesFaixas limites das faixas de preço da faceta, em ordem crescente (ex.: 100, 200, 300)
+     */
+    public ProfissionalFacetIndex(double[] limitesFaixas) {
+        this.limitesFaixas = limitesFaixas.clone();
+        Arrays.sort(this.limitesFaixas);
+    }
+
+    /**
+     * Inclui ou substitui o profissional
+     */
+    public void indexar(ProfissionalSaudeDTO profissional) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotPorId.get(profissional.getIdProfissional());
+            if (slot == null) {
+                slot = documentos.size();
+                documentos.add(null);
+                nomesNormalizados.add(null);
+                slotPorId.put(profissional.getIdProfissional(), slot);
+            } else {
+                retirar(slot);
+            }
+            adicionar(slot, profissional);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotPorId.get(id);
+            if (slot != null) {
+                retirar(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return todos.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica os filtros, ordena e devolve a página pedida com as contagens por faceta
+     */
+    public Resultado buscar(FiltroProfissionalDTO filtro, OrdenacaoProfissional ordenacao, long inicio, int limite) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap especialidade = uniao(especialidades, filtro.getEspecialidades());
+            RoaringBitmap tipo = uniao(tiposRegistro, filtro.getTiposRegistro());
+            RoaringBitmap disponibilidade = disponibilidade(filtro.getDisponivel());
+            RoaringBitmap preco = filtro.getPrecoMin() == null && filtro.getPrecoMax() == null ? null
+                    : intervalo(inicioPreco(filtro.getPrecoMin()), fimPreco(filtro.getPrecoMax()));
+
+            RoaringBitmap encontrados = interseccao(especialidade, tipo, disponibilidade, preco);
+
+            Map<String, Map<String, Long>> facetas = new LinkedHashMap<>();
+            facetas.put(ESPECIALIDADE, contar(especialidades, interseccao(tipo, disponibilidade, preco)));
+            facetas.put(TIPO_REGISTRO, contar(tiposRegistro, interseccao(especialidade, disponibilidade, preco)));
+            facetas.put(DISPONIVEL, contarDisponibilidade(interseccao(especialidade, tipo, preco)));
+            facetas.put(FAIXA_PRECO, contarFaixas(interseccao(especialidade, tipo, disponibilidade)));
+
+            return new Resultado(pagina(encontrados, ordenacao, inicio, limite), encontrados.getCardinality(), facetas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void adicionar(int slot, ProfissionalSaudeDTO profissional) {
+        documentos.set(slot, profissional);
+        nomesNormalizados.set(slot, TextoBusca.normalizar(profissional.getNome()));
+        todos.add(slot);
+        facetar(especialidades, profissional.getEspecialidade()).slots.add(slot);
+        facetar(tiposRegistro, profissional.getTipoRegistro()).slots.add(slot);
+        if (Boolean.TRUE.equals(profissional.getDisponivel())) {
+            disponiveis.add(slot);
+        }
+        if (profissional.getValorConsulta() != null) {
+            inserirPreco(profissional.getValorConsulta(), slot);
+        }
+    }
+
+    private void retirar(int slot) {
+        ProfissionalSaudeDTO anterior = documentos.get(slot);
+        if (anterior == null) {
+            return;
+        }
+        documentos.set(slot, null);
+        nomesNormalizados.set(slot, null);
+        todos.remove(slot);
+        disponiveis.remove(slot);
+        desfacetar(especialidades, anterior.getEspecialidade(), slot);
+        desfacetar(tiposRegistro, anterior.getTipoRegistro(), slot);
+        if (anterior.getValorConsulta() != null) {
+            removerPreco(anterior.getValorConsulta(), slot);
+        }
+    }
+
+    private static Faceta facetar(Map<String, Faceta> faceta, String valor) {
+        String rotulo = valor == null ? "" : valor.trim();
+        return faceta.computeIfAbsent(TextoBusca.normalizar(rotulo), k -> new Faceta(rotulo));
+    }
+
+    private static void desfacetar(Map<String, Faceta> faceta, String valor, int slot) {
+        String chave = TextoBusca.normalizar(valor);
+        Faceta atual = faceta.get(chave);
+        if (atual != null) {
+            atual.slots.remove(slot);
+            if (atual.slots.isEmpty()) {
+                faceta.remove(chave);
+            }
+        }
+    }
+
+    private void inserirPreco(double preco, int slot) {
+        if (comPreco == precos.length) {
+            precos = Arrays.copyOf(precos, comPreco * 2);
+            slotsPorPreco = Arrays.copyOf(slotsPorPreco, comPreco * 2);
+        }
+        int posicao = posicao(preco, slot);
+        System.arraycopy(precos, posicao, precos, posicao + 1, comPreco - posicao);
+        System.arraycopy(slotsPorPreco, posicao, slotsPorPreco, posicao + 1, comPreco - posicao);
+        precos[posicao] = preco;
+        slotsPorPreco[posicao] = slot;
+        comPreco++;
+    }
+
+    private void removerPreco(double preco, int slot) {
+        int posicao = posicao(preco, slot);
+        if (posicao < comPreco && precos[posicao] == preco && slotsPorPreco[posicao] == slot) {
+            System.arraycopy(precos, posicao + 1, precos, posicao, comPreco - posicao - 1);
+            System.arraycopy(slotsPorPreco, posicao + 1, slotsPorPreco, posicao, comPreco - posicao - 1);
+            comPreco--;
+        }
+    }
+
+    /**
+     * Primeira posição com (preço, slot) >= o par informado
+     */
+    private int posicao(double preco, int slot) {
+        int baixo = 0;
+        int alto = comPreco;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            int comparacao = Double.compare(precos[meio], preco);
+            if (comparacao < 0 || (comparacao == 0 && slotsPorPreco[meio] < slot)) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    /**
+     * Primeira posição com preço >= minimo (0 se nulo)
+     */
+    private int inicioPreco(Double minimo) {
+        return minimo == null ? 0 : posicao(minimo, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Posição seguinte à do último preço <= maximo (comPreco se nulo)
+     */
+    private int fimPreco(Double maximo) {
+        return maximo == null ? comPreco : posicao(Math.nextUp(maximo), Integer.MIN_VALUE);
+    }
+
+    private RoaringBitmap intervalo(int de, int ate) {
+        RoaringBitmap slots = new RoaringBitmap();
+        if (ate > de) {
+            slots.add(Arrays.copyOfRange(slotsPorPreco, de, ate));
+        }
+        return slots;
+    }
+
+    /**
+     * União dos slots dos valores pedidos (nulo = faceta sem filtro)
+     */
+    private static RoaringBitmap uniao(Map<String, Faceta> faceta, List<String> valores) {
+        if (valores == null || valores.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap slots = new RoaringBitmap();
+        for (String valor : valores) {
+            Faceta atual = faceta.get(TextoBusca.normalizar(valor));
+            if (atual != null) {
+                slots.or(atual.slots);
+            }
+        }
+        return slots;
+    }
+
+    private RoaringBitmap disponibilidade(Boolean disponivel) {
+        if (disponivel == null) {
+            return null;
+        }
+        return disponivel ? disponiveis : RoaringBitmap.andNot(todos, disponiveis);
+    }
+
+    /**
+     * Interseção dos filtros informados (nulos são ignorados) com todos os ativos
+     */
+    private RoaringBitmap interseccao(RoaringBitmap... filtros) {
+        RoaringBitmap resultado = todos.clone();
+        for (RoaringBitmap filtro : filtros) {
+            if (filtro != null) {
+                resultado.and(filtro);
+            }
+        }
+        return resultado;
+    }
+
+    private static Map<String, Long> contar(Map<String, Faceta> faceta, RoaringBitmap base) {
+        Map<String, Long> contagens = new LinkedHashMap<>();
+        for (Faceta atual : faceta.values()) {
+            long quantidade = RoaringBitmap.andCardinality(base, atual.slots);
+            if (quantidade > 0) {
+                contagens.put(atual.rotulo, quantidade);
+            }
+        }
+        return contagens;
+    }
+
+    private Map<String, Long> contarDisponibilidade(RoaringBitmap base) {
+        long disponivel = RoaringBitmap.andCardinality(base, disponiveis);
+        Map<String, Long> contagens = new LinkedHashMap<>();
+        contagens.put("true", disponivel);
+        contagens.put("false", base.getCardinality() - disponivel);
+        return contagens;
+    }
+
+    /**
+     * Faixas [limite anterior, limite) a partir de 0; a última é aberta ("500+")
+     */
+    private Map<String, Long> contarFaixas(RoaringBitmap base) {
+        Map<String, Long> contagens = new LinkedHashMap<>();
+        long semPreco = base.getCardinality();
+        double anterior = 0;
+        int de = 0;
+        for (int i = 0; i <= limitesFaixas.length; i++) {
+            boolean ultima = i == limitesFaixas.length;
+            int ate = ultima ? comPreco : posicao(limitesFaixas[i], Integer.MIN_VALUE);
+            long quantidade = RoaringBitmap.andCardinality(base, intervalo(de, ate));
+            contagens.put(ultima ? rotulo(anterior) + "+" : rotulo(anterior) + "-" + rotulo(limitesFaixas[i]), quantidade);
+            semPreco -= quantidade;
+            if (!ultima) {
+                anterior = limitesFaixas[i];
+                de = ate;
+            }
+        }
+        contagens.put(A_COMBINAR, semPreco);
+        return contagens;
+    }
+
+    private static String rotulo(double valor) {
+        return valor == Math.rint(valor) ? String.valueOf((long) valor) : String.valueOf(valor);
+    }
+
+    private List<ProfissionalSaudeDTO> pagina(RoaringBitmap encontrados, OrdenacaoProfissional ordenacao,
+                                              long inicio, int limite) {
+        if (inicio >= encontrados.getCardinality() || limite <= 0) {
+            return List.of();
+        }
+        Comparator<Integer> porNome = Comparator.<Integer, String>comparing(nomesNormalizados::get)
+                .thenComparing(slot -> documentos.get(slot).getIdProfissional());
+        List<Integer> slots = new ArrayList<>(encontrados.getCardinality());
+        if (ordenacao == OrdenacaoProfissional.NOME) {
+            encontrados.forEach((int slot) -> slots.add(slot));
+            slots.sort(porNome);
+        } else {
+            // Percorre o array de preços na ordem pedida; "a combinar" fica por último, por nome
+            boolean crescente = ordenacao == OrdenacaoProfissional.MENOR_PRECO;
+            RoaringBitmap semPreco = encontrados.clone();
+            for (int i = 0; i < comPreco; i++) {
+                int slot = slotsPorPreco[crescente ? i : comPreco - 1 - i];
+                if (encontrados.contains(slot)) {
+                    slots.add(slot);
+                    semPreco.remove(slot);
+                }
+            }
+            List<Integer> restantes = new ArrayList<>(semPreco.getCardinality());
+            semPreco.forEach((int slot) -> restantes.add(slot));
+            restantes.sort(porNome);
+            slots.addAll(restantes);
+        }
+        int fim = (int) Math.min(slots.size(), inicio + limite);
+        return slots.subList((int) inicio, fim).stream().map(documentos::get).toList();
+    }
+}
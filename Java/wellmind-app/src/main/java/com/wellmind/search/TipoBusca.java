@@ -0,0 +1,10 @@
+package com.wellmind.search;
+
+/**
+ * Entidades com busca por nome indexada
+ */
+public enum TipoBusca {
+    USUARIO,
+    EMPRESA,
+    PROFISSIONAL
+}
@@ -0,0 +1,378 @@
+package com.wellmind.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas sobre nomes normalizados (TextoBusca)
+ *
+ * - Cada documento ocupa um slot; as listas de postagem são int[] ordenados de slots
+ * - O texto é indexado como "  nome " para que termos de 1 e 2 caracteres
+ *   usem os trigramas de início ("  j" = nome começa com j, " si" = alguma palavra começa com si)
+ * - Termos com 3+ caracteres: interseção das listas de todos os trigramas do termo
+ *   e confirmação com indexOf (a interseção admite falsos positivos)
+ * - Alteração e remoção marcam o slot antigo como removido; com mais de 25% de slots
+ *   removidos o índice é compactado
+ *
+ * Ordenação: nome começando pelo termo, palavra começando pelo termo, demais; depois nome e id.
+ * Leituras concorrentes, escritas exclusivas (ReentrantReadWriteLock).
+ */
+public class TrigramIndex {
+
+    /**
+     * Documento encontrado: id da entidade e nome original
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Correspondencia {
+        private final long id;
+        private final String nome;
+    }
+
+    private static final int COMPACTAR_MINIMO = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[1024];
+    private String[] nomes = new String[1024];
+    private String[] normalizados = new String[1024];
+    private int slots;
+    private int vivos;
+    private BitSet removidos = new BitSet();
+
+    private SlotPorId slotPorId = new SlotPorId();
+    private Map<Long, Postagens> postagens = new HashMap<>();
+
+    /**
+     * Inclui ou substitui o documento
+     */
+    public void indexar(long id, String nome) {
+        lock.writeLock().lock();
+        try {
+            removerSlot(id);
+            adicionar(id, nome);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerSlot(id);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return vivos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca por prefixo/infixo, sem distinção de acentos e maiúsculas
+     *
+     * @param limite quantidade máxima de resultados (os melhores pela ordenação)
+     */
+    public List<Correspondencia> buscar(String termo, int limite) {
+        String consulta = TextoBusca.normalizar(termo);
+        if (consulta.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidatos = candidatos(consulta);
+            if (candidatos.length == 0) {
+                return List.of();
+            }
+
+            // Heap limitado aos "limite" melhores: O(n log limite), sem ordenar todos os candidatos
+            Comparator<int[]> ordem = Comparator.<int[]>comparingInt(c -> c[1])
+                    .thenComparing(c -> normalizados[c[0]])
+                    .thenComparingLong(c -> ids[c[0]]);
+            PriorityQueue<int[]> melhores = new PriorityQueue<>(Math.min(limite, candidatos.length) + 1, ordem.reversed());
+
+            for (int slot : candidatos) {
+                if (removidos.get(slot)) {
+                    continue;
+                }
+                int classe = classificar(normalizados[slot], consulta);
+                if (classe < 0) {
+                    continue;
+                }
+                melhores.add(new int[]{slot, classe});
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+
+            List<int[]> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(ordem);
+            List<Correspondencia> resultado = new ArrayList<>(ordenados.size());
+            for (int[] item : ordenados) {
+                resultado.add(new Correspondencia(ids[item[0]], nomes[item[0]]));
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] candidatos(String consulta) {
+        long[] chaves;
+        if (consulta.length() == 1) {
+            chaves = new long[]{trigrama(' ', ' ', consulta.charAt(0))};
+        } else if (consulta.length() == 2) {
+            chaves = new long[]{trigrama(' ', consulta.charAt(0), consulta.charAt(1))};
+        } else {
+            chaves = new long[consulta.length() - 2];
+            for (int i = 0; i < chaves.length; i++) {
+                chaves[i] = trigrama(consulta.charAt(i), consulta.charAt(i + 1), consulta.charAt(i + 2));
+            }
+        }
+
+        Postagens[] listas = new Postagens[chaves.length];
+        for (int i = 0; i < chaves.length; i++) {
+            listas[i] = postagens.get(chaves[i]);
+            if (listas[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(listas, Comparator.comparingInt(p -> p.tamanho));
+
+        int[] atual = Arrays.copyOf(listas[0].slots, listas[0].tamanho);
+        int tamanho = atual.length;
+        for (int i = 1; i < listas.length && tamanho > 0; i++) {
+            tamanho = intersectar(atual, tamanho, listas[i]);
+        }
+        return tamanho == atual.length ? atual : Arrays.copyOf(atual, tamanho);
+    }
+
+    /**
+     * Mantém em atual[0..tamanho) apenas os slots presentes na lista (ambos ordenados)
+     */
+    private static int intersectar(int[] atual, int tamanho, Postagens lista) {
+        int i = 0;
+        int j = 0;
+        int escrita = 0;
+        while (i < tamanho && j < lista.tamanho) {
+            int a = atual[i];
+            int b = lista.slots[j];
+            if (a == b) {
+                atual[escrita++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return escrita;
+    }
+
+    /**
+     * 0 = nome começa com o termo, 1 = alguma palavra começa com o termo, 2 = infixo, -1 = não contém
+     */
+    private static int classificar(String nome, String consulta) {
+        int posicao = nome.indexOf(consulta);
+        if (posicao < 0) {
+            return -1;
+        }
+        if (posicao == 0) {
+            return 0;
+        }
+        if (nome.charAt(posicao - 1) == ' ' || nome.contains(" " + consulta)) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private void adicionar(long id, String nome) {
+        String normalizado = TextoBusca.normalizar(nome);
+        if (normalizado.isEmpty()) {
+            return;
+        }
+        if (slots == ids.length) {
+            int capacidade = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacidade);
+            nomes = Arrays.copyOf(nomes, capacidade);
+            normalizados = Arrays.copyOf(normalizados, capacidade);
+        }
+        int slot = slots++;
+        ids[slot] = id;
+        nomes[slot] = nome;
+        normalizados[slot] = normalizado;
+        slotPorId.put(id, slot);
+        vivos++;
+
+        String texto = "  " + normalizado + " ";
+        for (int i = 0; i + 2 < texto.length(); i++) {
+            postagens.computeIfAbsent(trigrama(texto.charAt(i), texto.charAt(i + 1), texto.charAt(i + 2)),
+                    k -> new Postagens()).adicionar(slot);
+        }
+    }
+
+    private void removerSlot(long id) {
+        int slot = slotPorId.remove(id);
+        if (slot < 0) {
+            return;
+        }
+        removidos.set(slot);
+        nomes[slot] = null;
+        normalizados[slot] = null;
+        vivos--;
+    }
+
+    private void compactarSeNecessario() {
+        int mortos = slots - vivos;
+        if (mortos < COMPACTAR_MINIMO || mortos * 4 < slots) {
+            return;
+        }
+        long[] idsAntigos = ids;
+        String[] nomesAntigos = nomes;
+        int slotsAntigos = slots;
+        BitSet removidosAntigos = removidos;
+
+        int capacidade = Math.max(1024, Integer.highestOneBit(Math.max(1, vivos)) * 2);
+        ids = new long[capacidade];
+        nomes = new String[capacidade];
+        normalizados = new String[capacidade];
+        slots = 0;
+        vivos = 0;
+        removidos = new BitSet();
+        slotPorId = new SlotPorId();
+        postagens = new HashMap<>();
+
+        for (int slot = 0; slot < slotsAntigos; slot++) {
+            if (!removidosAntigos.get(slot)) {
+                adicionar(idsAntigos[slot], nomesAntigos[slot]);
+            }
+        }
+    }
+
+    private static long trigrama(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    /**
+     * Lista de postagem: slots em ordem crescente (slots novos sempre são maiores)
+     */
+    private static final class Postagens {
+
+        private int[] slots = new int[4];
+        private int tamanho;
+
+        void adicionar(int slot) {
+            // Trigrama repetido no mesmo nome
+            if (tamanho > 0 && slots[tamanho - 1] == slot) {
+                return;
+            }
+            if (tamanho == slots.length) {
+                slots = Arrays.copyOf(slots, tamanho + (tamanho >> 1) + 1);
+            }
+            slots[tamanho++] = slot;
+        }
+    }
+
+    /**
+     * Mapa id -> slot com endereçamento aberto (sondagem linear), sem boxing
+     */
+    private static final class SlotPorId {
+
+        private static final long VAZIO = Long.MIN_VALUE;
+
+        private long[] chaves = novasChaves(1024);
+        private int[] valores = new int[1024];
+        private int tamanho;
+
+        void put(long id, int slot) {
+            if ((tamanho + 1) * 2 > chaves.length) {
+                redimensionar();
+            }
+            int i = indice(id, chaves.length);
+            while (chaves[i] != VAZIO && chaves[i] != id) {
+                i = (i + 1) & (chaves.length - 1);
+            }
+            if (chaves[i] == VAZIO) {
+                tamanho++;
+            }
+            chaves[i] = id;
+            valores[i] = slot;
+        }
+
+        /**
+         * Remove e devolve o slot do id (-1 se ausente), deslocando a sequência de sondagem
+         */
+        int remove(long id) {
+            int mascara = chaves.length - 1;
+            int i = indice(id, chaves.length);
+            while (chaves[i] != id) {
+                if (chaves[i] == VAZIO) {
+                    return -1;
+                }
+                i = (i + 1) & mascara;
+            }
+            int valor = valores[i];
+
+            int j = i;
+            while (true) {
+                j = (j + 1) & mascara;
+                if (chaves[j] == VAZIO) {
+                    break;
+                }
+                int ideal = indice(chaves[j], chaves.length);
+                boolean permanece = i <= j ? (i < ideal && ideal <= j) : (i < ideal || ideal <= j);
+                if (!permanece) {
+                    chaves[i] = chaves[j];
+                    valores[i] = valores[j];
+                    i = j;
+                }
+            }
+            chaves[i] = VAZIO;
+            tamanho--;
+            return valor;
+        }
+
+        private void redimensionar() {
+            long[] chavesAntigas = chaves;
+            int[] valoresAntigos = valores;
+            chaves = novasChaves(chavesAntigas.length * 2);
+            valores = new int[chavesAntigas.length * 2];
+            tamanho = 0;
+            for (int i = 0; i < chavesAntigas.length; i++) {
+                if (chavesAntigas[i] != VAZIO) {
+                    put(chavesAntigas[i], valoresAntigos[i]);
+                }
+            }
+        }
+
+        private static int indice(long id, int capacidade) {
+            return Long.hashCode(id * 0x9E3779B97F4A7C15L) & (capacidade - 1);
+        }
+
+        private static long[] novasChaves(int capacidade) {
+            long[] novas = new long[capacidade];
+            Arrays.fill(novas, VAZIO);
+            return novas;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.wellmind.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wellmind.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de requisições dos endpoints de autenticação, por IP e por email
+ *
+ * Cada chave é um token bucket implementado como GCRA: um único AtomicLong
+ * (instante teórico de chegada) atualizado por CAS, sem locks. Os buckets
+ * ficam em um cache Caffeine (internamente particionado) e são descartados
+ * após app.auth.rate-limit.ociosidade-minutos sem uso.
+ *
+ * Limites por minuto (capacidade de rajada = limite) em app.auth.rate-limit.*;
+ * excedido o limite responde 429 com Retry-After.
+ * Métricas: wellmind.auth.rate-limit{operacao,chave,resultado}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthRateLimiter {
+
+    public enum Operacao { LOGIN, REGISTER, REFRESH }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.auth.rate-limit.login.ip-por-minuto:30}")
+    private int loginPorIp;
+
+    @Value("${app.auth.rate-limit.login.email-por-minuto:5}")
+    private int loginPorEmail;
+
+    @Value("${app.auth.rate-limit.register.ip-por-minuto:10}")
+    private int registerPorIp;
+
+    @Value("${app.auth.rate-limit.register.email-por-minuto:3}")
+    private int registerPorEmail;
+
+    @Value("${app.auth.rate-limit.refresh.ip-por-minuto:60}")
+    private int refreshPorIp;
+
+    @Value("${app.auth.rate-limit.max-buckets:100000}")
+    private long maxBuckets;
+
+    @Value("${app.auth.rate-limit.ociosidade-minutos:10}")
+    private long ociosidadeMinutos;
+
+    @Value("${app.auth.rate-limit.confiar-x-forwarded-for:false}")
+    private boolean confiarXForwardedFor;
+
+    private Cache<String, AtomicLong> buckets;
+
+    @PostConstruct
+    void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMinutes(ociosidadeMinutos))
+                .build();
+        Gauge.builder("wellmind.auth.rate-limit.buckets", buckets, Cache::estimatedSize)
+                .description("Buckets de rate limit ativos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consome uma permissão por IP e, se informado, por email
+     *
+     * @throws TooManyRequestsException se algum dos limites estiver esgotado
+     */
+    public void verificar(Operacao operacao, HttpServletRequest request, String email) {
+        consumir(operacao, "ip", ipCliente(request), limitePorIp(operacao));
+
+        if (StringUtils.hasText(email) && limitePorEmail(operacao) > 0) {
+            consumir(operacao, "email", email.trim().toLowerCase(Locale.ROOT), limitePorEmail(operacao));
+        }
+    }
+
+    private void consumir(Operacao operacao, String tipoChave, String valor, int limitePorMinuto) {
+        if (limitePorMinuto <= 0) {
+            return;
+        }
+        String chave = operacao + ":" + tipoChave + ":" + valor;
+        AtomicLong tat = buckets.get(chave, k -> new AtomicLong(Long.MIN_VALUE));
+
+        long intervalo = TimeUnit.MINUTES.toNanos(1) / limitePorMinuto;
+        long tolerancia = intervalo * (limitePorMinuto - 1);
+
+        while (true) {
+            long agora = System.nanoTime();
+            long atual = tat.get();
+            long base = atual == Long.MIN_VALUE || atual - agora < 0 ? agora : atual;
+            long espera = base - tolerancia - agora;
+
+            if (espera > 0) {
+                registrar(operacao, tipoChave, "rejeitado");
+                log.warn("Rate limit de {} excedido por {} {}", operacao, tipoChave, valor);
+                throw new TooManyRequestsException(
+                        "Muitas tentativas, aguarde antes de tentar novamente",
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1)));
+            }
+            if (tat.compareAndSet(atual, base + intervalo)) {
+                registrar(operacao, tipoChave, "permitido");
+                return;
+            }
+        }
+    }
+
+    private void registrar(Operacao operacao, String tipoChave, String resultado) {
+        meterRegistry.counter("wellmind.auth.rate-limit",
+                "operacao", operacao.name().toLowerCase(Locale.ROOT),
+                "chave", tipoChave,
+                "resultado", resultado).increment();
+    }
+
+    private String ipCliente(HttpServletRequest request) {
+        if (confiarXForwardedFor) {
+            String encaminhado = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(encaminhado)) {
+                return encaminhado.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private int limitePorIp(Operacao operacao) {
+        return switch (operacao) {
+            case LOGIN -> loginPorIp;
+            case REGISTER -> registerPorIp;
+            case REFRESH -> refreshPorIp;
+        };
+    }
+
+    private int limitePorEmail(Operacao operacao) {
+        return switch (operacao) {
+            case LOGIN -> loginPorEmail;
+            case REGISTER -> registerPorEmail;
+            case REFRESH -> 0;
+        };
+    }
+}
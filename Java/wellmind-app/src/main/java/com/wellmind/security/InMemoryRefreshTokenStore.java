@@ -0,0 +1,88 @@
+package com.wellmind.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Refresh tokens em memória — ativo em todos perfis exceto o "prod"
+ */
+@Component
+@Profile("!prod")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Cache<String, RefreshTokenRegistro> tokens = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, RefreshTokenRegistro>() {
+                @Override
+                public long expireAfterCreate(String hash, RefreshTokenRegistro registro, long agora) {
+                    return Math.max(0, Duration.between(Instant.now(), registro.getExpiraEm()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String hash, RefreshTokenRegistro registro, long agora, long restante) {
+                    return restante;
+                }
+
+                @Override
+                public long expireAfterRead(String hash, RefreshTokenRegistro registro, long agora, long restante) {
+                    return restante;
+                }
+            })
+            .build();
+
+    // hash/família -> instante de expiração da marcação
+    private final Cache<String, Instant> usados = marcacoes();
+    private final Cache<String, Instant> familiasRevogadas = marcacoes();
+
+    @Override
+    public void salvar(String hash, RefreshTokenRegistro registro, Duration ttl) {
+        tokens.put(hash, registro);
+    }
+
+    @Override
+    public Optional<RefreshTokenRegistro> buscar(String hash) {
+        return Optional.ofNullable(tokens.getIfPresent(hash));
+    }
+
+    @Override
+    public boolean marcarUsado(String hash, Duration ttl) {
+        return usados.asMap().putIfAbsent(hash, Instant.now().plus(ttl)) == null;
+    }
+
+    @Override
+    public void revogarFamilia(String familia, Duration ttl) {
+        familiasRevogadas.put(familia, Instant.now().plus(ttl));
+    }
+
+    @Override
+    public boolean isFamiliaRevogada(String familia) {
+        return familiasRevogadas.getIfPresent(familia) != null;
+    }
+
+    private static Cache<String, Instant> marcacoes() {
+        return Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, Instant>() {
+                    @Override
+                    public long expireAfterCreate(String chave, Instant expiraEm, long agora) {
+                        return Math.max(0, Duration.between(Instant.now(), expiraEm).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, Instant expiraEm, long agora, long restante) {
+                        return expireAfterCreate(chave, expiraEm, agora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, Instant expiraEm, long agora, long restante) {
+                        return restante;
+                    }
+                })
+                .build();
+    }
+}
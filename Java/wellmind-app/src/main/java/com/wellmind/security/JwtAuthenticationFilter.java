@@ -7,8 +7,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,7 +17,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final UsuarioStatusCache usuarioStatusCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -28,17 +26,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (StringUtils.hasText(jwt)) {
+                // Um único parse por token; tokens repetidos vêm do cache do provider
+                tokenProvider.autenticar(jwt)
+                        .map(this::criarAutenticacao)
+                        .ifPresent(authentication -> {
+                            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                            SecurityContextHolder.getContext().setAuthentication(authentication);
+                        });
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -47,6 +42,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UsernamePasswordAuthenticationToken criarAutenticacao(UsuarioAutenticado principal) {
+        // Desativações valem mesmo para tokens já emitidos (status vem do cache, não do token)
+        UsuarioStatus status = usuarioStatusCache.buscarAtivo(principal.getEmail()).orElse(null);
+        if (status == null || (principal.isCompleto() && !principal.getIdUsuario().equals(status.getIdUsuario()))) {
+            return null;
+        }
+
+        // Tokens antigos (sem claims uid/ativo/roles) são completados com o status em cache
+        UsuarioAutenticado autenticado = principal.isCompleto() ? principal : new UsuarioAutenticado(
+                status.getIdUsuario(), status.getEmail(), true, status.getAuthorities(), principal.getExpiraEm());
+
+        return new UsernamePasswordAuthenticationToken(autenticado, null, autenticado.getAuthorities());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
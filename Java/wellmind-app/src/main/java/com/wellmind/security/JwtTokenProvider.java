@@ -1,23 +1,60 @@
 package com.wellmind.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wellmind.entity.Usuario;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
+
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
 
+    static final String CLAIM_USUARIO_ID = "uid";
+    static final String CLAIM_ATIVO = "ativo";
+    static final String CLAIM_ROLES = "roles";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration}")
     private long jwtExpiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${app.jwt.cache.max-tokens:10000}")
+    private long cacheMaxTokens;
+
+    @Value("${app.jwt.cache.ttl-segundos:300}")
+    private long cacheTtlSegundos;
+
+    // Chave e parser são imutáveis e thread-safe: criados uma única vez
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Tokens já verificados -> principal; evita refazer HMAC e parse JSON a cada requisição
+    private Cache<String, UsuarioAutenticado> tokensVerificados;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(cacheMaxTokens)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSegundos))
+                .build();
     }
 
     public String generateToken(org.springframework.security.core.Authentication authentication) {
@@ -28,26 +65,90 @@ public class JwtTokenProvider {
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Gera token com as claims usadas para montar o principal sem ir ao banco
+     */
+    public String generateToken(Usuario usuario) {
+        return generateToken(usuario.getIdUsuario(), usuario.getEmail(), usuario.isAtivo(), usuario.getAuthorities());
+    }
+
+    /**
+     * Gera token a partir do status em cache (refresh sem consulta ao banco)
+     */
+    public String generateToken(UsuarioStatus usuario) {
+        return generateToken(usuario.getIdUsuario(), usuario.getEmail(), usuario.isAtivo(), usuario.getAuthorities());
+    }
+
+    private String generateToken(Long idUsuario, String email, boolean ativo,
+                                 Collection<? extends GrantedAuthority> authorities) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+        List<String> roles = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return Jwts.builder()
+                .setSubject(email)
+                .claim(CLAIM_USUARIO_ID, idUsuario)
+                .claim(CLAIM_ATIVO, ativo)
+                .claim(CLAIM_ROLES, roles)
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verifica o token (uma única vez por token enquanto estiver no cache)
+     * e monta o principal a partir das claims
+     *
+     * @return vazio se o token for inválido ou estiver expirado
+     */
+    public Optional<UsuarioAutenticado> autenticar(String token) {
+        Instant agora = Instant.now();
+
+        UsuarioAutenticado emCache = tokensVerificados.getIfPresent(token);
+        if (emCache != null) {
+            if (!emCache.isExpirado(agora)) {
+                return Optional.of(emCache);
+            }
+            tokensVerificados.invalidate(token);
+            return Optional.empty();
+        }
+
+        try {
+            UsuarioAutenticado principal = toPrincipal(parser.parseClaimsJws(token).getBody());
+            tokensVerificados.put(token, principal);
+            return Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            // Log exception se quiser
-            return false;
-        }
+        return autenticar(authToken).isPresent();
+    }
+
+    @SuppressWarnings("unchecked")
+    private UsuarioAutenticado toPrincipal(Claims claims) {
+        Long idUsuario = claims.get(CLAIM_USUARIO_ID, Long.class);
+        Boolean ativo = claims.get(CLAIM_ATIVO, Boolean.class);
+        List<String> roles = claims.get(CLAIM_ROLES, List.class);
+
+        List<GrantedAuthority> authorities = (roles != null ? roles : List.of("ROLE_USER")).stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+        Instant expiraEm = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+
+        return new UsuarioAutenticado(idUsuario, claims.getSubject(), ativo == null || ativo, authorities, expiraEm);
     }
 }
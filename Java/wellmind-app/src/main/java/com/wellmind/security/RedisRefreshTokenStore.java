@@ -0,0 +1,67 @@
+package com.wellmind.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Refresh tokens no Redis — somente ativo no perfil "prod"
+ *
+ * Chaves (todas com TTL):
+ * - wellmind:refresh:{hash}            -> "{familia}|{idUsuario}|{expiraEm}|{email}"
+ * - wellmind:refresh:usado:{hash}      -> marcação de uso (SET NX)
+ * - wellmind:refresh:revogada:{familia}
+ */
+@Component
+@Profile("prod")
+@RequiredArgsConstructor
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String PREFIXO = "wellmind:refresh:";
+    private static final String PREFIXO_USADO = PREFIXO + "usado:";
+    private static final String PREFIXO_REVOGADA = PREFIXO + "revogada:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void salvar(String hash, RefreshTokenRegistro registro, Duration ttl) {
+        String valor = registro.getFamilia() + "|" + registro.getIdUsuario() + "|" +
+                registro.getExpiraEm().getEpochSecond() + "|" + registro.getEmail();
+        redisTemplate.opsForValue().set(PREFIXO + hash, valor, ttl);
+    }
+
+    @Override
+    public Optional<RefreshTokenRegistro> buscar(String hash) {
+        String valor = redisTemplate.opsForValue().get(PREFIXO + hash);
+        if (valor == null) {
+            return Optional.empty();
+        }
+        String[] partes = valor.split("\\|", 4);
+        return Optional.of(new RefreshTokenRegistro(
+                partes[0],
+                Long.valueOf(partes[1]),
+                partes[3],
+                Instant.ofEpochSecond(Long.parseLong(partes[2]))
+        ));
+    }
+
+    @Override
+    public boolean marcarUsado(String hash, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(PREFIXO_USADO + hash, "1", ttl));
+    }
+
+    @Override
+    public void revogarFamilia(String familia, Duration ttl) {
+        redisTemplate.opsForValue().set(PREFIXO_REVOGADA + familia, "1", ttl);
+    }
+
+    @Override
+    public boolean isFamiliaRevogada(String familia) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(PREFIXO_REVOGADA + familia));
+    }
+}
@@ -0,0 +1,24 @@
+package com.wellmind.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Dados associados ao hash de um refresh token
+ *
+ * familia identifica a cadeia de rotações iniciada em um login; reutilizar
+ * um token já rotacionado revoga a família inteira.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class RefreshTokenRegistro {
+
+    private final String familia;
+    private final Long idUsuario;
+    private final String email;
+    private final Instant expiraEm;
+}
@@ -0,0 +1,26 @@
+package com.wellmind.security;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Armazenamento de refresh tokens: guarda apenas o hash (SHA-256) do token,
+ * com expiração automática
+ */
+public interface RefreshTokenStore {
+
+    void salvar(String hash, RefreshTokenRegistro registro, Duration ttl);
+
+    Optional<RefreshTokenRegistro> buscar(String hash);
+
+    /**
+     * Marca o token como usado de forma atômica
+     *
+     * @return true somente para o primeiro uso
+     */
+    boolean marcarUsado(String hash, Duration ttl);
+
+    void revogarFamilia(String familia, Duration ttl);
+
+    boolean isFamiliaRevogada(String familia);
+}
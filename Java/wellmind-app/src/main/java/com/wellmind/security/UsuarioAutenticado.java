@@ -0,0 +1,44 @@
+package com.wellmind.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Principal montado a partir das claims do JWT, sem consulta ao banco
+ *
+ * idUsuario é nulo para tokens emitidos antes das claims uid/ativo/roles;
+ * nesse caso o filtro recorre ao UserDetailsService.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class UsuarioAutenticado implements Principal {
+
+    private final Long idUsuario;
+    private final String email;
+    private final boolean ativo;
+    private final List<GrantedAuthority> authorities;
+    private final Instant expiraEm;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * Token emitido com as claims de identificação do usuário
+     */
+    public boolean isCompleto() {
+        return idUsuario != null;
+    }
+
+    public boolean isExpirado(Instant agora) {
+        return expiraEm != null && !agora.isBefore(expiraEm);
+    }
+}
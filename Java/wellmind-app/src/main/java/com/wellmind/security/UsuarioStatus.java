@@ -0,0 +1,36 @@
+package com.wellmind.security;
+
+import com.wellmind.entity.Usuario;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Retrato imutável dos dados de autenticação de um usuário, mantido no UsuarioStatusCache
+ */
+@Getter
+@AllArgsConstructor
+@ToString(exclude = "senhaHash")
+public class UsuarioStatus {
+
+    private final Long idUsuario;
+    private final String email;
+    private final String nome;
+    private final String senhaHash;
+    private final boolean ativo;
+    private final List<GrantedAuthority> authorities;
+
+    public static UsuarioStatus of(Usuario usuario) {
+        return new UsuarioStatus(
+                usuario.getIdUsuario(),
+                usuario.getEmail(),
+                usuario.getNome(),
+                usuario.getSenhaHash(),
+                usuario.isAtivo(),
+                List.copyOf(usuario.getAuthorities())
+        );
+    }
+}
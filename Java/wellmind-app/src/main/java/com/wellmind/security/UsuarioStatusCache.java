@@ -0,0 +1,111 @@
+package com.wellmind.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wellmind.cache.InvalidationBus;
+import com.wellmind.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Cache email -> UsuarioStatus usado nas consultas de autenticação
+ *
+ * - Limitado em tamanho e com TTL (app.auth.usuario-status-cache.*)
+ * - Invalidado após o commit de desativar/reativar/troca de senha,
+ *   em todos os nós via InvalidationBus
+ * - Métricas cache.gets{cache="usuario-status",result=hit|miss}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UsuarioStatusCache {
+
+    static final String NOME = "usuario-status";
+
+    private final UsuarioRepository usuarioRepository;
+    private final InvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.auth.usuario-status-cache.max-usuarios:50000}")
+    private long maxUsuarios;
+
+    @Value("${app.auth.usuario-status-cache.ttl-segundos:300}")
+    private long ttlSegundos;
+
+    private Cache<String, UsuarioStatus> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxUsuarios)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME);
+        invalidationBus.registrar(NOME, cache::invalidate);
+    }
+
+    /**
+     * Busca o status pelo email (ativo ou não); emails inexistentes não são cacheados
+     */
+    public Optional<UsuarioStatus> buscar(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        String chave = normalizar(email);
+        UsuarioStatus status = cache.getIfPresent(chave);
+        if (status != null) {
+            return Optional.of(status);
+        }
+        return usuarioRepository.findByEmail(chave)
+                .map(UsuarioStatus::of)
+                .map(carregado -> {
+                    cache.put(chave, carregado);
+                    return carregado;
+                });
+    }
+
+    /**
+     * Busca o status somente se o usuário estiver ativo
+     */
+    public Optional<UsuarioStatus> buscarAtivo(String email) {
+        return buscar(email).filter(UsuarioStatus::isAtivo);
+    }
+
+    /**
+     * Invalida o email em todos os nós. Dentro de uma transação a invalidação
+     * ocorre após o commit, para que nenhuma leitura concorrente recoloque o valor antigo.
+     */
+    public void invalidar(String email) {
+        if (email == null) {
+            return;
+        }
+        String chave = normalizar(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidationBus.publicar(NOME, chave);
+                }
+            });
+        } else {
+            invalidationBus.publicar(NOME, chave);
+        }
+        log.debug("Status do usuário {} invalidado", chave);
+    }
+
+    private static String normalizar(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,7 @@
 package com.wellmind.service;
 
+import com.wellmind.cache.ChaveUnica;
+import com.wellmind.cache.FiltroUnicidade;
 import com.wellmind.dto.auth.*;
 import com.wellmind.dto.usuario.CreateUsuarioDTO;
 import com.wellmind.entity.Usuario;
@@ -7,15 +9,20 @@ import com.wellmind.exception.ResourceAlreadyExistsException;
 import com.wellmind.exception.ResourceNotFoundException;
 import com.wellmind.mapper.UsuarioMapper;
 import com.wellmind.repository.UsuarioRepository;
+import com.wellmind.search.NomeBuscaIndex;
+import com.wellmind.search.TipoBusca;
 import com.wellmind.security.JwtTokenProvider;
+import com.wellmind.security.RefreshTokenRegistro;
+import com.wellmind.security.UsuarioStatus;
+import com.wellmind.security.UsuarioStatusCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -26,8 +33,11 @@ import java.time.LocalDateTime;
  * Responsabilidades:
  * - Login de usuários
  * - Registro de novos usuários
- * - Refresh de tokens JWT
+ * - Refresh de tokens JWT (refresh tokens opacos com rotação)
  * - Validações de autenticação
+ *
+ * Login e registro rodam fora de transação: o BCrypt leva dezenas de
+ * milissegundos no pool de hashing e não deve segurar uma conexão do banco.
  */
 @Service
 @RequiredArgsConstructor
@@ -35,11 +45,15 @@ import java.time.LocalDateTime;
 @Transactional
 public class AuthService {
 
-    private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final UsuarioRepository usuarioRepository;
     private final UsuarioMapper usuarioMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final SenhaHashingService senhaHashingService;
+    private final RefreshTokenService refreshTokenService;
+    private final UsuarioStatusCache usuarioStatusCache;
+    private final NomeBuscaIndex nomeBuscaIndex;
+    private final FiltroUnicidade filtroUnicidade;
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * Realiza login do usuário
@@ -48,48 +62,37 @@ public class AuthService {
      * @return AuthResponseDTO com token JWT
      * @throws ResourceNotFoundException se usuário não encontrado
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponseDTO login(LoginDTO dto) {
         log.info("Tentativa de login - email: {}", dto.getEmail());
 
-        // Buscar usuário no banco
-        Usuario usuario = usuarioRepository.findByEmailAndActive(dto.getEmail())
+        // Hash e status vêm do cache (ou de uma consulta curta), antes do BCrypt
+        UsuarioStatus usuario = usuarioStatusCache.buscarAtivo(dto.getEmail())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Usuário não encontrado com email: " + dto.getEmail()
                 ));
 
-        // Verificar senha
-        if (!passwordEncoder.matches(dto.getSenha(), usuario.getSenhaHash())) {
+        // Verificar senha (uma única verificação BCrypt, no pool de hashing)
+        if (!senhaHashingService.verificar(dto.getSenha(), usuario.getSenhaHash())) {
             log.warn("Tentativa de login com senha incorreta - email: {}", dto.getEmail());
             throw new IllegalArgumentException("Email ou senha inválidos");
         }
 
-        // Autenticar
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            dto.getEmail(),
-                            dto.getSenha()
-                    )
-            );
-
-            // Gerar token JWT
-            String token = jwtTokenProvider.generateToken(authentication);
+        // Gerar token JWT
+        String token = jwtTokenProvider.generateToken(usuario);
 
-            log.info("Login bem-sucedido - email: {}", dto.getEmail());
+        log.info("Login bem-sucedido - email: {}", dto.getEmail());
 
-            return AuthResponseDTO.builder()
-                    .token(token)
-                    .tokenType("Bearer")
-                    .expiresIn(86400L) // 24 horas em segundos
-                    .usuario(usuario.getNome())
-                    .email(usuario.getEmail())
-                    .mensagem("Login realizado com sucesso")
-                    .build();
-
-        } catch (Exception e) {
-            log.error("Erro ao autenticar usuário: {}", e.getMessage());
-            throw new IllegalArgumentException("Falha na autenticação");
-        }
+        return AuthResponseDTO.builder()
+                .token(token)
+                .tokenType("Bearer")
+                .expiresIn(86400L) // 24 horas em segundos
+                .refreshToken(refreshTokenService.emitir(usuario.getIdUsuario(), usuario.getEmail()))
+                .refreshExpiresIn(refreshTokenService.getExpiracaoSegundos())
+                .usuario(usuario.getNome())
+                .email(usuario.getEmail())
+                .mensagem("Login realizado com sucesso")
+                .build();
     }
 
     /**
@@ -99,11 +102,13 @@ public class AuthService {
      * @return AuthResponseDTO com token JWT
      * @throws ResourceAlreadyExistsException se email já existe
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponseDTO register(RegisterDTO dto) {
         log.info("Tentativa de registro - email: {}", dto.getEmail());
 
         // Validar se email já existe
-        if (usuarioRepository.existsByEmail(dto.getEmail())) {
+        if (filtroUnicidade.existe(ChaveUnica.EMAIL, dto.getEmail(),
+                () -> usuarioRepository.existsByEmail(dto.getEmail()))) {
             log.warn("Tentativa de registro com email já existente: {}", dto.getEmail());
             throw new ResourceAlreadyExistsException(
                     "Email já registrado: " + dto.getEmail()
@@ -119,11 +124,14 @@ public class AuthService {
         // Validar força da senha (já feito em DTO com @Pattern, mas fazer dupla validação)
         validarSenhaForte(dto.getSenha());
 
+        // Hash calculado antes de abrir a transação de gravação
+        String senhaHash = senhaHashingService.codificar(dto.getSenha());
+
         // Converter DTO para Entity
         Usuario usuario = Usuario.builder()
                 .nome(dto.getNome())
                 .email(dto.getEmail())
-                .senhaHash(passwordEncoder.encode(dto.getSenha()))
+                .senhaHash(senhaHash)
                 .dataNascimento(dto.getDataNascimento())
                 .genero(dto.getGenero())
                 .telefone(dto.getTelefone())
@@ -131,25 +139,25 @@ public class AuthService {
                 .dataCadastro(LocalDateTime.now())
                 .build();
 
-        // Salvar novo usuário
-        Usuario usuarioSalvo = usuarioRepository.save(usuario);
+        // Salvar novo usuário (índices atualizados após o commit)
+        Usuario usuarioSalvo = new TransactionTemplate(transactionManager).execute(status -> {
+            Usuario salvo = usuarioRepository.save(usuario);
+            nomeBuscaIndex.atualizar(TipoBusca.USUARIO, salvo.getIdUsuario());
+            filtroUnicidade.registrar(ChaveUnica.EMAIL, salvo.getEmail());
+            return salvo;
+        });
         log.info("Usuário registrado com sucesso - ID: {}, email: {}",
                 usuarioSalvo.getIdUsuario(), usuarioSalvo.getEmail());
 
-        // Autenticar e retornar token
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        dto.getEmail(),
-                        dto.getSenha()
-                )
-        );
-
-        String token = jwtTokenProvider.generateToken(authentication);
+        // Senha acabou de ser definida: token emitido sem nova verificação BCrypt
+        String token = jwtTokenProvider.generateToken(usuarioSalvo);
 
         return AuthResponseDTO.builder()
                 .token(token)
                 .tokenType("Bearer")
                 .expiresIn(86400L)
+                .refreshToken(refreshTokenService.emitir(usuarioSalvo.getIdUsuario(), usuarioSalvo.getEmail()))
+                .refreshExpiresIn(refreshTokenService.getExpiracaoSegundos())
                 .usuario(usuarioSalvo.getNome())
                 .email(usuarioSalvo.getEmail())
                 .mensagem("Usuário registrado com sucesso")
@@ -157,50 +165,55 @@ public class AuthService {
     }
 
     /**
-     * Refresh do token JWT
+     * Renova o access token a partir de um refresh token (rotação)
+     *
+     * Custa uma consulta de hash no store e a emissão dos tokens, sem BCrypt
+     * e, com o status do usuário em cache, sem ir ao banco.
      *
-     * @param token Token anterior
-     * @return AuthResponseDTO com novo token
+     * @param refreshToken Refresh token recebido no login/último refresh
+     * @return AuthResponseDTO com novo access token e novo refresh token
      */
-    public AuthResponseDTO refreshToken(String token) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponseDTO refreshToken(String refreshToken) {
         log.info("Tentativa de refresh de token");
 
-        // Remover "Bearer " do token
-        String jwtToken = token.replace("Bearer ", "");
-
-        // Validar token
-        if (!jwtTokenProvider.validateToken(jwtToken)) {
-            log.warn("Token inválido ao tentar refresh");
-            throw new IllegalArgumentException("Token inválido");
-        }
-
-        // Extrair username do token
-        String username = jwtTokenProvider.getUsernameFromToken(jwtToken);
+        RefreshTokenRegistro registro = refreshTokenService.consumir(refreshToken);
 
-        // Buscar usuário
-        Usuario usuario = usuarioRepository.findByEmailAndActive(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+        // Desativações/troca de conta invalidam a família
+        UsuarioStatus usuario = usuarioStatusCache.buscarAtivo(registro.getEmail())
+                .filter(status -> status.getIdUsuario().equals(registro.getIdUsuario()))
+                .orElseThrow(() -> {
+                    refreshTokenService.revogar(refreshToken);
+                    return new BadCredentialsException("Usuário inativo ou inexistente");
+                });
 
-        // Criar nova autenticação
-        Authentication authentication = new UsernamePasswordAuthenticationToken(
-                username, null, usuario.getAuthorities()
-        );
+        String novoToken = jwtTokenProvider.generateToken(usuario);
+        String novoRefreshToken = refreshTokenService.emitir(
+                registro.getFamilia(), usuario.getIdUsuario(), usuario.getEmail());
 
-        // Gerar novo token
-        String novoToken = jwtTokenProvider.generateToken(authentication);
-
-        log.info("Token refreshado com sucesso para usuário: {}", username);
+        log.info("Token refreshado com sucesso para usuário: {}", usuario.getEmail());
 
         return AuthResponseDTO.builder()
                 .token(novoToken)
                 .tokenType("Bearer")
                 .expiresIn(86400L)
+                .refreshToken(novoRefreshToken)
+                .refreshExpiresIn(refreshTokenService.getExpiracaoSegundos())
                 .usuario(usuario.getNome())
                 .email(usuario.getEmail())
                 .mensagem("Token renovado com sucesso")
                 .build();
     }
 
+    /**
+     * Encerra a sessão revogando a família do refresh token
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void logout(String refreshToken) {
+        refreshTokenService.revogar(refreshToken);
+        log.info("Refresh token revogado (logout)");
+    }
+
     /**
      * Valida força da senha
      *
@@ -226,13 +239,14 @@ public class AuthService {
     }
 
     /**
-     * Busca usuário autenticado
+     * Busca usuário autenticado (via cache de status, sem ir ao banco a cada chamada)
      *
      * @param email Email do usuário
-     * @return Usuario encontrado
+     * @return UsuarioStatus do usuário ativo
      */
-    public Usuario buscarUsuarioAutenticado(String email) {
-        return usuarioRepository.findByEmailAndActive(email)
+    @Transactional(readOnly = true)
+    public UsuarioStatus buscarUsuarioAutenticado(String email) {
+        return usuarioStatusCache.buscarAtivo(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
     }
 
@@ -240,6 +254,6 @@ public class AuthService {
      * Verifica se email está registrado
      */
     public boolean emailRegistrado(String email) {
-        return usuarioRepository.existsByEmail(email);
+        return filtroUnicidade.existe(ChaveUnica.EMAIL, email, () -> usuarioRepository.existsByEmail(email));
     }
 }
@@ -0,0 +1,78 @@
+package com.wellmind.service;
+
+import com.wellmind.dto.busca.SugestaoBuscaDTO;
+import com.wellmind.repository.EmpresaRepository;
+import com.wellmind.repository.ProfissionalSaudeRepository;
+import com.wellmind.repository.UsuarioRepository;
+import com.wellmind.search.NomeBuscaIndex;
+import com.wellmind.search.TipoBusca;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service do autocomplete de nomes (usuários, empresas e profissionais)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BuscaService {
+
+    private static final int LIMITE_MAXIMO = 50;
+
+    private final NomeBuscaIndex nomeBuscaIndex;
+    private final UsuarioRepository usuarioRepository;
+    private final EmpresaRepository empresaRepository;
+    private final ProfissionalSaudeRepository profissionalRepository;
+
+    /**
+     * Sugestões para o termo digitado, em ordem de relevância
+     *
+     * Servido pelo índice em memória; enquanto ele não estiver pronto, consulta o banco.
+     *
+     * @param tipo nulo para buscar em todos os tipos
+     */
+    public List<SugestaoBuscaDTO> autocompletar(String termo, TipoBusca tipo, int limite) {
+        if (termo == null || termo.isBlank()) {
+            throw new IllegalArgumentException("Termo de busca é obrigatório");
+        }
+        int quantidade = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+
+        List<TipoBusca> tipos = tipo != null ? List.of(tipo) : List.of(TipoBusca.values());
+        List<SugestaoBuscaDTO> sugestoes = new ArrayList<>();
+        for (TipoBusca atual : tipos) {
+            sugestoes.addAll(sugerir(atual, termo, quantidade));
+        }
+        return sugestoes.size() > quantidade ? sugestoes.subList(0, quantidade) : sugestoes;
+    }
+
+    private List<SugestaoBuscaDTO> sugerir(TipoBusca tipo, String termo, int limite) {
+        return nomeBuscaIndex.sugerir(tipo, termo, limite)
+                .map(resultado -> resultado.stream()
+                        .map(c -> new SugestaoBuscaDTO(tipo.name(), c.getId(), c.getNome()))
+                        .toList())
+                .orElseGet(() -> sugerirNoBanco(tipo, termo, limite));
+    }
+
+    private List<SugestaoBuscaDTO> sugerirNoBanco(TipoBusca tipo, String termo, int limite) {
+        log.debug("Índice de busca não está pronto; autocomplete de {} pelo banco", tipo);
+        PageRequest pagina = PageRequest.of(0, limite);
+        return switch (tipo) {
+            case USUARIO -> usuarioRepository.findByNomeContaining(termo, pagina).stream()
+                    .map(u -> new SugestaoBuscaDTO(tipo.name(), u.getIdUsuario(), u.getNome()))
+                    .toList();
+            case EMPRESA -> empresaRepository.findByNomeContaining(termo, pagina).stream()
+                    .map(e -> new SugestaoBuscaDTO(tipo.name(), e.getIdEmpresa(), e.getNomeEmpresa()))
+                    .toList();
+            case PROFISSIONAL -> profissionalRepository.findByNomeContaining(termo, pagina).stream()
+                    .map(p -> new SugestaoBuscaDTO(tipo.name(), p.getIdProfissional(), p.getNome()))
+                    .toList();
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.wellmind.service;
 
+import com.wellmind.cache.ChaveUnica;
+import com.wellmind.cache.FiltroUnicidade;
 import com.wellmind.dto.categoriarecomendacao.*;
 import com.wellmind.entity.CategoriaRecomendacao;
 import com.wellmind.exception.ResourceNotFoundException;
@@ -26,11 +28,12 @@ public class CategoriaRecomendacaoService {
 
     private final CategoriaRecomendacaoRepository categoriaRepository;
     private final CategoriaRecomendacaoMapper categoriaMapper;
+    private final FiltroUnicidade filtroUnicidade;
 
     /**
      * Lista todas as categorias ativas (com cache)
      */
-    @Cacheable(value = "categorias")
+    @Cacheable(value = "categorias", sync = true)
     public List<CategoriaRecomendacaoDTO> listarAtivas() {
         log.info("Listando categorias ativas");
 
@@ -43,7 +46,7 @@ public class CategoriaRecomendacaoService {
     /**
      * Busca categoria por ID
      */
-    @Cacheable(value = "categorias", key = "#id")
+    @Cacheable(value = "categorias", key = "#id", sync = true)
     public CategoriaRecomendacaoDTO buscarPorId(Long id) {
         log.info("Buscando categoria com ID: {}", id);
 
@@ -73,7 +76,8 @@ public class CategoriaRecomendacaoService {
         log.info("Criando nova categoria: {}", dto.getNomeCategoria());
 
         // Verificar duplicação
-        if (categoriaRepository.existsByNomeCategoria(dto.getNomeCategoria())) {
+        if (filtroUnicidade.existe(ChaveUnica.NOME_CATEGORIA, dto.getNomeCategoria(),
+                () -> categoriaRepository.existsByNomeCategoria(dto.getNomeCategoria()))) {
             throw new ResourceAlreadyExistsException(
                     "Categoria com este nome já existe"
             );
@@ -84,6 +88,7 @@ public class CategoriaRecomendacaoService {
 
         CategoriaRecomendacao categoriaSalva = categoriaRepository.save(categoria);
         log.info("Categoria criada com sucesso - ID: {}", categoriaSalva.getIdCategoria());
+        filtroUnicidade.registrar(ChaveUnica.NOME_CATEGORIA, categoriaSalva.getNomeCategoria());
 
         return categoriaMapper.toDTO(categoriaSalva);
     }
@@ -104,6 +109,7 @@ public class CategoriaRecomendacaoService {
         categoria.setOrdemExibicao(dto.getOrdemExibicao());
 
         CategoriaRecomendacao categoriaAtualizada = categoriaRepository.save(categoria);
+        filtroUnicidade.registrar(ChaveUnica.NOME_CATEGORIA, categoriaAtualizada.getNomeCategoria());
         log.info("Categoria atualizada com sucesso");
 
         return categoriaMapper.toDTO(categoriaAtualizada);
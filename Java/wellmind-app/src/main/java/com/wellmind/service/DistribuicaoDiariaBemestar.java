@@ -0,0 +1,228 @@
+package com.wellmind.service;
+
+import com.wellmind.dto.registrobemestar.RegistroBemestarExportDTO;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Distribuição dos check-ins de uma empresa em um dia
+ *
+ * Os níveis (1-10) são inteiros e as horas de sono são agrupadas em faixas de
+ * 15 minutos, então histogramas por valor representam a distribuição de forma
+ * exata: somar histogramas de vários dias dá os mesmos percentis de uma
+ * varredura completa. Os participantes do dia ficam em um HyperLogLog de
+ * tamanho fixo, que permite a união entre dias com contagem aproximada.
+ */
+public class DistribuicaoDiariaBemestar {
+
+    private static final int VERSAO_FORMATO = 2;
+    private static final int NIVEIS = 11;              // índices 1-10
+    private static final int FAIXAS_SONO_POR_HORA = 4; // faixas de 15 minutos
+    private static final int FAIXAS_SONO = 24 * FAIXAS_SONO_POR_HORA + 1;
+
+    private final int[] humor = new int[NIVEIS];
+    private final int[] estresse = new int[NIVEIS];
+    private final int[] energia = new int[NIVEIS];
+    private final int[] qualidadeSono = new int[NIVEIS];
+    private final int[] horasSono = new int[FAIXAS_SONO];
+    private long totalRegistros;
+    private long totalComAlerta;
+    private HyperLogLog participantes = new HyperLogLog();
+
+    /**
+     * Monta a distribuição de um dia registro a registro
+     */
+    public static class Acumulador {
+
+        private final DistribuicaoDiariaBemestar distribuicao = new DistribuicaoDiariaBemestar();
+
+        public void acumular(RegistroBemestarExportDTO registro) {
+            DistribuicaoDiariaBemestar d = distribuicao;
+            d.totalRegistros++;
+            incrementar(d.humor, registro.getNivelHumor());
+            incrementar(d.estresse, registro.getNivelEstresse());
+            incrementar(d.energia, registro.getNivelEnergia());
+            incrementar(d.qualidadeSono, registro.getQualidadeSono());
+            if (registro.getHorasSono() != null) {
+                incrementar(d.horasSono, (int) Math.round(registro.getHorasSono() * FAIXAS_SONO_POR_HORA));
+            }
+            if (registro.getAlertFlags() != null && registro.getAlertFlags() != 0) {
+                d.totalComAlerta++;
+            }
+            d.participantes.adicionar(registro.getIdUsuario());
+        }
+
+        public DistribuicaoDiariaBemestar concluir() {
+            return distribuicao;
+        }
+
+        private static void incrementar(int[] histograma, Integer valor) {
+            if (valor != null && valor >= 0 && valor < histograma.length) {
+                histograma[valor]++;
+            }
+        }
+    }
+
+    /**
+     * Soma outra distribuição a esta (participantes são unidos)
+     */
+    public void somar(DistribuicaoDiariaBemestar outra) {
+        somar(humor, outra.humor);
+        somar(estresse, outra.estresse);
+        somar(energia, outra.energia);
+        somar(qualidadeSono, outra.qualidadeSono);
+        somar(horasSono, outra.horasSono);
+        totalRegistros += outra.totalRegistros;
+        totalComAlerta += outra.totalComAlerta;
+        participantes.unir(outra.participantes);
+    }
+
+    public long getTotalRegistros() {
+        return totalRegistros;
+    }
+
+    public long getTotalComAlerta() {
+        return totalComAlerta;
+    }
+
+    /**
+     * Participantes distintos (estimativa, erro padrão de ~2%)
+     */
+    public long getParticipantes() {
+        return participantes.estimar();
+    }
+
+    public double[] percentisHumor(double... p) {
+        return percentis(humor, 1, p);
+    }
+
+    public double[] percentisEstresse(double... p) {
+        return percentis(estresse, 1, p);
+    }
+
+    public double[] percentisEnergia(double... p) {
+        return percentis(energia, 1, p);
+    }
+
+    public double[] percentisQualidadeSono(double... p) {
+        return percentis(qualidadeSono, 1, p);
+    }
+
+    public double[] percentisHorasSono(double... p) {
+        return percentis(horasSono, FAIXAS_SONO_POR_HORA, p);
+    }
+
+    public Double mediaHumor() {
+        return media(humor, 1);
+    }
+
+    public Double mediaEstresse() {
+        return media(estresse, 1);
+    }
+
+    public Double mediaEnergia() {
+        return media(energia, 1);
+    }
+
+    public Double mediaQualidadeSono() {
+        return media(qualidadeSono, 1);
+    }
+
+    public Double mediaHorasSono() {
+        return media(horasSono, FAIXAS_SONO_POR_HORA);
+    }
+
+    // Serialização compacta (valor do cache "estatisticas-diarias")
+
+    public String serializar() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024 + HyperLogLog.REGISTRADORES);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(VERSAO_FORMATO);
+            out.writeLong(totalRegistros);
+            out.writeLong(totalComAlerta);
+            for (int[] histograma : histogramas()) {
+                for (int contagem : histograma) {
+                    out.writeInt(contagem);
+                }
+            }
+            out.write(participantes.registradores());
+            return Base64.getEncoder().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return distribuição, ou null se o valor estiver em formato desconhecido
+     */
+    public static DistribuicaoDiariaBemestar desserializar(String valor) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(valor)));
+            if (in.readByte() != VERSAO_FORMATO) {
+                return null;
+            }
+            DistribuicaoDiariaBemestar d = new DistribuicaoDiariaBemestar();
+            d.totalRegistros = in.readLong();
+            d.totalComAlerta = in.readLong();
+            for (int[] histograma : d.histogramas()) {
+                for (int i = 0; i < histograma.length; i++) {
+                    histograma[i] = in.readInt();
+                }
+            }
+            byte[] registradores = new byte[HyperLogLog.REGISTRADORES];
+            in.readFully(registradores);
+            d.participantes = HyperLogLog.de(registradores);
+            return d;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private int[][] histogramas() {
+        return new int[][]{humor, estresse, energia, qualidadeSono, horasSono};
+    }
+
+    private static void somar(int[] destino, int[] origem) {
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] += origem[i];
+        }
+    }
+
+    /**
+     * Percentis pelo método nearest-rank
+     */
+    private static double[] percentis(int[] histograma, int escala, double[] p) {
+        long total = Arrays.stream(histograma).asLongStream().sum();
+        double[] resultado = new double[p.length];
+        if (total == 0) {
+            Arrays.fill(resultado, Double.NaN);
+            return resultado;
+        }
+
+        for (int k = 0; k < p.length; k++) {
+            long posicao = Math.max(1, (long) Math.ceil(p[k] * total));
+            long acumulado = 0;
+            for (int i = 0; i < histograma.length; i++) {
+                acumulado += histograma[i];
+                if (acumulado >= posicao) {
+                    resultado[k] = (double) i / escala;
+                    break;
+                }
+            }
+        }
+        return resultado;
+    }
+
+    private static Double media(int[] histograma, int escala) {
+        long total = 0;
+        double soma = 0;
+        for (int i = 0; i < histograma.length; i++) {
+            total += histograma[i];
+            soma += (double) i * histograma[i];
+        }
+        return total == 0 ? null : soma / total / escala;
+    }
+}
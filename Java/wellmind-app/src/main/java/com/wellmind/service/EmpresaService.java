@@ -1,17 +1,23 @@
 package com.wellmind.service;
 
+import com.wellmind.cache.ChaveUnica;
+import com.wellmind.cache.FiltroUnicidade;
 import com.wellmind.dto.empresa.*;
 import com.wellmind.entity.Empresa;
 import com.wellmind.exception.ResourceNotFoundException;
 import com.wellmind.exception.ResourceAlreadyExistsException;
 import com.wellmind.mapper.EmpresaMapper;
 import com.wellmind.repository.EmpresaRepository;
+import com.wellmind.search.NomeBuscaIndex;
+import com.wellmind.search.TipoBusca;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,11 +32,13 @@ public class EmpresaService {
 
     private final EmpresaRepository empresaRepository;
     private final EmpresaMapper empresaMapper;
+    private final NomeBuscaIndex nomeBuscaIndex;
+    private final FiltroUnicidade filtroUnicidade;
 
     /**
      * Busca todas as empresas ativas (com cache)
      */
-    @Cacheable(value = "empresas", key = "#pageable.pageNumber")
+    @Cacheable(value = "empresas", key = "T(com.wellmind.cache.CacheKeys).pagina('lista', #pageable)", sync = true)
     public Page<EmpresaDTO> listarAtivas(Pageable pageable) {
         log.info("Listando empresas ativas - página {}", pageable.getPageNumber());
 
@@ -41,7 +49,7 @@ public class EmpresaService {
     /**
      * Busca empresa por ID
      */
-    @Cacheable(value = "empresas", key = "#id")
+    @Cacheable(value = "empresas", key = "T(com.wellmind.cache.CacheKeys).entidade('empresa:' + #id)", sync = true)
     public EmpresaDTO buscarPorId(Long id) {
         log.info("Buscando empresa com ID: {}", id);
 
@@ -71,21 +79,24 @@ public class EmpresaService {
     public Page<EmpresaDTO> buscarPorNome(String nome, Pageable pageable) {
         log.info("Buscando empresas com nome contendo: {}", nome);
 
-        return empresaRepository.findByNomeContaining(nome, pageable)
-                .map(empresaMapper::toDTO);
+        return nomeBuscaIndex.buscarIds(TipoBusca.EMPRESA, nome)
+                .map(ids -> NomeBuscaIndex.paginar(ids, pageable, empresaRepository::findLinhasByIds,
+                        EmpresaLinhaDTO::getIdEmpresa, empresaMapper::toDTO))
+                .orElseGet(() -> empresaRepository.findByNomeContaining(nome, pageable)
+                        .map(empresaMapper::toDTO));
     }
 
     /**
      * Cria nova empresa
      */
-    @CacheEvict(value = "empresas", allEntries = true)
+    @CacheEvict(value = "empresas", key = "T(com.wellmind.cache.CacheKeys).tag('lista')")
     public EmpresaDTO criar(CreateEmpresaDTO dto) {
         log.info("Criando nova empresa com CNPJ: {}", dto.getCnpj());
 
         String cnpjLimpo = dto.getCnpj().replaceAll("[^0-9]", "");
 
         // Validar se CNPJ já existe
-        if (empresaRepository.existsByCnpj(cnpjLimpo)) {
+        if (filtroUnicidade.existe(ChaveUnica.CNPJ, cnpjLimpo, () -> empresaRepository.existsByCnpj(cnpjLimpo))) {
             throw new ResourceAlreadyExistsException(
                     "CNPJ já registrado: " + dto.getCnpj()
             );
@@ -102,6 +113,8 @@ public class EmpresaService {
 
         Empresa empresaSalva = empresaRepository.save(empresa);
         log.info("Empresa criada com sucesso - ID: {}", empresaSalva.getIdEmpresa());
+        nomeBuscaIndex.atualizar(TipoBusca.EMPRESA, empresaSalva.getIdEmpresa());
+        filtroUnicidade.registrar(ChaveUnica.CNPJ, empresaSalva.getCnpj());
 
         return empresaMapper.toDTO(empresaSalva);
     }
@@ -109,7 +122,10 @@ public class EmpresaService {
     /**
      * Atualiza uma empresa
      */
-    @CacheEvict(value = "empresas", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = "empresas", key = "T(com.wellmind.cache.CacheKeys).tag('empresa:' + #id)"),
+            @CacheEvict(value = "empresas", key = "T(com.wellmind.cache.CacheKeys).tag('lista')")
+    })
     public EmpresaDTO atualizar(Long id, UpdateEmpresaDTO dto) {
         log.info("Atualizando empresa com ID: {}", id);
 
@@ -118,6 +134,7 @@ public class EmpresaService {
 
         if (dto.getNomeEmpresa() != null) {
             empresa.setNomeEmpresa(dto.getNomeEmpresa());
+            nomeBuscaIndex.atualizar(TipoBusca.EMPRESA, id);
         }
 
         if (dto.getEndereco() != null) {
@@ -132,6 +149,10 @@ public class EmpresaService {
             empresa.setEmailContato(dto.getEmailContato());
         }
 
+        if (dto.getDiasInatividadeAlerta() != null) {
+            empresa.setDiasInatividadeAlerta(dto.getDiasInatividadeAlerta());
+        }
+
         Empresa empresaAtualizada = empresaRepository.save(empresa);
         log.info("Empresa atualizada com sucesso - ID: {}", id);
 
@@ -141,7 +162,10 @@ public class EmpresaService {
     /**
      * Desativa uma empresa
      */
-    @CacheEvict(value = "empresas", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = "empresas", key = "T(com.wellmind.cache.CacheKeys).tag('empresa:' + #id)"),
+            @CacheEvict(value = "empresas", key = "T(com.wellmind.cache.CacheKeys).tag('lista')")
+    })
     public void desativar(Long id) {
         log.info("Desativando empresa com ID: {}", id);
 
@@ -150,6 +174,7 @@ public class EmpresaService {
 
         empresa.desativar();
         empresaRepository.save(empresa);
+        nomeBuscaIndex.atualizar(TipoBusca.EMPRESA, id);
 
         log.info("Empresa desativada com sucesso - ID: {}", id);
     }
@@ -164,6 +189,23 @@ public class EmpresaService {
                 .map(empresaMapper::toDTO);
     }
 
+    /**
+     * Corrige divergências do contador de colaboradores ativos
+     * (ex.: vínculos alterados direto no banco)
+     */
+    @Scheduled(cron = "${app.empresas.reconciliacao-colaboradores.cron:0 30 3 * * *}")
+    @CacheEvict(value = "empresas", allEntries = true)
+    public int reconciliarTotalColaboradores() {
+        int corrigidas = empresaRepository.reconciliarTotalColaboradoresAtivos();
+
+        if (corrigidas > 0) {
+            log.warn("Contador de colaboradores ativos corrigido em {} empresa(s)", corrigidas);
+        } else {
+            log.info("Contador de colaboradores ativos sem divergências");
+        }
+        return corrigidas;
+    }
+
     /**
      * Conta empresas ativas
      */
@@ -0,0 +1,197 @@
+package com.wellmind.service;
+
+import com.wellmind.dto.registrobemestar.EstatisticasBemestarDTO;
+import com.wellmind.dto.registrobemestar.PercentisDTO;
+import com.wellmind.dto.registrobemestar.RegistroBemestarExportDTO;
+import com.wellmind.entity.RegistroBemestar;
+import com.wellmind.exception.ResourceNotFoundException;
+import com.wellmind.repository.EmpresaRepository;
+import com.wellmind.repository.RegistroBemestarRepository;
+import com.wellmind.repository.UsuarioEmpresaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service para estatísticas de bem-estar por empresa
+ *
+ * - Cada dia da janela é resumido em uma DistribuicaoDiariaBemestar
+ * - Dias anteriores a hoje ficam no cache "estatisticas-diarias"; registros
+ *   gravados depois da virada do dia (ingestão assíncrona, lotes atrasados)
+ *   descartam o dia em cache via invalidarDiasAnteriores()
+ * - Dias ausentes do cache (e o dia atual) são calculados em uma única
+ *   varredura em streaming de REGISTRO_BEMESTAR
+ * - A janela é obtida somando as distribuições diárias; participantes
+ *   distintos são estimados (HyperLogLog)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class EstatisticasBemestarService {
+
+    public static final String CACHE_DIARIO = "estatisticas-diarias";
+
+    private static final double[] PERCENTIS = {0.10, 0.50, 0.90};
+
+    private final RegistroBemestarRepository registroBemestarRepository;
+    private final EmpresaRepository empresaRepository;
+    private final UsuarioEmpresaRepository usuarioEmpresaRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Calcula as estatísticas dos últimos N dias (inclui o dia atual)
+     */
+    public EstatisticasBemestarDTO calcular(Long empresaId, int dias) {
+        log.info("Calculando estatísticas de bem-estar da empresa {} - últimos {} dias", empresaId, dias);
+
+        if (dias < 1 || dias > 366) {
+            throw new IllegalArgumentException("Quantidade de dias deve estar entre 1 e 366");
+        }
+        if (!empresaRepository.existsById(empresaId)) {
+            throw new ResourceNotFoundException("Empresa não encontrada");
+        }
+
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicio = hoje.minusDays(dias - 1L);
+        Cache cache = cacheManager.getCache(CACHE_DIARIO);
+
+        Map<LocalDate, DistribuicaoDiariaBemestar> porDia = new HashMap<>();
+        List<LocalDate> ausentes = new ArrayList<>();
+
+        for (LocalDate dia = inicio; dia.isBefore(hoje); dia = dia.plusDays(1)) {
+            DistribuicaoDiariaBemestar emCache = lerCache(cache, empresaId, dia);
+            if (emCache != null) {
+                porDia.put(dia, emCache);
+            } else {
+                ausentes.add(dia);
+            }
+        }
+        ausentes.add(hoje);
+
+        Map<LocalDate, DistribuicaoDiariaBemestar> calculados = calcularDias(empresaId, ausentes);
+        calculados.forEach((dia, distribuicao) -> {
+            if (dia.isBefore(hoje) && cache != null) {
+                cache.put(chave(empresaId, dia), distribuicao.serializar());
+            }
+        });
+        porDia.putAll(calculados);
+
+        log.debug("Estatísticas da empresa {}: {} dias do cache, {} calculados",
+                empresaId, dias - calculados.size(), calculados.size());
+
+        DistribuicaoDiariaBemestar janela = new DistribuicaoDiariaBemestar();
+        porDia.values().forEach(janela::somar);
+
+        long colaboradoresAtivos = usuarioEmpresaRepository.countActiveByEmpresaId(empresaId);
+        long total = janela.getTotalRegistros();
+        long participantes = janela.getParticipantes();
+
+        return EstatisticasBemestarDTO.builder()
+                .empresaId(empresaId)
+                .inicio(inicio)
+                .fim(hoje)
+                .totalRegistros(total)
+                .humor(percentis(janela::percentisHumor, janela.mediaHumor()))
+                .estresse(percentis(janela::percentisEstresse, janela.mediaEstresse()))
+                .energia(percentis(janela::percentisEnergia, janela.mediaEnergia()))
+                .horasSono(percentis(janela::percentisHorasSono, janela.mediaHorasSono()))
+                .qualidadeSono(percentis(janela::percentisQualidadeSono, janela.mediaQualidadeSono()))
+                .percentualComAlerta(total == 0 ? null : 100.0 * janela.getTotalComAlerta() / total)
+                .participantes(participantes)
+                .colaboradoresAtivos(colaboradoresAtivos)
+                .taxaParticipacao(colaboradoresAtivos == 0 ? null
+                        : Math.min(100.0, 100.0 * participantes / colaboradoresAtivos))
+                .build();
+    }
+
+    /**
+     * Descarta do cache os dias já fechados que receberam registros, nas empresas
+     * dos usuários. A remoção acontece após o commit da transação atual.
+     */
+    public void invalidarDiasAnteriores(Collection<RegistroBemestar> registros) {
+        LocalDate hoje = LocalDate.now();
+        Map<Long, Set<LocalDate>> diasPorUsuario = new HashMap<>();
+        for (RegistroBemestar registro : registros) {
+            LocalDate dia = registro.getDataRegistro().toLocalDate();
+            if (dia.isBefore(hoje)) {
+                diasPorUsuario.computeIfAbsent(registro.getUsuario().getIdUsuario(), k -> new HashSet<>()).add(dia);
+            }
+        }
+
+        Cache cache = cacheManager.getCache(CACHE_DIARIO);
+        if (diasPorUsuario.isEmpty() || cache == null) return;
+
+        Set<String> chaves = new HashSet<>();
+        for (Object[] vinculo : usuarioEmpresaRepository.findEmpresaIdsByUsuarioIds(diasPorUsuario.keySet())) {
+            for (LocalDate dia : diasPorUsuario.get((Long) vinculo[0])) {
+                chaves.add(chave((Long) vinculo[1], dia));
+            }
+        }
+        log.debug("Registros em dias anteriores: descartando {} dias do cache de estatísticas", chaves.size());
+        chaves.forEach(cache::evict);
+    }
+
+    /**
+     * Calcula a distribuição dos dias informados em uma única varredura
+     * (do primeiro ao último dia; dias fora da lista são ignorados)
+     */
+    private Map<LocalDate, DistribuicaoDiariaBemestar> calcularDias(Long empresaId, List<LocalDate> dias) {
+        Map<LocalDate, DistribuicaoDiariaBemestar.Acumulador> acumuladores = new HashMap<>();
+        dias.forEach(dia -> acumuladores.put(dia, new DistribuicaoDiariaBemestar.Acumulador()));
+
+        LocalDate primeiro = Collections.min(dias);
+        LocalDate ultimo = Collections.max(dias);
+
+        try (Stream<RegistroBemestarExportDTO> registros = registroBemestarRepository.streamExportByEmpresa(
+                empresaId, primeiro.atStartOfDay(), ultimo.plusDays(1).atStartOfDay())) {
+            registros.forEach(registro -> {
+                DistribuicaoDiariaBemestar.Acumulador acumulador =
+                        acumuladores.get(registro.getDataRegistro().toLocalDate());
+                if (acumulador != null) {
+                    acumulador.acumular(registro);
+                }
+            });
+        }
+
+        Map<LocalDate, DistribuicaoDiariaBemestar> resultado = new HashMap<>();
+        acumuladores.forEach((dia, acumulador) -> resultado.put(dia, acumulador.concluir()));
+        return resultado;
+    }
+
+    private DistribuicaoDiariaBemestar lerCache(Cache cache, Long empresaId, LocalDate dia) {
+        if (cache == null) return null;
+
+        Cache.ValueWrapper valor = cache.get(chave(empresaId, dia));
+        if (valor == null || !(valor.get() instanceof String serializado)) {
+            return null;
+        }
+        return DistribuicaoDiariaBemestar.desserializar(serializado);
+    }
+
+    private static String chave(Long empresaId, LocalDate dia) {
+        return empresaId + ":" + dia;
+    }
+
+    private static PercentisDTO percentis(Function<double[], double[]> calculo, Double media) {
+        double[] valores = calculo.apply(PERCENTIS);
+        return PercentisDTO.builder()
+                .p10(semValor(valores[0]))
+                .p50(semValor(valores[1]))
+                .p90(semValor(valores[2]))
+                .media(media)
+                .build();
+    }
+
+    private static Double semValor(double valor) {
+        return Double.isNaN(valor) ? null : valor;
+    }
+}
@@ -0,0 +1,85 @@
+package com.wellmind.service;
+
+/**
+ * Contagem aproximada de valores distintos (HyperLogLog)
+ *
+ * - 2^11 registradores de 1 byte (2 KB fixos), erro padrão de ~2,3%
+ * - Linear counting para cardinalidades pequenas: poucas dezenas de valores saem exatas
+ * - A união de dois conjuntos é o máximo de cada registrador
+ */
+final class HyperLogLog {
+
+    static final int PRECISAO = 11;
+    static final int REGISTRADORES = 1 << PRECISAO;
+
+    private final byte[] registradores;
+
+    HyperLogLog() {
+        this(new byte[REGISTRADORES]);
+    }
+
+    private HyperLogLog(byte[] registradores) {
+        this.registradores = registradores;
+    }
+
+    /**
+     * @param registradores valor de {@link #registradores()}
+     */
+    static HyperLogLog de(byte[] registradores) {
+        if (registradores.length != REGISTRADORES) {
+            throw new IllegalArgumentException("Quantidade de registradores inválida: " + registradores.length);
+        }
+        return new HyperLogLog(registradores);
+    }
+
+    void adicionar(long valor) {
+        long h = misturar(valor);
+        int indice = (int) (h >>> (64 - PRECISAO));
+        // Bit de guarda: a posição do primeiro 1 fica limitada a 64 - PRECISAO + 1
+        int posicao = Long.numberOfLeadingZeros((h << PRECISAO) | (1L << (PRECISAO - 1))) + 1;
+        if (posicao > registradores[indice]) {
+            registradores[indice] = (byte) posicao;
+        }
+    }
+
+    void unir(HyperLogLog outro) {
+        for (int i = 0; i < REGISTRADORES; i++) {
+            if (outro.registradores[i] > registradores[i]) {
+                registradores[i] = outro.registradores[i];
+            }
+        }
+    }
+
+    long estimar() {
+        double soma = 0;
+        int zerados = 0;
+        for (byte registrador : registradores) {
+            soma += Math.scalb(1.0, -registrador);
+            if (registrador == 0) {
+                zerados++;
+            }
+        }
+        double alfa = 0.7213 / (1 + 1.079 / REGISTRADORES);
+        double estimativa = alfa * REGISTRADORES * REGISTRADORES / soma;
+        if (estimativa <= 2.5 * REGISTRADORES && zerados > 0) {
+            estimativa = REGISTRADORES * Math.log((double) REGISTRADORES / zerados);
+        }
+        return Math.round(estimativa);
+    }
+
+    byte[] registradores() {
+        return registradores;
+    }
+
+    /**
+     * Finalizador do MurmurHash3: ids sequenciais se espalham por todos os bits
+     */
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53ec6d3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,18 +1,28 @@
 package com.wellmind.service;
 
+import com.wellmind.cache.ChaveUnica;
+import com.wellmind.cache.FiltroUnicidade;
 import com.wellmind.dto.profissionalsaude.*;
 import com.wellmind.entity.ProfissionalSaude;
 import com.wellmind.exception.ResourceNotFoundException;
 import com.wellmind.exception.ResourceAlreadyExistsException;
+import com.wellmind.exception.ServiceUnavailableException;
 import com.wellmind.mapper.ProfissionalSaudeMapper;
 import com.wellmind.repository.ProfissionalSaudeRepository;
+import com.wellmind.search.NomeBuscaIndex;
+import com.wellmind.search.OrdenacaoProfissional;
+import com.wellmind.search.ProfissionalBuscaIndex;
+import com.wellmind.search.ProfissionalFacetIndex;
+import com.wellmind.search.TipoBusca;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -28,11 +38,14 @@ public class ProfissionalSaudeService {
 
     private final ProfissionalSaudeRepository profissionalRepository;
     private final ProfissionalSaudeMapper profissionalMapper;
+    private final NomeBuscaIndex nomeBuscaIndex;
+    private final FiltroUnicidade filtroUnicidade;
+    private final ProfissionalBuscaIndex profissionalBuscaIndex;
 
     /**
      * Busca profissionais disponíveis (com cache)
      */
-    @Cacheable(value = "profissionais", key = "#pageable.pageNumber")
+    @Cacheable(value = "profissionais", key = "T(com.wellmind.cache.CacheKeys).pagina('lista', #pageable)", sync = true)
     public Page<ProfissionalSaudeDTO> listarDisponíveis(Pageable pageable) {
         log.info("Listando profissionais disponíveis");
 
@@ -43,7 +56,7 @@ public class ProfissionalSaudeService {
     /**
      * Busca profissional por ID
      */
-    @Cacheable(value = "profissionais", key = "#id")
+    @Cacheable(value = "profissionais", key = "T(com.wellmind.cache.CacheKeys).entidade('profissional:' + #id)", sync = true)
     public ProfissionalSaudeDTO buscarPorId(Long id) {
         log.info("Buscando profissional com ID: {}", id);
 
@@ -69,14 +82,39 @@ public class ProfissionalSaudeService {
     public Page<ProfissionalSaudeDTO> buscarPorNome(String nome, Pageable pageable) {
         log.info("Buscando profissionais com nome: {}", nome);
 
-        return profissionalRepository.findByNomeContaining(nome, pageable)
-                .map(profissionalMapper::toDTO);
+        return nomeBuscaIndex.buscarIds(TipoBusca.PROFISSIONAL, nome)
+                .map(ids -> NomeBuscaIndex.paginar(ids, pageable, profissionalRepository::findAllById,
+                        ProfissionalSaude::getIdProfissional, profissionalMapper::toDTO))
+                .orElseGet(() -> profissionalRepository.findByNomeContaining(nome, pageable)
+                        .map(profissionalMapper::toDTO));
+    }
+
+    /**
+     * Busca facetada: filtros combináveis, ordenação e contagens por faceta,
+     * servida pelo índice em memória (sem transação: não usa o banco)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BuscaProfissionalDTO buscar(FiltroProfissionalDTO filtro, OrdenacaoProfissional ordenacao, Pageable pageable) {
+        log.info("Busca facetada de profissionais: {}", filtro);
+
+        if (filtro.getPrecoMin() != null && filtro.getPrecoMax() != null && filtro.getPrecoMin() > filtro.getPrecoMax()) {
+            throw new IllegalArgumentException("Preço mínimo maior que o preço máximo");
+        }
+
+        ProfissionalFacetIndex.Resultado resultado = profissionalBuscaIndex
+                .buscar(filtro, ordenacao, pageable.getOffset(), pageable.getPageSize())
+                .orElseThrow(() -> new ServiceUnavailableException("Índice de busca de profissionais em carga", 5));
+
+        return BuscaProfissionalDTO.builder()
+                .profissionais(new PageImpl<>(resultado.getProfissionais(), pageable, resultado.getTotal()))
+                .facetas(resultado.getFacetas())
+                .build();
     }
 
     /**
      * Lista todas as especialidades
      */
-    @Cacheable(value = "especialidades")
+    @Cacheable(value = "especialidades", sync = true)
     public List<String> listarEspecialidades() {
         log.info("Listando especialidades disponíveis");
 
@@ -91,7 +129,8 @@ public class ProfissionalSaudeService {
         log.info("Criando novo profissional: {}", dto.getNome());
 
         // Validar duplicação de CRP/CRM
-        if (profissionalRepository.existsByCrpCrm(dto.getCrpCrm())) {
+        if (filtroUnicidade.existe(ChaveUnica.CRP_CRM, dto.getCrpCrm(),
+                () -> profissionalRepository.existsByCrpCrm(dto.getCrpCrm()))) {
             throw new ResourceAlreadyExistsException(
                     "Profissional com este registro já existe"
             );
@@ -103,6 +142,9 @@ public class ProfissionalSaudeService {
 
         ProfissionalSaude profissionalSalvo = profissionalRepository.save(profissional);
         log.info("Profissional criado com sucesso - ID: {}", profissionalSalvo.getIdProfissional());
+        nomeBuscaIndex.atualizar(TipoBusca.PROFISSIONAL, profissionalSalvo.getIdProfissional());
+        profissionalBuscaIndex.atualizar(profissionalSalvo.getIdProfissional());
+        filtroUnicidade.registrar(ChaveUnica.CRP_CRM, profissionalSalvo.getCrpCrm());
 
         return profissionalMapper.toDTO(profissionalSalvo);
     }
@@ -124,6 +166,7 @@ public class ProfissionalSaudeService {
         }
 
         ProfissionalSaude profissionalAtualizado = profissionalRepository.save(profissional);
+        profissionalBuscaIndex.atualizar(id);
         log.info("Disponibilidade atualizada com sucesso");
 
         return profissionalMapper.toDTO(profissionalAtualizado);
@@ -141,6 +184,8 @@ public class ProfissionalSaudeService {
 
         profissional.desativar();
         profissionalRepository.save(profissional);
+        nomeBuscaIndex.atualizar(TipoBusca.PROFISSIONAL, id);
+        profissionalBuscaIndex.atualizar(id);
 
         log.info("Profissional desativado com sucesso");
     }
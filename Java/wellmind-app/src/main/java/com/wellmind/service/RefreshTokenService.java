@@ -0,0 +1,121 @@
+package com.wellmind.service;
+
+import com.wellmind.security.RefreshTokenRegistro;
+import com.wellmind.security.RefreshTokenStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opacos com rotação e detecção de reuso por família
+ *
+ * - O token é aleatório (256 bits); o store guarda apenas o SHA-256
+ * - Cada uso rotaciona o token: o anterior fica marcado como usado
+ * - Reapresentar um token já usado revoga toda a família (indício de roubo)
+ * - Validade: app.jwt.refresh-expiration
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    /**
+     * Emite o primeiro refresh token de uma nova família (login/registro)
+     */
+    public String emitir(Long idUsuario, String email) {
+        return emitir(UUID.randomUUID().toString(), idUsuario, email);
+    }
+
+    /**
+     * Emite o próximo refresh token da família
+     */
+    public String emitir(String familia, Long idUsuario, String email) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = BASE64.encodeToString(bytes);
+
+        Duration ttl = Duration.ofMillis(refreshExpiration);
+        refreshTokenStore.salvar(hash(token),
+                new RefreshTokenRegistro(familia, idUsuario, email, Instant.now().plus(ttl)), ttl);
+        return token;
+    }
+
+    /**
+     * Valida e consome o refresh token (uso único)
+     *
+     * @throws BadCredentialsException se inválido, expirado, revogado ou reutilizado
+     */
+    public RefreshTokenRegistro consumir(String token) {
+        String hash = hash(token);
+
+        RefreshTokenRegistro registro = refreshTokenStore.buscar(hash)
+                .orElseThrow(() -> rejeitar("invalido", "Refresh token inválido ou expirado"));
+
+        if (refreshTokenStore.isFamiliaRevogada(registro.getFamilia())) {
+            throw rejeitar("revogado", "Refresh token revogado");
+        }
+
+        if (!refreshTokenStore.marcarUsado(hash, ttlRestante(registro))) {
+            refreshTokenStore.revogarFamilia(registro.getFamilia(), Duration.ofMillis(refreshExpiration));
+            log.warn("Reuso de refresh token detectado - usuário: {}, família revogada: {}",
+                    registro.getIdUsuario(), registro.getFamilia());
+            throw rejeitar("reutilizado", "Refresh token já utilizado");
+        }
+
+        meterRegistry.counter("wellmind.auth.refresh", "resultado", "rotacionado").increment();
+        return registro;
+    }
+
+    /**
+     * Revoga a família do token (logout)
+     */
+    public void revogar(String token) {
+        refreshTokenStore.buscar(hash(token))
+                .ifPresent(registro -> refreshTokenStore.revogarFamilia(
+                        registro.getFamilia(), Duration.ofMillis(refreshExpiration)));
+    }
+
+    public long getExpiracaoSegundos() {
+        return Duration.ofMillis(refreshExpiration).toSeconds();
+    }
+
+    private BadCredentialsException rejeitar(String resultado, String mensagem) {
+        meterRegistry.counter("wellmind.auth.refresh", "resultado", resultado).increment();
+        return new BadCredentialsException(mensagem);
+    }
+
+    private static Duration ttlRestante(RefreshTokenRegistro registro) {
+        Duration restante = Duration.between(Instant.now(), registro.getExpiraEm());
+        return restante.isNegative() || restante.isZero() ? Duration.ofSeconds(1) : restante;
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return BASE64.encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.wellmind.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wellmind.dto.registrobemestar.RegistroBemestarExportDTO;
+import com.wellmind.exception.ResourceNotFoundException;
+import com.wellmind.repository.EmpresaRepository;
+import com.wellmind.repository.RegistroBemestarRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Service para exportação de registros de bem-estar de uma empresa
+ *
+ * Os registros são lidos em streaming (cursor com fetch size ajustado) e
+ * escritos direto na saída, linha a linha, em NDJSON ou CSV. O uso de
+ * memória não depende da quantidade de registros exportados.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class RegistroBemestarExportService {
+
+    public static final Set<String> FORMATOS = Set.of("ndjson", "csv");
+
+    private static final String CABECALHO_CSV = "idRegistro,idUsuario,nomeUsuario,dataRegistro,nivelHumor," +
+            "nivelEstresse,nivelEnergia,horasSono,qualidadeSono,alertFlags";
+
+    private final RegistroBemestarRepository registroBemestarRepository;
+    private final EmpresaRepository empresaRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Valida os parâmetros antes de iniciar a resposta
+     * (depois do primeiro byte não é mais possível responder com erro)
+     */
+    public void validar(Long empresaId, LocalDate inicio, LocalDate fim, String formato) {
+        if (!FORMATOS.contains(formato)) {
+            throw new IllegalArgumentException("Formato inválido: use ndjson ou csv");
+        }
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("Data final anterior à data inicial");
+        }
+        if (!empresaRepository.existsById(empresaId)) {
+            throw new ResourceNotFoundException("Empresa não encontrada");
+        }
+    }
+
+    /**
+     * Exporta os registros da empresa no período [inicio, fim] (datas inclusivas)
+     *
+     * @return quantidade de registros exportados
+     */
+    public long exportar(Long empresaId, LocalDate inicio, LocalDate fim, String formato,
+                         OutputStream saida) throws IOException {
+        log.info("Exportando registros de bem-estar da empresa {} ({} a {}) em {}", empresaId, inicio, fim, formato);
+
+        long total;
+        try (Stream<RegistroBemestarExportDTO> registros = registroBemestarRepository.streamExportByEmpresa(
+                empresaId, inicio.atStartOfDay(), fim.plusDays(1).atStartOfDay())) {
+
+            total = "csv".equals(formato)
+                    ? escreverCsv(registros.iterator(), saida)
+                    : escreverNdjson(registros.iterator(), saida);
+        }
+
+        log.info("Exportação concluída - empresa {}: {} registros", empresaId, total);
+        return total;
+    }
+
+    private long escreverNdjson(Iterator<RegistroBemestarExportDTO> registros, OutputStream saida) throws IOException {
+        long total = 0;
+
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .withRootValueSeparator("\n")
+                .writeValues(naoFechar(saida))) {
+            while (registros.hasNext()) {
+                writer.write(registros.next());
+                total++;
+            }
+        }
+
+        return total;
+    }
+
+    private long escreverCsv(Iterator<RegistroBemestarExportDTO> registros, OutputStream saida) throws IOException {
+        long total = 0;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(naoFechar(saida), StandardCharsets.UTF_8));
+        writer.write(CABECALHO_CSV);
+        writer.write('\n');
+
+        while (registros.hasNext()) {
+            RegistroBemestarExportDTO r = registros.next();
+            writer.write(String.valueOf(r.getIdRegistro()));
+            writer.write(',');
+            writer.write(String.valueOf(r.getIdUsuario()));
+            writer.write(',');
+            writer.write(campoCsv(r.getNomeUsuario()));
+            writer.write(',');
+            writer.write(valorCsv(r.getDataRegistro()));
+            writer.write(',');
+            writer.write(valorCsv(r.getNivelHumor()));
+            writer.write(',');
+            writer.write(valorCsv(r.getNivelEstresse()));
+            writer.write(',');
+            writer.write(valorCsv(r.getNivelEnergia()));
+            writer.write(',');
+            writer.write(valorCsv(r.getHorasSono()));
+            writer.write(',');
+            writer.write(valorCsv(r.getQualidadeSono()));
+            writer.write(',');
+            writer.write(valorCsv(r.getAlertFlags()));
+            writer.write('\n');
+            total++;
+        }
+
+        writer.flush();
+        return total;
+    }
+
+    private static String valorCsv(Object valor) {
+        return valor == null ? "" : valor.toString();
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor == null) return "";
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * A saída pertence ao chamador (pode estar envolvida por GZIP)
+     */
+    private static OutputStream naoFechar(OutputStream saida) {
+        return new FilterOutputStream(saida) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
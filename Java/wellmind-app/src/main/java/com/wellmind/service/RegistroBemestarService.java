@@ -1,26 +1,40 @@
 package com.wellmind.service;
 
+import com.wellmind.cache.CacheTagEvictor;
 import com.wellmind.dto.registrobemestar.*;
+import com.wellmind.entity.Alerta;
 import com.wellmind.entity.Usuario;
 import com.wellmind.entity.RegistroBemestar;
+import com.wellmind.entity.ResumoDiarioBemestar;
 import com.wellmind.exception.ResourceNotFoundException;
 import com.wellmind.mapper.RegistroBemestarMapper;
-import com.wellmind.messaging.NotificationProducer;
+import com.wellmind.repository.AlertaRepository;
 import com.wellmind.repository.UsuarioRepository;
 import com.wellmind.repository.RegistroBemestarRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service para gerenciar Registros de Bem-estar
@@ -34,12 +48,26 @@ public class RegistroBemestarService {
     private final RegistroBemestarRepository registroBemestarRepository;
     private final UsuarioRepository usuarioRepository;
     private final RegistroBemestarMapper registroBemestarMapper;
-    private final NotificationProducer notificationProducer;
+    private final AlertaRepository alertaRepository;
+    private final ResumoDiarioBemestarService resumoDiarioService;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final CacheTagEvictor cacheTagEvictor;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.wellness.batch.max-itens:5000}")
+    private int maxItensLote;
+
+    @Value("${app.wellness.batch.itens-por-transacao:500}")
+    private int itensPorTransacao;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:20}")
+    private int tamanhoLoteJdbc;
 
     /**
      * Busca registros de bem-estar de um usuário
      */
-    @Cacheable(value = "registros-bemestar", key = "#usuarioId + '_' + #pageable.pageNumber")
+    @Cacheable(value = "registros-bemestar", key = "T(com.wellmind.cache.CacheKeys).pagina('usuario:' + #usuarioId, #pageable)")
     public Page<RegistroBemestarDTO> buscarPorUsuario(Long usuarioId, Pageable pageable) {
         log.info("Buscando registros de bem-estar do usuário: {}", usuarioId);
 
@@ -50,6 +78,77 @@ public class RegistroBemestarService {
                 .map(registroBemestarMapper::toDTO);
     }
 
+    /**
+     * Busca histórico de bem-estar de um usuário paginado por cursor
+     *
+     * Cada página busca (size + 1) registros a partir do cursor, sem COUNT,
+     * então o custo não depende da profundidade da página.
+     *
+     * @param cursor valor de proximoCursor da página anterior; nulo na primeira página
+     */
+    public HistoricoRegistroBemestarDTO buscarHistorico(Long usuarioId, String cursor, int size) {
+        log.info("Buscando histórico de bem-estar do usuário: {}", usuarioId);
+
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e 100");
+        }
+
+        Pageable limite = PageRequest.of(0, size + 1);
+        List<RegistroBemestarLinhaDTO> registros;
+
+        if (cursor == null || cursor.isBlank()) {
+            usuarioRepository.findById(usuarioId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+
+            registros = registroBemestarRepository.findHistorico(usuarioId, limite);
+        } else {
+            LocalDateTime dataCursor;
+            Long idCursor;
+            try {
+                String[] posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|");
+                dataCursor = LocalDateTime.parse(posicao[0]);
+                idCursor = Long.valueOf(posicao[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+
+            registros = registroBemestarRepository.findHistoricoAntesDe(usuarioId, dataCursor, idCursor, limite);
+        }
+
+        boolean temMais = registros.size() > size;
+        if (temMais) {
+            registros = registros.subList(0, size);
+        }
+
+        String proximoCursor = temMais ? codificarCursor(registros.get(registros.size() - 1)) : null;
+
+        return HistoricoRegistroBemestarDTO.builder()
+                .registros(registros.stream().map(registroBemestarMapper::toDTO).toList())
+                .proximoCursor(proximoCursor)
+                .temMais(temMais)
+                .build();
+    }
+
+    /**
+     * Mantém USUARIO.ULTIMO_REGISTRO: um UPDATE por usuário com a data mais recente do lote
+     */
+    private void atualizarUltimoRegistro(List<RegistroBemestar> registros) {
+        registros.stream()
+                .collect(Collectors.toMap(r -> r.getUsuario().getIdUsuario(),
+                        r -> r.getDataRegistro() != null ? r.getDataRegistro() : LocalDateTime.now(),
+                        (a, b) -> a.isAfter(b) ? a : b))
+                .forEach(usuarioRepository::atualizarUltimoRegistro);
+    }
+
+    /**
+     * Cursor opaco: base64url de "dataRegistro|idRegistro"
+     */
+    private String codificarCursor(RegistroBemestarLinhaDTO registro) {
+        String posicao = registro.getDataRegistro() + "|" + registro.getIdRegistro();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Busca último registro de um usuário
      */
@@ -94,7 +193,7 @@ public class RegistroBemestarService {
     /**
      * Cria novo registro de bem-estar
      */
-    @CacheEvict(value = "registros-bemestar", allEntries = true)
+    @CacheEvict(value = "registros-bemestar", key = "T(com.wellmind.cache.CacheKeys).tag('usuario:' + #dto.idUsuario)")
     public RegistroBemestarDTO criar(CreateRegistroBemestarDTO dto) {
         log.info("Criando novo registro de bem-estar para usuário: {}", dto.getIdUsuario());
 
@@ -109,6 +208,9 @@ public class RegistroBemestarService {
         RegistroBemestar registroSalvo = registroBemestarRepository.save(registro);
         log.info("Registro de bem-estar criado - ID: {}", registroSalvo.getIdRegistro());
 
+        resumoDiarioService.registrar(List.of(registroSalvo));
+        atualizarUltimoRegistro(List.of(registroSalvo));
+
         // Verificar se precisa de alertas
         if (registroSalvo.precisaAlerta()) {
             gerarAlertas(usuario, registroSalvo);
@@ -117,10 +219,225 @@ public class RegistroBemestarService {
         return registroBemestarMapper.toDTO(registroSalvo);
     }
 
+    /**
+     * Cria registros de bem-estar em lote
+     *
+     * - Valida cada item individualmente (itens inválidos não abortam o lote)
+     * - Resolve todos os usuários em uma única consulta IN
+     * - Grava em transações próprias de até itens-por-transacao registros, com lotes JDBC;
+     *   se uma transação falhar, seus itens são regravados um a um para isolar o item com erro
+     * - Avalia alertas para cada registro criado, na mesma transação do registro
+     *
+     * O resultado de cada item reflete o que foi efetivamente confirmado no banco.
+     *
+     * @param dtos itens do lote; itens nulos representam entradas mal formatadas
+     * @return resultado por item, na mesma ordem da entrada
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LoteRegistroBemestarResponseDTO criarLote(List<CreateRegistroBemestarDTO> dtos) {
+        log.info("Criando lote de {} registros de bem-estar", dtos.size());
+
+        if (dtos.size() > maxItensLote) {
+            throw new IllegalArgumentException("Lote excede o limite de " + maxItensLote + " itens");
+        }
+
+        ItemLoteResultadoDTO[] resultados = new ItemLoteResultadoDTO[dtos.size()];
+
+        // Validar itens
+        for (int i = 0; i < dtos.size(); i++) {
+            CreateRegistroBemestarDTO dto = dtos.get(i);
+            if (dto == null) {
+                resultados[i] = itemComErro(i, null, List.of("Item inválido ou mal formatado"));
+                continue;
+            }
+
+            Set<ConstraintViolation<CreateRegistroBemestarDTO>> violacoes = validator.validate(dto);
+            if (!violacoes.isEmpty()) {
+                resultados[i] = itemComErro(i, dto.getIdUsuario(), violacoes.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .toList());
+            }
+        }
+
+        // Descartar itens já persistidos (reenvio com o mesmo idCliente)
+        Set<String> idsCliente = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (resultados[i] == null && dtos.get(i).getIdCliente() != null) {
+                idsCliente.add(dtos.get(i).getIdCliente());
+            }
+        }
+
+        if (!idsCliente.isEmpty()) {
+            Set<String> vistos = new HashSet<>(registroBemestarRepository.findIdsClienteExistentes(idsCliente));
+            for (int i = 0; i < dtos.size(); i++) {
+                CreateRegistroBemestarDTO dto = dtos.get(i);
+                if (resultados[i] == null && dto.getIdCliente() != null && !vistos.add(dto.getIdCliente())) {
+                    resultados[i] = itemDuplicado(i, dto.getIdUsuario());
+                }
+            }
+        }
+
+        // Resolver usuários em uma única consulta
+        Set<Long> idsUsuarios = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (resultados[i] == null) {
+                idsUsuarios.add(dtos.get(i).getIdUsuario());
+            }
+        }
+
+        Map<Long, Usuario> usuarios = usuarioRepository.findAllById(idsUsuarios)
+                .stream()
+                .collect(Collectors.toMap(Usuario::getIdUsuario, Function.identity()));
+
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (resultados[i] != null) continue;
+
+            if (!usuarios.containsKey(dtos.get(i).getIdUsuario())) {
+                resultados[i] = itemComErro(i, dtos.get(i).getIdUsuario(), List.of("Usuário não encontrado"));
+                continue;
+            }
+            indices.add(i);
+        }
+
+        // Gravar em transações independentes
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Valores <= 0 na configuração fariam o laço não avançar
+        int porTransacao = Math.max(1, itensPorTransacao);
+        for (int inicio = 0; inicio < indices.size(); inicio += porTransacao) {
+            List<Integer> bloco = indices.subList(inicio, Math.min(inicio + porTransacao, indices.size()));
+            try {
+                gravarBloco(transacao, bloco, dtos, usuarios, resultados);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar bloco de {} registros, gravando item a item: {}", bloco.size(), e.getMessage());
+
+                for (Integer indice : bloco) {
+                    try {
+                        gravarBloco(transacao, List.of(indice), dtos, usuarios, resultados);
+                    } catch (RuntimeException erroItem) {
+                        resultados[indice] = resultadoFalha(indice, dtos.get(indice), erroItem);
+                    }
+                }
+            }
+        }
+
+        int sucesso = (int) Arrays.stream(resultados).filter(r -> "CRIADO".equals(r.getStatus())).count();
+        int falhas = (int) Arrays.stream(resultados).filter(r -> "ERRO".equals(r.getStatus())).count();
+        log.info("Lote processado - {} criados, {} com erro", sucesso, falhas);
+
+        return LoteRegistroBemestarResponseDTO.builder()
+                .total(dtos.size())
+                .sucesso(sucesso)
+                .falhas(falhas)
+                .duplicados(dtos.size() - sucesso - falhas)
+                .resultados(Arrays.asList(resultados))
+                .build();
+    }
+
+    /**
+     * Grava os itens em uma única transação (registros, resumos diários, último registro e alertas)
+     * e só preenche os resultados após o commit
+     */
+    private void gravarBloco(TransactionTemplate transacao, List<Integer> bloco, List<CreateRegistroBemestarDTO> dtos,
+                             Map<Long, Usuario> usuarios, ItemLoteResultadoDTO[] resultados) {
+        int loteJdbc = Math.max(1, tamanhoLoteJdbc);
+        List<RegistroBemestar> registros = transacao.execute(status -> {
+            List<RegistroBemestar> novos = new ArrayList<>(bloco.size());
+            for (Integer indice : bloco) {
+                CreateRegistroBemestarDTO dto = dtos.get(indice);
+                RegistroBemestar registro = registroBemestarMapper.toEntity(dto);
+                registro.setUsuario(usuarios.get(dto.getIdUsuario()));
+                novos.add(registro);
+            }
+
+            // Persistir em lotes JDBC
+            for (int inicio = 0; inicio < novos.size(); inicio += loteJdbc) {
+                registroBemestarRepository.saveAll(novos.subList(inicio, Math.min(inicio + loteJdbc, novos.size())));
+                registroBemestarRepository.flush();
+                entityManager.clear();
+            }
+
+            resumoDiarioService.registrar(novos);
+            atualizarUltimoRegistro(novos);
+
+            // Invalida apenas as páginas em cache dos usuários afetados
+            cacheTagEvictor.evict("registros-bemestar", novos.stream()
+                    .map(r -> "usuario:" + r.getUsuario().getIdUsuario())
+                    .collect(Collectors.toSet()));
+
+            List<Alerta> alertas = novos.stream()
+                    .filter(RegistroBemestar::precisaAlerta)
+                    .map(r -> montarAlerta(r.getUsuario(), r))
+                    .toList();
+            for (int inicio = 0; inicio < alertas.size(); inicio += loteJdbc) {
+                alertaRepository.saveAll(alertas.subList(inicio, Math.min(inicio + loteJdbc, alertas.size())));
+                alertaRepository.flush();
+                entityManager.clear();
+            }
+
+            return novos;
+        });
+
+        for (int j = 0; j < bloco.size(); j++) {
+            RegistroBemestar registro = registros.get(j);
+            int indice = bloco.get(j);
+
+            resultados[indice] = ItemLoteResultadoDTO.builder()
+                    .indice(indice)
+                    .idUsuario(registro.getUsuario().getIdUsuario())
+                    .status("CRIADO")
+                    .idRegistro(registro.getIdRegistro())
+                    .temAlerta(registro.precisaAlerta())
+                    .build();
+        }
+    }
+
+    /**
+     * Item que falhou sozinho: duplicado se o idCliente foi gravado por outra requisição
+     * no meio tempo, erro caso contrário
+     */
+    private ItemLoteResultadoDTO resultadoFalha(int indice, CreateRegistroBemestarDTO dto, RuntimeException erro) {
+        if (dto.getIdCliente() != null
+                && !registroBemestarRepository.findIdsClienteExistentes(Set.of(dto.getIdCliente())).isEmpty()) {
+            return itemDuplicado(indice, dto.getIdUsuario());
+        }
+
+        log.error("Falha ao gravar item {} do lote (usuário {})", indice, dto.getIdUsuario(), erro);
+        return itemComErro(indice, dto.getIdUsuario(), List.of(erro instanceof DataIntegrityViolationException
+                ? "Registro rejeitado por uma restrição do banco de dados"
+                : "Falha ao gravar registro"));
+    }
+
+    private ItemLoteResultadoDTO itemDuplicado(int indice, Long idUsuario) {
+        return ItemLoteResultadoDTO.builder()
+                .indice(indice)
+                .idUsuario(idUsuario)
+                .status("DUPLICADO")
+                .build();
+    }
+
+    private ItemLoteResultadoDTO itemComErro(int indice, Long idUsuario, List<String> erros) {
+        return ItemLoteResultadoDTO.builder()
+                .indice(indice)
+                .idUsuario(idUsuario)
+                .status("ERRO")
+                .erros(erros)
+                .build();
+    }
+
     /**
      * Gera alertas se necessário
+     *
+     * O alerta é gravado no outbox (tabela ALERTA) na mesma transação do
+     * registro e publicado no RabbitMQ pelo AlertaOutboxRelay.
      */
     private void gerarAlertas(Usuario usuario, RegistroBemestar registro) {
+        alertaRepository.save(montarAlerta(usuario, registro));
+    }
+
+    private Alerta montarAlerta(Usuario usuario, RegistroBemestar registro) {
         List<String> alertas = new ArrayList<>();
 
         if (registro.isEstresseAlto()) {
@@ -135,12 +452,19 @@ public class RegistroBemestarService {
             alertas.add("⚠️ Padrão de sono inadequado");
         }
 
-        if (!alertas.isEmpty()) {
-            log.warn("Alertas gerados para usuário {}: {}", usuario.getIdUsuario(), alertas);
-
-            // Enviar notificação via RabbitMQ
-            notificationProducer.enviarAlerta(usuario.getEmail(), alertas);
-        }
+        log.warn("Alertas gerados para usuário {}: {}", usuario.getIdUsuario(), alertas);
+
+        return Alerta.builder()
+                .usuario(usuario)
+                .tipoAlerta("BEM_ESTAR")
+                .descricao(String.join(", ", alertas))
+                .nivelGravidade(switch (alertas.size()) {
+                    case 1 -> "MEDIO";
+                    case 2 -> "ALTO";
+                    default -> "CRITICO";
+                })
+                .destinatario(usuario.getEmail())
+                .build();
     }
 
     /**
@@ -149,9 +473,8 @@ public class RegistroBemestarService {
     public Double calcularMediaBemEstar(Long usuarioId) {
         log.info("Calculando média de bem-estar do usuário: {}", usuarioId);
 
-        LocalDateTime trinta_dias_atras = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
-
-        return registroBemestarRepository.calculateAverageWellness(usuarioId, trinta_dias_atras);
+        return resumoDiarioService.consolidar(ResumoDiarioBemestar.ESCOPO_USUARIO, usuarioId, 30)
+                .getMediaBemestar();
     }
 
     /**
@@ -165,28 +488,4 @@ public class RegistroBemestarService {
                 .map(registroBemestarMapper::toDTO)
                 .toList();
     }
-
-    /**
-     * Estatísticas de bem-estar por empresa
-     */
-    public void gerarEstatísticas(Long empresaId) {
-        log.info("Gerando estatísticas de bem-estar para empresa: {}", empresaId);
-
-        LocalDateTime trinta_dias_atras = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
-
-        List<Object[]> stats = registroBemestarRepository.findStatisticsByEmpresa(
-                empresaId, trinta_dias_atras
-        );
-
-        if (!stats.isEmpty()) {
-            Object[] data = stats.get(0);
-
-            Double mediaHumor = (data[0] != null) ? ((Number)data[0]).doubleValue() : null;
-            Double mediaEstresse = (data[1] != null) ? ((Number)data[1]).doubleValue() : null;
-            Double mediaEnergia = (data[2] != null) ? ((Number)data[2]).doubleValue() : null;
-
-            log.info("Estatísticas - Humor: {}, Estresse: {}, Energia: {}",
-                    mediaHumor, mediaEstresse, mediaEnergia);
-        }
-    }
 }
@@ -0,0 +1,327 @@
+package com.wellmind.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wellmind.dto.registrobemestar.CreateRegistroBemestarDTO;
+import com.wellmind.dto.registrobemestar.LoteRegistroBemestarResponseDTO;
+import com.wellmind.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Ingestão assíncrona (write-behind) de registros de bem-estar
+ *
+ * Responsabilidades:
+ * - Aceitar registros já validados em uma fila limitada em memória
+ * - Aplicar backpressure quando a fila está cheia (rejeitar com 429 ou bloquear)
+ * - Gravar cada registro aceito no journal local antes de responder, com o momento do aceite
+ * - Descarregar a fila em lotes no REGISTRO_BEMESTAR em background
+ * - Expor métricas de profundidade da fila e latência de flush
+ *
+ * Falhas:
+ * - Item com erro no lote: volta ao fim da fila; após max-tentativas vai para o dead-letter
+ * - Falha do lote inteiro: volta ao início da fila, o escritor espera um backoff exponencial
+ *   e regrava esses itens um a um, contando a tentativa de cada um
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RegistroBemestarWriteBehindService {
+
+    public enum PoliticaFilaCheia { REJEITAR, BLOQUEAR }
+
+    private final RegistroBemestarService registroBemestarService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.wellness.write-behind.enabled:false}")
+    private boolean habilitado;
+
+    @Value("${app.wellness.write-behind.capacidade-fila:10000}")
+    private int capacidadeFila;
+
+    @Value("${app.wellness.write-behind.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${app.wellness.write-behind.intervalo-flush-ms:200}")
+    private long intervaloFlushMs;
+
+    @Value("${app.wellness.write-behind.politica-fila-cheia:REJEITAR}")
+    private PoliticaFilaCheia politicaFilaCheia;
+
+    @Value("${app.wellness.write-behind.timeout-bloqueio-ms:2000}")
+    private long timeoutBloqueioMs;
+
+    @Value("${app.wellness.write-behind.journal-dir:data/journal}")
+    private String journalDir;
+
+    @Value("${app.wellness.write-behind.max-tentativas:5}")
+    private int maxTentativas;
+
+    @Value("${app.wellness.write-behind.backoff-inicial-ms:1000}")
+    private long backoffInicialMs;
+
+    @Value("${app.wellness.write-behind.backoff-max-ms:60000}")
+    private long backoffMaxMs;
+
+    private final BlockingDeque<CreateRegistroBemestarDTO> fila = new LinkedBlockingDeque<>();
+    private Semaphore vagas;
+    private WriteBehindJournal journal;
+    private ScheduledExecutorService escritor;
+
+    // Estado do escritor (acessado apenas pela thread de gravação)
+    private final Map<String, Integer> tentativas = new HashMap<>();
+    private int falhasConsecutivas;
+    private long proximaTentativaMs;
+    private int itensIsolados;
+
+    private Timer flushTimer;
+    private Counter aceitos;
+    private Counter rejeitados;
+    private Counter descartados;
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        if (!habilitado) {
+            return;
+        }
+
+        journal = new WriteBehindJournal(Path.of(journalDir), objectMapper);
+        List<CreateRegistroBemestarDTO> recuperados = journal.recuperar();
+
+        // Registros recuperados ocupam vagas até serem gravados
+        vagas = new Semaphore(capacidadeFila - recuperados.size());
+        fila.addAll(recuperados);
+
+        if (!recuperados.isEmpty()) {
+            log.warn("Recuperados {} registros de bem-estar pendentes do journal", recuperados.size());
+        }
+
+        Gauge.builder("wellmind.wellness.writebehind.fila", fila, BlockingDeque::size)
+                .description("Registros aguardando gravação")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("wellmind.wellness.writebehind.flush")
+                .description("Latência de gravação de um lote")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        aceitos = meterRegistry.counter("wellmind.wellness.writebehind.registros", "resultado", "aceito");
+        rejeitados = meterRegistry.counter("wellmind.wellness.writebehind.registros", "resultado", "rejeitado");
+        descartados = meterRegistry.counter("wellmind.wellness.writebehind.registros", "resultado", "dead_letter");
+
+        escritor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "wellness-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        escritor.scheduleWithFixedDelay(this::descarregar, intervaloFlushMs, intervaloFlushMs, TimeUnit.MILLISECONDS);
+
+        log.info("Ingestão write-behind habilitada - capacidade: {}, lote: {}, política: {}",
+                capacidadeFila, tamanhoLote, politicaFilaCheia);
+    }
+
+    @PreDestroy
+    void parar() throws IOException, InterruptedException {
+        if (!habilitado) {
+            return;
+        }
+
+        escritor.shutdown();
+        escritor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Última tentativa; o que sobrar permanece no journal
+        descarregar();
+        journal.close();
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Aceita um registro para gravação assíncrona
+     *
+     * @return idCliente do registro (gerado se não informado)
+     * @throws TooManyRequestsException se a fila estiver cheia
+     */
+    public String aceitar(CreateRegistroBemestarDTO dto) {
+        reservarVaga();
+
+        if (dto.getIdCliente() == null) {
+            dto.setIdCliente(UUID.randomUUID().toString());
+        }
+        // Data do check-in é a do aceite, não a da gravação do lote
+        dto.setDataRegistro(LocalDateTime.now());
+
+        try {
+            journal.registrarAceito(dto);
+        } catch (IOException e) {
+            vagas.release();
+            throw new IllegalStateException("Falha ao gravar journal de ingestão", e);
+        }
+
+        fila.addLast(dto);
+        aceitos.increment();
+
+        return dto.getIdCliente();
+    }
+
+    private void reservarVaga() {
+        boolean reservada;
+
+        if (politicaFilaCheia == PoliticaFilaCheia.BLOQUEAR) {
+            try {
+                reservada = vagas.tryAcquire(timeoutBloqueioMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reservada = false;
+            }
+        } else {
+            reservada = vagas.tryAcquire();
+        }
+
+        if (!reservada) {
+            rejeitados.increment();
+            throw new TooManyRequestsException("Fila de ingestão cheia, tente novamente em instantes", 1);
+        }
+    }
+
+    /**
+     * Descarrega a fila em lotes até esvaziá-la ou ocorrer uma falha
+     * Após falha do lote inteiro, aguarda o backoff e grava os itens daquele lote um a um
+     */
+    void descarregar() {
+        if (System.currentTimeMillis() < proximaTentativaMs) {
+            return;
+        }
+
+        try {
+            while (true) {
+                int tamanho = itensIsolados > 0 ? 1 : tamanhoLote;
+                List<CreateRegistroBemestarDTO> lote = new ArrayList<>(tamanho);
+                fila.drainTo(lote, tamanho);
+
+                if (lote.isEmpty() || !gravar(lote)) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Erro inesperado na ingestão write-behind", e);
+        }
+    }
+
+    private boolean gravar(List<CreateRegistroBemestarDTO> lote) throws IOException {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        LoteRegistroBemestarResponseDTO resultado;
+
+        try {
+            resultado = registroBemestarService.criarLote(lote);
+        } catch (Exception e) {
+            falhasConsecutivas++;
+            long espera = Math.min(backoffMaxMs, backoffInicialMs << Math.min(falhasConsecutivas - 1, 20));
+            proximaTentativaMs = System.currentTimeMillis() + espera;
+            log.error("Falha ao gravar lote de {} registros; nova tentativa em {} ms", lote.size(), espera, e);
+
+            if (lote.size() == 1) {
+                // Gravação isolada: a falha conta como tentativa deste item
+                List<CreateRegistroBemestarDTO> esgotados = contarTentativas(lote);
+                if (!esgotados.isEmpty()) {
+                    enviarDeadLetter(esgotados, e.getMessage());
+                    itensIsolados = Math.max(0, itensIsolados - 1);
+                    return false;
+                }
+            } else {
+                itensIsolados = lote.size();
+            }
+
+            for (int i = lote.size() - 1; i >= 0; i--) {
+                fila.addFirst(lote.get(i));
+            }
+            return false;
+        } finally {
+            amostra.stop(flushTimer);
+        }
+
+        falhasConsecutivas = 0;
+        proximaTentativaMs = 0;
+        itensIsolados = Math.max(0, itensIsolados - lote.size());
+
+        // Itens com erro voltam ao fim da fila até esgotar as tentativas
+        List<CreateRegistroBemestarDTO> comErro = new ArrayList<>();
+        List<String> confirmados = new ArrayList<>();
+        for (var item : resultado.getResultados()) {
+            CreateRegistroBemestarDTO dto = lote.get(item.getIndice());
+            if ("ERRO".equals(item.getStatus())) {
+                log.warn("Registro assíncrono {} não gravado: {}", dto.getIdCliente(), item.getErros());
+                comErro.add(dto);
+            } else {
+                tentativas.remove(dto.getIdCliente());
+                confirmados.add(dto.getIdCliente());
+            }
+        }
+
+        // Se o processo cair antes desta linha, a reexecução é deduplicada pelo idCliente
+        if (!confirmados.isEmpty()) {
+            journal.registrarConfirmados(confirmados);
+            vagas.release(confirmados.size());
+        }
+
+        if (comErro.isEmpty()) {
+            return true;
+        }
+
+        List<CreateRegistroBemestarDTO> esgotados = contarTentativas(comErro);
+        if (!esgotados.isEmpty()) {
+            enviarDeadLetter(esgotados, "Item rejeitado no lote");
+        }
+        Set<String> descartadosAgora = esgotados.stream().map(CreateRegistroBemestarDTO::getIdCliente).collect(Collectors.toSet());
+        comErro.stream().filter(dto -> !descartadosAgora.contains(dto.getIdCliente())).forEach(fila::addLast);
+
+        // Não retenta no mesmo ciclo
+        proximaTentativaMs = System.currentTimeMillis() + backoffInicialMs;
+        return false;
+    }
+
+    /**
+     * Soma uma tentativa a cada item
+     *
+     * @return itens que atingiram max-tentativas
+     */
+    private List<CreateRegistroBemestarDTO> contarTentativas(List<CreateRegistroBemestarDTO> itens) {
+        List<CreateRegistroBemestarDTO> esgotados = new ArrayList<>();
+        for (CreateRegistroBemestarDTO dto : itens) {
+            if (tentativas.merge(dto.getIdCliente(), 1, Integer::sum) >= maxTentativas) {
+                esgotados.add(dto);
+            }
+        }
+        return esgotados;
+    }
+
+    private void enviarDeadLetter(List<CreateRegistroBemestarDTO> itens, String motivo) throws IOException {
+        journal.registrarDescartados(itens, motivo);
+        itens.forEach(dto -> tentativas.remove(dto.getIdCliente()));
+        vagas.release(itens.size());
+        descartados.increment(itens.size());
+
+        log.error("{} registros assíncronos enviados ao dead-letter após {} tentativas: {}",
+                itens.size(), maxTentativas, itens.stream().map(CreateRegistroBemestarDTO::getIdCliente).toList());
+    }
+}
@@ -0,0 +1,109 @@
+package com.wellmind.service;
+
+import com.wellmind.entity.RegistroBemestar;
+import com.wellmind.entity.ResumoDiarioBemestar;
+import com.wellmind.entity.ResumoDiarioBemestarId;
+import com.wellmind.repository.ResumoDiarioBemestarRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Service para os resumos diários de bem-estar (RESUMO_DIARIO_BEMESTAR)
+ *
+ * - Atualiza o resumo do usuário a cada check-in, na mesma transação do registro
+ * - Consolida janelas de N dias somando os resumos diários
+ * - Reconstrói os resumos a partir de REGISTRO_BEMESTAR (backfill)
+ *
+ * As estatísticas por empresa precisam de percentis e não usam estes resumos:
+ * vêm das distribuições diárias de EstatisticasBemestarService, cujo cache é
+ * avisado aqui quando chegam registros de dias anteriores.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ResumoDiarioBemestarService {
+
+    private final ResumoDiarioBemestarRepository resumoRepository;
+    private final EstatisticasBemestarService estatisticasService;
+
+    /**
+     * Soma registros recém-criados aos resumos diários
+     * Registros do mesmo usuário e dia geram um único MERGE
+     */
+    public void registrar(Collection<RegistroBemestar> registros) {
+        if (registros.isEmpty()) return;
+
+        Map<ResumoDiarioBemestarId, ResumoDiarioBemestar> deltas = new LinkedHashMap<>();
+        for (RegistroBemestar registro : registros) {
+            acumular(deltas, ResumoDiarioBemestar.ESCOPO_USUARIO, registro.getUsuario().getIdUsuario(),
+                    registro.getDataRegistro().toLocalDate(), registro);
+        }
+
+        deltas.values().forEach(this::merge);
+        estatisticasService.invalidarDiasAnteriores(registros);
+    }
+
+    /**
+     * Consolida os resumos dos últimos N dias (inclui o dia atual)
+     */
+    @Transactional(readOnly = true)
+    public ResumoDiarioBemestar consolidar(String escopo, Long idReferencia, int dias) {
+        ResumoDiarioBemestar total = new ResumoDiarioBemestar();
+        total.setEscopo(escopo);
+        total.setIdReferencia(idReferencia);
+
+        resumoRepository.findDesde(escopo, idReferencia, LocalDate.now().minusDays(dias - 1L))
+                .forEach(total::acumular);
+
+        return total;
+    }
+
+    /**
+     * Reconstrói os resumos a partir de REGISTRO_BEMESTAR
+     * Recomendado em horário de baixo uso: check-ins feitos durante a
+     * reconstrução podem ficar fora do resumo do dia
+     *
+     * @param dias quantidade de dias para trás (inclui o dia atual)
+     * @return linhas removidas e recriadas
+     */
+    public Map<String, Integer> reconstruir(int dias) {
+        if (dias < 1) {
+            throw new IllegalArgumentException("Quantidade de dias deve ser positiva");
+        }
+
+        LocalDate diaInicio = LocalDate.now().minusDays(dias - 1L);
+        log.info("Reconstruindo resumos diários de bem-estar a partir de {}", diaInicio);
+
+        int removidos = resumoRepository.deleteDesde(diaInicio);
+        int usuarios = resumoRepository.reconstruirPorUsuario(diaInicio.atStartOfDay());
+
+        log.info("Resumos reconstruídos - removidos: {}, usuário: {}", removidos, usuarios);
+
+        Map<String, Integer> resultado = new LinkedHashMap<>();
+        resultado.put("removidos", removidos);
+        resultado.put("resumosUsuario", usuarios);
+        return resultado;
+    }
+
+    private void acumular(Map<ResumoDiarioBemestarId, ResumoDiarioBemestar> deltas,
+                          String escopo, Long idReferencia, LocalDate dia, RegistroBemestar registro) {
+        deltas.computeIfAbsent(new ResumoDiarioBemestarId(escopo, idReferencia, dia),
+                        id -> ResumoDiarioBemestar.builder().escopo(escopo).idReferencia(idReferencia).dia(dia).build())
+                .acumular(registro);
+    }
+
+    private void merge(ResumoDiarioBemestar d) {
+        resumoRepository.mergeIncremento(d.getEscopo(), d.getIdReferencia(), d.getDia(), d.getQtdRegistros(),
+                d.getSomaHumor(), d.getSomaQuadHumor(),
+                d.getSomaEstresse(), d.getSomaQuadEstresse(),
+                d.getSomaEnergia(), d.getSomaQuadEnergia(),
+                d.getQtdSono(), d.getSomaSono(), d.getSomaQuadSono(),
+                d.getQtdQualidadeSono(), d.getSomaQualidadeSono(), d.getSomaQuadQualidadeSono());
+    }
+}
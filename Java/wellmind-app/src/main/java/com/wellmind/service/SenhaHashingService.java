@@ -0,0 +1,152 @@
+package com.wellmind.service;
+
+import com.wellmind.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executa o hashing/verificação de senhas (BCrypt) em um pool dedicado e limitado
+ *
+ * - Threads = núcleos de CPU (app.auth.hashing.threads), fila limitada
+ * - Admissão por tempo de fila: quem esperaria mais que max-espera-ms
+ *   recebe 503 imediatamente, sem consumir CPU nem segurar threads do Tomcat
+ * - Métricas: wellmind.auth.senha.hash (histograma por operação),
+ *   wellmind.auth.senha.fila (tempo de espera) e wellmind.auth.senha.rejeitadas
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SenhaHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${app.auth.hashing.capacidade-fila:64}")
+    private int capacidadeFila;
+
+    @Value("${app.auth.hashing.max-espera-ms:500}")
+    private long maxEsperaMs;
+
+    private ThreadPoolExecutor executor;
+    private Timer codificarTimer;
+    private Timer verificarTimer;
+    private Timer filaTimer;
+    private Counter rejeitadas;
+
+    @PostConstruct
+    void iniciar() {
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(
+                tamanhoPool, tamanhoPool,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                new CustomizableThreadFactory("senha-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        codificarTimer = hashTimer("codificar");
+        verificarTimer = hashTimer("verificar");
+        filaTimer = Timer.builder("wellmind.auth.senha.fila")
+                .description("Tempo de espera na fila de hashing")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rejeitadas = meterRegistry.counter("wellmind.auth.senha.rejeitadas");
+        Gauge.builder("wellmind.auth.senha.fila.tamanho", executor, e -> e.getQueue().size())
+                .description("Operações de hashing aguardando na fila")
+                .register(meterRegistry);
+
+        log.info("Pool de hashing de senhas: {} threads, fila {}, espera máxima {} ms",
+                tamanhoPool, capacidadeFila, maxEsperaMs);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Gera o hash BCrypt da senha
+     */
+    public String codificar(String senha) {
+        return executar(codificarTimer, () -> passwordEncoder.encode(senha));
+    }
+
+    /**
+     * Verifica a senha contra o hash armazenado
+     */
+    public boolean verificar(String senha, String senhaHash) {
+        return executar(verificarTimer, () -> passwordEncoder.matches(senha, senhaHash));
+    }
+
+    private <T> T executar(Timer timer, Supplier<T> operacao) {
+        long enfileiradoEm = System.nanoTime();
+        long maxEsperaNanos = TimeUnit.MILLISECONDS.toNanos(maxEsperaMs);
+
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> {
+                long espera = System.nanoTime() - enfileiradoEm;
+                filaTimer.record(espera, TimeUnit.NANOSECONDS);
+                if (espera > maxEsperaNanos) {
+                    throw sobrecarga();
+                }
+                return timer.record(operacao);
+            });
+        } catch (RejectedExecutionException e) {
+            throw sobrecarga();
+        }
+
+        try {
+            // Limite de segurança: espera máxima + folga para o próprio hash
+            return futuro.get(maxEsperaMs + Duration.ofSeconds(5).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha no hashing de senha", e.getCause());
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw sobrecarga();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hashing de senha interrompido", e);
+        }
+    }
+
+    private ServiceUnavailableException sobrecarga() {
+        rejeitadas.increment();
+        return new ServiceUnavailableException(
+                "Serviço de autenticação sobrecarregado, tente novamente em instantes", 1);
+    }
+
+    private Timer hashTimer(String operacao) {
+        return Timer.builder("wellmind.auth.senha.hash")
+                .description("Tempo de CPU do BCrypt por operação")
+                .tag("operacao", operacao)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
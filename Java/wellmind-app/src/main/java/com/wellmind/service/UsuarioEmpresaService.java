@@ -1,5 +1,7 @@
 package com.wellmind.service;
 
+import com.wellmind.cache.CacheKeys;
+import com.wellmind.cache.CacheTagEvictor;
 import com.wellmind.dto.usuarioempresa.*;
 import com.wellmind.entity.Usuario;
 import com.wellmind.entity.Empresa;
@@ -12,7 +14,6 @@ import com.wellmind.repository.EmpresaRepository;
 import com.wellmind.repository.UsuarioEmpresaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -35,6 +36,7 @@ public class UsuarioEmpresaService {
     private final UsuarioRepository usuarioRepository;
     private final EmpresaRepository empresaRepository;
     private final UsuarioEmpresaMapper usuarioEmpresaMapper;
+    private final CacheTagEvictor cacheTagEvictor;
 
     /**
      * Busca vínculos de um usuário
@@ -55,7 +57,7 @@ public class UsuarioEmpresaService {
     /**
      * Busca vínculos ativos de uma empresa
      */
-    @Cacheable(value = "vinculosempresa", key = "#empresaId + '_' + #pageable.pageNumber")
+    @Cacheable(value = "vinculosempresa", key = "T(com.wellmind.cache.CacheKeys).pagina('empresa:' + #empresaId, #pageable)")
     public Page<UsuarioEmpresaDTO> buscarAtivosEmpresa(Long empresaId, Pageable pageable) {
         log.info("Buscando vínculos ativos da empresa: {}", empresaId);
 
@@ -70,7 +72,6 @@ public class UsuarioEmpresaService {
     /**
      * Cria novo vínculo usuário-empresa
      */
-    @CacheEvict(value = {"vinculosempresa", "usuarios", "empresas"}, allEntries = true)
     public UsuarioEmpresaDTO criar(CreateUsuarioEmpresaDTO dto) {
         log.info("Criando vínculo - Usuário: {}, Empresa: {}", dto.getIdUsuario(), dto.getIdEmpresa());
 
@@ -95,6 +96,8 @@ public class UsuarioEmpresaService {
         vinculo.setStatusVinculo("A");
 
         UsuarioEmpresa vinculoSalvo = usuarioEmpresaRepository.save(vinculo);
+        empresaRepository.ajustarTotalColaboradoresAtivos(empresa.getIdEmpresa(), 1);
+        evictCaches(vinculo);
         log.info("Vínculo criado com sucesso - ID: {}", vinculoSalvo.getIdUsuarioEmpresa());
 
         return usuarioEmpresaMapper.toDTO(vinculoSalvo);
@@ -103,16 +106,23 @@ public class UsuarioEmpresaService {
     /**
      * Desativa um vínculo (demissão)
      */
-    @CacheEvict(value = "vinculosempresa", allEntries = true)
     public UsuarioEmpresaDTO desativar(Long vinculoId) {
         log.info("Desativando vínculo com ID: {}", vinculoId);
 
-        UsuarioEmpresa vinculo = usuarioEmpresaRepository.findById(vinculoId)
+        UsuarioEmpresa vinculo = usuarioEmpresaRepository.findByIdForUpdate(vinculoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Vínculo não encontrado"));
 
+        // Sem mudança de status o contador da empresa não é alterado
+        if (!"A".equals(vinculo.getStatusVinculo())) {
+            log.info("Vínculo {} já estava desativado", vinculoId);
+            return usuarioEmpresaMapper.toDTO(vinculo);
+        }
+
         vinculo.desativarVinculo();
 
         UsuarioEmpresa vinculoAtualizado = usuarioEmpresaRepository.save(vinculo);
+        empresaRepository.ajustarTotalColaboradoresAtivos(vinculo.getEmpresa().getIdEmpresa(), -1);
+        evictCaches(vinculo);
         log.info("Vínculo desativado com sucesso");
 
         return usuarioEmpresaMapper.toDTO(vinculoAtualizado);
@@ -121,16 +131,23 @@ public class UsuarioEmpresaService {
     /**
      * Reativa um vínculo
      */
-    @CacheEvict(value = "vinculosempresa", allEntries = true)
     public UsuarioEmpresaDTO reativar(Long vinculoId) {
         log.info("Reativando vínculo com ID: {}", vinculoId);
 
-        UsuarioEmpresa vinculo = usuarioEmpresaRepository.findById(vinculoId)
+        UsuarioEmpresa vinculo = usuarioEmpresaRepository.findByIdForUpdate(vinculoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Vínculo não encontrado"));
 
+        // Sem mudança de status o contador da empresa não é alterado
+        if ("A".equals(vinculo.getStatusVinculo())) {
+            log.info("Vínculo {} já estava reativado", vinculoId);
+            return usuarioEmpresaMapper.toDTO(vinculo);
+        }
+
         vinculo.ativarVinculo();
 
         UsuarioEmpresa vinculoAtualizado = usuarioEmpresaRepository.save(vinculo);
+        empresaRepository.ajustarTotalColaboradoresAtivos(vinculo.getEmpresa().getIdEmpresa(), 1);
+        evictCaches(vinculo);
         log.info("Vínculo reativado com sucesso");
 
         return usuarioEmpresaMapper.toDTO(vinculoAtualizado);
@@ -153,6 +170,18 @@ public class UsuarioEmpresaService {
         return usuarioEmpresaMapper.toDTO(vinculoAtualizado);
     }
 
+    /**
+     * Invalida (após o commit) apenas as entradas que dependem do usuário e da empresa do vínculo
+     */
+    private void evictCaches(UsuarioEmpresa vinculo) {
+        String usuario = "usuario:" + vinculo.getUsuario().getIdUsuario();
+        String empresa = "empresa:" + vinculo.getEmpresa().getIdEmpresa();
+
+        cacheTagEvictor.evict("vinculosempresa", List.of(empresa));
+        cacheTagEvictor.evict("empresas", List.of(empresa, CacheKeys.LISTA));
+        cacheTagEvictor.evict("usuarios", List.of(usuario));
+    }
+
     /**
      * Conta colaboradores ativos de uma empresa
      */
@@ -1,22 +1,34 @@
 package com.wellmind.service;
 
+import com.wellmind.cache.ChaveUnica;
+import com.wellmind.cache.FiltroUnicidade;
 import com.wellmind.dto.usuario.*;
+import com.wellmind.entity.Empresa;
 import com.wellmind.entity.Usuario;
 import com.wellmind.exception.ResourceNotFoundException;
 import com.wellmind.exception.ResourceAlreadyExistsException;
 import com.wellmind.mapper.UsuarioMapper;
+import com.wellmind.repository.EmpresaRepository;
 import com.wellmind.repository.UsuarioRepository;
+import com.wellmind.search.NomeBuscaIndex;
+import com.wellmind.search.TipoBusca;
+import com.wellmind.security.UsuarioStatusCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 /**
@@ -36,12 +48,22 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final UsuarioMapper usuarioMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final SenhaHashingService senhaHashingService;
+    private final UsuarioStatusCache usuarioStatusCache;
+    private final EmpresaRepository empresaRepository;
+    private final NomeBuscaIndex nomeBuscaIndex;
+    private final FiltroUnicidade filtroUnicidade;
+
+    // Cursor da primeira página em buscarSemRegistrosRecentes
+    private static final LocalDateTime INICIO_CURSOR = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+    @Value("${app.usuarios.inatividade.dias-padrao:7}")
+    private int diasInatividadePadrao;
 
     /**
      * Busca todos os usuários ativos (com cache)
      */
-    @Cacheable(value = "usuarios", key = "#pageable.pageNumber")
+    @Cacheable(value = "usuarios", key = "T(com.wellmind.cache.CacheKeys).pagina('lista', #pageable)", sync = true)
     public Page<UsuarioDTO> listarAtivos(Pageable pageable) {
         log.info("Listando usuários ativos - página {}", pageable.getPageNumber());
 
@@ -52,7 +74,7 @@ public class UsuarioService {
     /**
      * Busca usuário por ID
      */
-    @Cacheable(value = "usuarios", key = "#id")
+    @Cacheable(value = "usuarios", key = "T(com.wellmind.cache.CacheKeys).entidade('usuario:' + #id)", sync = true)
     public UsuarioDTO buscarPorId(Long id) {
         log.info("Buscando usuário com ID: {}", id);
 
@@ -80,19 +102,23 @@ public class UsuarioService {
     public Page<UsuarioDTO> buscarPorNome(String nome, Pageable pageable) {
         log.info("Buscando usuários com nome contendo: {}", nome);
 
-        return usuarioRepository.findByNomeContaining(nome, pageable)
-                .map(usuarioMapper::toDTO);
+        return nomeBuscaIndex.buscarIds(TipoBusca.USUARIO, nome)
+                .map(ids -> NomeBuscaIndex.paginar(ids, pageable, usuarioRepository::findAllById,
+                        Usuario::getIdUsuario, usuarioMapper::toDTO))
+                .orElseGet(() -> usuarioRepository.findByNomeContaining(nome, pageable)
+                        .map(usuarioMapper::toDTO));
     }
 
     /**
      * Cria novo usuário
      */
-    @CacheEvict(value = "usuarios", allEntries = true)
+    @CacheEvict(value = "usuarios", key = "T(com.wellmind.cache.CacheKeys).tag('lista')")
     public UsuarioDTO criar(CreateUsuarioDTO dto) {
         log.info("Criando novo usuário com email: {}", dto.getEmail());
 
         // Validar se email já existe
-        if (usuarioRepository.existsByEmail(dto.getEmail())) {
+        if (filtroUnicidade.existe(ChaveUnica.EMAIL, dto.getEmail(),
+                () -> usuarioRepository.existsByEmail(dto.getEmail()))) {
             throw new ResourceAlreadyExistsException(
                     "Email já registrado: " + dto.getEmail()
             );
@@ -108,12 +134,14 @@ public class UsuarioService {
         Usuario usuario = usuarioMapper.toEntity(dto);
 
         // Criptografar senha
-        usuario.setSenhaHash(passwordEncoder.encode(dto.getSenha()));
+        usuario.setSenhaHash(senhaHashingService.codificar(dto.getSenha()));
         usuario.setStatusAtivo("S");
 
         // Salvar
         Usuario usuarioSalvo = usuarioRepository.save(usuario);
         log.info("Usuário criado com sucesso - ID: {}", usuarioSalvo.getIdUsuario());
+        nomeBuscaIndex.atualizar(TipoBusca.USUARIO, usuarioSalvo.getIdUsuario());
+        filtroUnicidade.registrar(ChaveUnica.EMAIL, usuarioSalvo.getEmail());
 
         return usuarioMapper.toDTO(usuarioSalvo);
     }
@@ -121,7 +149,10 @@ public class UsuarioService {
     /**
      * Atualiza um usuário existente
      */
-    @CacheEvict(value = "usuarios", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = "usuarios", key = "T(com.wellmind.cache.CacheKeys).tag('usuario:' + #id)"),
+            @CacheEvict(value = "usuarios", key = "T(com.wellmind.cache.CacheKeys).tag('lista')")
+    })
     public UsuarioDTO atualizar(Long id, UpdateUsuarioDTO dto) {
         log.info("Atualizando usuário com ID: {}", id);
 
@@ -131,6 +162,7 @@ public class UsuarioService {
         // Atualizar apenas campos não nulos
         if (dto.getNome() != null && !dto.getNome().isEmpty()) {
             usuario.setNome(dto.getNome());
+            nomeBuscaIndex.atualizar(TipoBusca.USUARIO, id);
         }
 
         if (dto.getTelefone() != null && !dto.getTelefone().isEmpty()) {
@@ -139,7 +171,8 @@ public class UsuarioService {
 
         // Se nova senha foi informada, criptografar
         if (dto.getNovaSenha() != null && !dto.getNovaSenha().isEmpty()) {
-            usuario.setSenhaHash(passwordEncoder.encode(dto.getNovaSenha()));
+            usuario.setSenhaHash(senhaHashingService.codificar(dto.getNovaSenha()));
+            usuarioStatusCache.invalidar(usuario.getEmail());
         }
 
         Usuario usuarioAtualizado = usuarioRepository.save(usuario);
@@ -151,7 +184,10 @@ public class UsuarioService {
     /**
      * Desativa um usuário (soft delete)
      */
-    @CacheEvict(value = "usuarios", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = "usuarios", key = "T(com.wellmind.cache.CacheKeys).tag('usuario:' + #id)"),
+            @CacheEvict(value = "usuarios", key = "T(com.wellmind.cache.CacheKeys).tag('lista')")
+    })
     public void desativar(Long id) {
         log.info("Desativando usuário com ID: {}", id);
 
@@ -160,6 +196,8 @@ public class UsuarioService {
 
         usuario.desativar();
         usuarioRepository.save(usuario);
+        usuarioStatusCache.invalidar(usuario.getEmail());
+        nomeBuscaIndex.atualizar(TipoBusca.USUARIO, id);
 
         log.info("Usuário desativado com sucesso - ID: {}", id);
     }
@@ -167,7 +205,10 @@ public class UsuarioService {
     /**
      * Reativa um usuário
      */
-    @CacheEvict(value = "usuarios", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = "usuarios", key = "T(com.wellmind.cache.CacheKeys).tag('usuario:' + #id)"),
+            @CacheEvict(value = "usuarios", key = "T(com.wellmind.cache.CacheKeys).tag('lista')")
+    })
     public void reativar(Long id) {
         log.info("Reativando usuário com ID: {}", id);
 
@@ -176,20 +217,78 @@ public class UsuarioService {
 
         usuario.ativar();
         usuarioRepository.save(usuario);
+        usuarioStatusCache.invalidar(usuario.getEmail());
+        nomeBuscaIndex.atualizar(TipoBusca.USUARIO, id);
 
         log.info("Usuário reativado com sucesso - ID: {}", id);
     }
 
     /**
-     * Busca usuários que não têm registros recentes
+     * Busca usuários ativos sem registro há mais de N dias, paginado por cursor
+     *
+     * Consulta por faixa em USUARIO.ULTIMO_REGISTRO (sem COUNT e sem varrer os registros).
+     * Com empresaId, considera só os colaboradores ativos e usa o limite da empresa
+     * (Empresa.diasInatividadeAlerta); sem ele, app.usuarios.inatividade.dias-padrao.
+     *
+     * @param cursor valor de proximoCursor da página anterior; nulo na primeira página
      */
-    public List<UsuarioDTO> buscarSemRegistrosRecentes() {
-        log.info("Buscando usuários sem registros recentes");
+    @Transactional(readOnly = true)
+    public UsuariosSemRegistroDTO buscarSemRegistrosRecentes(Long empresaId, String cursor, int size) {
+        log.info("Buscando usuários sem registros recentes - empresa: {}", empresaId);
+
+        if (size < 1 || size > 500) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e 500");
+        }
+
+        int dias = diasInatividadePadrao;
+        if (empresaId != null) {
+            Empresa empresa = empresaRepository.findById(empresaId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Empresa não encontrada com ID: " + empresaId));
+            if (empresa.getDiasInatividadeAlerta() != null) {
+                dias = empresa.getDiasInatividadeAlerta();
+            }
+        }
+        LocalDateTime limite = LocalDate.now().atStartOfDay().minusDays(dias);
+
+        // Primeira página: cursor antes de qualquer data
+        LocalDateTime dataCursor = INICIO_CURSOR;
+        Long idCursor = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|");
+                dataCursor = LocalDateTime.parse(posicao[0]);
+                idCursor = Long.valueOf(posicao[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+        }
+
+        Pageable pagina = PageRequest.of(0, size + 1);
+        List<Usuario> usuarios = empresaId == null
+                ? usuarioRepository.findSemRegistrosDesde(limite, dataCursor, idCursor, pagina)
+                : usuarioRepository.findSemRegistrosDesdeNaEmpresa(empresaId, limite, dataCursor, idCursor, pagina);
+
+        boolean temMais = usuarios.size() > size;
+        if (temMais) {
+            usuarios = usuarios.subList(0, size);
+        }
+
+        String proximoCursor = null;
+        if (temMais) {
+            Usuario ultimo = usuarios.get(usuarios.size() - 1);
+            String posicao = ultimo.getUltimoRegistro() + "|" + ultimo.getIdUsuario();
+            proximoCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+        }
 
-        return usuarioRepository.findUsuariosSemRegistrosRecentes()
-                .stream()
-                .map(usuarioMapper::toDTO)
-                .toList();
+        return UsuariosSemRegistroDTO.builder()
+                .usuarios(usuarios.stream().map(usuarioMapper::toDTO).toList())
+                .diasInatividade(dias)
+                .semRegistroDesde(limite)
+                .proximoCursor(proximoCursor)
+                .temMais(temMais)
+                .build();
     }
 
     /**
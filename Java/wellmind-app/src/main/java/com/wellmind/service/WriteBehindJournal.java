@@ -0,0 +1,221 @@
+package com.wellmind.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wellmind.dto.registrobemestar.CreateRegistroBemestarDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Journal local (append-only) da ingestão assíncrona de registros de bem-estar
+ *
+ * Formato: uma linha por evento, campos separados por TAB
+ * - A  json do registro   registro aceito pela API
+ * - C  idCliente          registro confirmado no banco
+ *
+ * As escritas são sincronizadas em disco em grupo: threads que escrevem ao
+ * mesmo tempo compartilham um único fsync. Quando não há mais registros
+ * pendentes o arquivo é truncado.
+ *
+ * Registros que esgotaram as tentativas de gravação vão para o arquivo
+ * registro-bemestar.dead-letter (momento, motivo e json, separados por TAB)
+ * e deixam de ser pendentes no journal.
+ */
+@Slf4j
+class WriteBehindJournal implements Closeable {
+
+    private static final String ACEITO = "A";
+    private static final String CONFIRMADO = "C";
+
+    /**
+     * dataRegistro é somente leitura na API, mas precisa ser relido do journal
+     */
+    private abstract static class RegistroJournal {
+        @JsonProperty(access = JsonProperty.Access.READ_WRITE)
+        abstract void setDataRegistro(LocalDateTime dataRegistro);
+    }
+
+    private final Path arquivo;
+    private final Path deadLetter;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    private final Object escritaLock = new Object();
+    private final Object syncLock = new Object();
+
+    private FileChannel canal;
+    private long escritos;
+    private volatile long sincronizados;
+    private long pendentes;
+
+    WriteBehindJournal(Path diretorio, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(diretorio);
+        this.arquivo = diretorio.resolve("registro-bemestar.journal");
+        this.deadLetter = diretorio.resolve("registro-bemestar.dead-letter");
+        this.objectMapper = objectMapper.copy().addMixIn(CreateRegistroBemestarDTO.class, RegistroJournal.class);
+        this.writer = this.objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Lê o journal, devolve os registros aceitos e ainda não confirmados e
+     * reescreve o arquivo contendo apenas esses registros
+     */
+    List<CreateRegistroBemestarDTO> recuperar() throws IOException {
+        Map<String, CreateRegistroBemestarDTO> pendentesRecuperados = new LinkedHashMap<>();
+
+        if (Files.exists(arquivo)) {
+            try (BufferedReader linhas = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                String linha;
+                while ((linha = linhas.readLine()) != null) {
+                    int separador = linha.indexOf('\t');
+                    if (separador < 0) continue;
+
+                    String tipo = linha.substring(0, separador);
+                    String conteudo = linha.substring(separador + 1);
+
+                    if (ACEITO.equals(tipo)) {
+                        try {
+                            CreateRegistroBemestarDTO dto = objectMapper.readValue(conteudo, CreateRegistroBemestarDTO.class);
+                            pendentesRecuperados.put(dto.getIdCliente(), dto);
+                        } catch (IOException e) {
+                            // Última linha pode ter sido gravada pela metade durante o crash
+                            log.warn("Linha inválida ignorada no journal de ingestão: {}", e.getMessage());
+                        }
+                    } else if (CONFIRMADO.equals(tipo)) {
+                        pendentesRecuperados.remove(conteudo);
+                    }
+                }
+            }
+        }
+
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel saida = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (CreateRegistroBemestarDTO dto : pendentesRecuperados.values()) {
+                escrever(saida, linhaAceito(dto));
+            }
+            saida.force(true);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        canal = FileChannel.open(arquivo, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        pendentes = pendentesRecuperados.size();
+
+        return new ArrayList<>(pendentesRecuperados.values());
+    }
+
+    /**
+     * Registra um registro aceito; retorna somente após o fsync
+     */
+    void registrarAceito(CreateRegistroBemestarDTO dto) throws IOException {
+        byte[] linha = linhaAceito(dto);
+        long sequencia;
+
+        synchronized (escritaLock) {
+            escrever(canal, linha);
+            pendentes++;
+            sequencia = ++escritos;
+        }
+
+        sincronizar(sequencia);
+    }
+
+    /**
+     * Registra registros confirmados no banco
+     */
+    void registrarConfirmados(Collection<String> idsCliente) throws IOException {
+        StringBuilder linhas = new StringBuilder();
+        for (String idCliente : idsCliente) {
+            linhas.append(CONFIRMADO).append('\t').append(idCliente).append('\n');
+        }
+
+        long sequencia;
+        synchronized (escritaLock) {
+            pendentes -= idsCliente.size();
+            if (pendentes <= 0) {
+                pendentes = 0;
+                canal.truncate(0);
+            } else {
+                escrever(canal, linhas.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            sequencia = ++escritos;
+        }
+
+        sincronizar(sequencia);
+    }
+
+    /**
+     * Move registros para o dead-letter (com fsync) e os confirma no journal
+     */
+    void registrarDescartados(Collection<CreateRegistroBemestarDTO> dtos, String motivo) throws IOException {
+        StringBuilder linhas = new StringBuilder();
+        String momento = LocalDateTime.now().toString();
+        String motivoLinha = motivo == null ? "" : motivo.replace('\t', ' ').replace('\n', ' ');
+        for (CreateRegistroBemestarDTO dto : dtos) {
+            linhas.append(momento).append('\t').append(motivoLinha).append('\t')
+                    .append(writer.writeValueAsString(dto)).append('\n');
+        }
+
+        synchronized (escritaLock) {
+            try (FileChannel saida = FileChannel.open(deadLetter, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                escrever(saida, linhas.toString().getBytes(StandardCharsets.UTF_8));
+                saida.force(false);
+            }
+        }
+
+        registrarConfirmados(dtos.stream().map(CreateRegistroBemestarDTO::getIdCliente).toList());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (canal != null) {
+            canal.force(true);
+            canal.close();
+        }
+    }
+
+    private void sincronizar(long sequencia) throws IOException {
+        if (sincronizados >= sequencia) return;
+
+        synchronized (syncLock) {
+            if (sincronizados >= sequencia) return;
+
+            long alvo;
+            synchronized (escritaLock) {
+                alvo = escritos;
+            }
+            canal.force(false);
+            sincronizados = alvo;
+        }
+    }
+
+    private byte[] linhaAceito(CreateRegistroBemestarDTO dto) throws IOException {
+        return (ACEITO + '\t' + writer.writeValueAsString(dto) + '\n').getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void escrever(FileChannel destino, byte[] dados) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(dados);
+        while (buffer.hasRemaining()) {
+            destino.write(buffer);
+        }
+    }
+}
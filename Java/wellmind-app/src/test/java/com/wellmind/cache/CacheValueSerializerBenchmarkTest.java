@@ -0,0 +1,185 @@
+package com.wellmind.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.wellmind.dto.empresa.EmpresaDTO;
+import com.wellmind.dto.registrobemestar.RegistroBemestarDTO;
+import com.wellmind.dto.usuario.UsuarioDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara o codec do L2 com o serializador JSON anterior
+ * (GenericJackson2JsonRedisSerializer): bytes por entrada e tempo de
+ * encode/decode para os valores típicos do cache
+ *
+ * Também garante o round trip tipado (DTOs e Page voltam como foram gravados).
+ * A medição de tempo é opcional: mvn test -Dtest=CacheValueSerializerBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+class CacheValueSerializerBenchmarkTest {
+
+    private static final int AQUECIMENTO = 500;
+    private static final int ITERACOES = 1_000;
+    private static final LocalDateTime AGORA = LocalDateTime.of(2025, 11, 19, 10, 30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void preservaValoresEReduzTamanhoEmRelacaoAoJsonAnterior() {
+        Map<String, RedisSerializer<Object>> codecs = codecs();
+        amostras().forEach((nome, valor) -> {
+            int bytesAnterior = codecs.get("json-anterior").serialize(valor).length;
+
+            codecs.forEach((codec, serializer) -> {
+                byte[] bytes = serializer.serialize(valor);
+                if (serializer instanceof CacheValueSerializer) {
+                    assertEquals(valor, serializer.deserialize(bytes), codec + " deve preservar " + nome);
+                }
+                // Em um DTO isolado o @class e o cabeçalho empatam com o ganho; o que pesa são páginas e listas
+                if (codec.startsWith("smile") && !(valor instanceof UsuarioDTO)) {
+                    assertTrue(bytes.length < bytesAnterior,
+                            codec + " deve ser menor que o JSON anterior em " + nome + ": " + bytes.length + " >= " + bytesAnterior);
+                }
+            });
+        });
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void comparaTempoComJsonAnterior() {
+        Map<String, RedisSerializer<Object>> codecs = codecs();
+        log.info(String.format("%-28s %-14s %8s %12s %12s", "valor", "codec", "bytes", "encode(us)", "decode(us)"));
+        amostras().forEach((nome, valor) -> codecs.forEach((codec, serializer) -> {
+            byte[] bytes = serializer.serialize(valor);
+            double encode = medir(() -> serializer.serialize(valor));
+            double decode = medir(() -> serializer.deserialize(bytes));
+            log.info(String.format("%-28s %-14s %8d %12.2f %12.2f", nome, codec, bytes.length, encode, decode));
+        }));
+    }
+
+    @Test
+    void leQualquerFormatoEIgnoraValoresDesconhecidos() {
+        CacheValueSerializer smile = new CacheValueSerializer(objectMapper, CacheValueSerializer.Formato.SMILE, 1024);
+        CacheValueSerializer json = new CacheValueSerializer(objectMapper, CacheValueSerializer.Formato.JSON, 1024);
+        UsuarioDTO usuario = usuario(1);
+
+        // Nós com formatos diferentes durante o deploy
+        assertEquals(usuario, smile.deserialize(json.serialize(usuario)));
+        assertEquals(usuario, json.deserialize(smile.serialize(usuario)));
+
+        // Valor gravado pelo serializador anterior (sem cabeçalho)
+        assertNull(smile.deserialize(new GenericJackson2JsonRedisSerializer(objectMapper).serialize(usuario)));
+
+        // Versão futura do codec
+        byte[] futuro = smile.serialize(usuario);
+        futuro[1] = CacheValueSerializer.VERSAO + 1;
+        assertNull(smile.deserialize(futuro));
+
+        // Listas imutáveis (List.of / Stream.toList)
+        assertEquals(List.of("Psicologia", "Nutrição"), smile.deserialize(smile.serialize(List.of("Psicologia", "Nutrição"))));
+    }
+
+    private Map<String, RedisSerializer<Object>> codecs() {
+        Map<String, RedisSerializer<Object>> codecs = new LinkedHashMap<>();
+        codecs.put("json-anterior", new GenericJackson2JsonRedisSerializer(objectMapper));
+        codecs.put("json", new CacheValueSerializer(objectMapper, CacheValueSerializer.Formato.JSON, 0));
+        codecs.put("smile", new CacheValueSerializer(objectMapper, CacheValueSerializer.Formato.SMILE, 0));
+        codecs.put("smile+lz4", new CacheValueSerializer(objectMapper, CacheValueSerializer.Formato.SMILE, 1024));
+        return codecs;
+    }
+
+    private static Map<String, Object> amostras() {
+        Map<String, Object> amostras = new LinkedHashMap<>();
+        amostras.put("UsuarioDTO", usuario(1));
+        amostras.put("Page<UsuarioDTO>(20)", pagina(IntStream.rangeClosed(1, 20)
+                .mapToObj(CacheValueSerializerBenchmarkTest::usuario).toList(), 20, 1250));
+        amostras.put("List<EmpresaDTO>(50)", IntStream.rangeClosed(1, 50)
+                .mapToObj(CacheValueSerializerBenchmarkTest::empresa).toList());
+        amostras.put("Page<RegistroBemestarDTO>(20)", pagina(IntStream.rangeClosed(1, 20)
+                .mapToObj(CacheValueSerializerBenchmarkTest::registro).toList(), 20, 480));
+        return amostras;
+    }
+
+    private static double medir(Runnable operacao) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            operacao.run();
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            operacao.run();
+        }
+        return (System.nanoTime() - inicio) / 1_000.0 / ITERACOES;
+    }
+
+    private static <T> Page<T> pagina(List<T> conteudo, int tamanho, long total) {
+        return new PageImpl<>(conteudo, PageRequest.of(0, tamanho, Sort.by(Sort.Direction.DESC, "dataRegistro")), total);
+    }
+
+    private static UsuarioDTO usuario(int i) {
+        return UsuarioDTO.builder()
+                .idUsuario((long) i)
+                .nome("Usuário Teste " + i)
+                .email("usuario" + i + "@wellmind.com")
+                .dataNascimento(LocalDate.of(1990, 1 + i % 12, 1 + i % 28))
+                .genero(i % 2 == 0 ? "F" : "M")
+                .telefone("1199999" + String.format("%04d", i))
+                .statusAtivo("S")
+                .dataCadastro(AGORA.minusDays(i))
+                .ultimaAtualizacao(AGORA)
+                .build();
+    }
+
+    private static EmpresaDTO empresa(int i) {
+        return EmpresaDTO.builder()
+                .idEmpresa((long) i)
+                .nomeEmpresa("Empresa " + i + " Ltda")
+                .cnpj(String.format("%014d", i))
+                .cnpjFormatado("00.000.000/0001-" + String.format("%02d", i % 100))
+                .endereco("Av. Paulista, " + (1000 + i) + " - São Paulo/SP")
+                .telefone("1133334444")
+                .emailContato("contato@empresa" + i + ".com.br")
+                .ativa(true)
+                .dataCadastro(AGORA.minusMonths(i))
+                .ultimaAtualizacao(AGORA)
+                .totalColaboradores((long) i * 17)
+                .build();
+    }
+
+    private static RegistroBemestarDTO registro(int i) {
+        return RegistroBemestarDTO.builder()
+                .idRegistro((long) i)
+                .idUsuario(1L)
+                .nomeUsuario("Usuário Teste 1")
+                .nivelHumor(1 + i % 10)
+                .nivelEstresse(1 + (i * 3) % 10)
+                .nivelEnergia(1 + (i * 7) % 10)
+                .horasSono(6.5 + (i % 4) * 0.5)
+                .qualidadeSono(1 + i % 5)
+                .mediaBemestar(5.5 + (i % 5) * 0.5)
+                .classificacao(i % 3 == 0 ? "MODERADO" : "BOM")
+                .observacoes(i % 2 == 0 ? "Dia produtivo, dormi bem" : null)
+                .dataRegistro(AGORA.minusDays(i))
+                .temAlerta(i % 7 == 0)
+                .motivoAlerta(i % 7 == 0 ? "Estresse elevado" : null)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.wellmind.repository;
+
+import com.wellmind.entity.Usuario;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Busca por email em uma base de 1 milhão de usuários: plano de execução e tempo
+ * da consulta por EMAIL_NORMALIZADO (índice único) contra o LOWER(EMAIL) anterior
+ *
+ * Opcional, por volume e duração: mvn test -Dtest=EmailLookupBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.com.wellmind=INFO"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class EmailLookupBenchmarkTest {
+
+    private static final int USUARIOS = 1_000_000;
+    private static final int BUSCAS = 10_000;
+    private static final int BUSCAS_SEM_INDICE = 20;
+    private static final int LOTE_INSERCAO = 100_000;
+
+    // Mesmas condições que o Hibernate gera para findByEmail antes e depois
+    private static final String CONSULTA_NORMALIZADA =
+            "SELECT ID_USUARIO FROM USUARIO WHERE EMAIL_NORMALIZADO = LOWER(TRIM(?))";
+    private static final String CONSULTA_ANTERIOR =
+            "SELECT ID_USUARIO FROM USUARIO WHERE LOWER(EMAIL) = LOWER(?)";
+
+    private static boolean populado;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void popularBase() {
+        if (populado) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+        // Emails com maiúsculas: só a coluna normalizada casa com a busca em minúsculas
+        for (int lote = 0; lote < USUARIOS; lote += LOTE_INSERCAO) {
+            jdbcTemplate.update("INSERT INTO USUARIO (ID_USUARIO, NOME, EMAIL, SENHA_HASH, DATA_NASCIMENTO, " +
+                    "DATA_CADASTRO, STATUS_ATIVO, ULTIMO_REGISTRO) " +
+                    "SELECT X, 'Usuário ' || X, 'Usuario' || X || '@WellMind.com', 'hash', DATE '1990-01-01', " +
+                    "CURRENT_TIMESTAMP, CASE WHEN MOD(X, 10) = 0 THEN 'N' ELSE 'S' END, CURRENT_TIMESTAMP " +
+                    "FROM SYSTEM_RANGE(?, ?)", lote + 1, lote + LOTE_INSERCAO);
+        }
+        jdbcTemplate.execute("ANALYZE TABLE USUARIO");
+        populado = true;
+        log.info("{} usuários inseridos em {} ms", USUARIOS, System.currentTimeMillis() - inicio);
+    }
+
+    @Test
+    void buscaPorEmailUsaIndiceSemVarrerTabela() {
+        String plano = plano(CONSULTA_NORMALIZADA);
+        log.info("Plano atual:\n{}", plano);
+        assertTrue(plano.contains("IDX_USUARIO_EMAIL_NORMALIZADO"), plano);
+        assertTrue(acessoPorChave(plano), "busca pontual no índice: " + plano);
+
+        // LOWER(EMAIL) não tem condição de índice: varre a tabela (ou um índice inteiro)
+        String planoAnterior = plano(CONSULTA_ANTERIOR);
+        log.info("Plano anterior:\n{}", planoAnterior);
+        assertFalse(acessoPorChave(planoAnterior), planoAnterior);
+    }
+
+    @Test
+    void buscasDoLoginPeloRepositorio() {
+        Random random = new Random(42);
+
+        Optional<Usuario> encontrado = usuarioRepository.findByEmail("  usuario123457@wellmind.COM ");
+        assertEquals(123_457L, encontrado.map(Usuario::getIdUsuario).orElse(null));
+        assertTrue(usuarioRepository.findByEmailAndActive("usuario100@wellmind.com").isEmpty(), "usuário inativo");
+        assertTrue(usuarioRepository.existsByEmail("USUARIO1@wellmind.com"));
+        assertFalse(usuarioRepository.existsByEmail("ninguem@wellmind.com"));
+
+        for (int i = 0; i < 1_000; i++) {
+            usuarioRepository.findByEmailAndActive(email(random));
+        }
+
+        long inicio = System.nanoTime();
+        int ativos = 0;
+        for (int i = 0; i < BUSCAS; i++) {
+            if (usuarioRepository.findByEmailAndActive(email(random)).isPresent()) {
+                ativos++;
+            }
+        }
+        double mediaAtual = (System.nanoTime() - inicio) / 1_000.0 / BUSCAS;
+        assertTrue(ativos > BUSCAS * 0.8, "a maioria das buscas encontra usuário ativo");
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < BUSCAS; i++) {
+            jdbcTemplate.queryForList(CONSULTA_NORMALIZADA, Long.class, email(random));
+        }
+        double mediaJdbc = (System.nanoTime() - inicio) / 1_000.0 / BUSCAS;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < BUSCAS_SEM_INDICE; i++) {
+            jdbcTemplate.queryForList(CONSULTA_ANTERIOR, Long.class, email(random));
+        }
+        double mediaAnterior = (System.nanoTime() - inicio) / 1_000.0 / BUSCAS_SEM_INDICE;
+
+        log.info(String.format("findByEmailAndActive (EMAIL_NORMALIZADO): %10.1f us/busca", mediaAtual));
+        log.info(String.format("EMAIL_NORMALIZADO (SQL direto):           %10.1f us/busca", mediaJdbc));
+        log.info(String.format("LOWER(EMAIL) anterior:                    %10.1f us/busca", mediaAnterior));
+        assertTrue(mediaAtual * 20 < mediaAnterior,
+                "busca indexada deveria ser ordens de grandeza mais rápida que a varredura");
+    }
+
+    private String plano(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql.replace("?", "'usuario500000@wellmind.com'"), String.class);
+    }
+
+    /**
+     * No EXPLAIN do H2 o índice usado vem em um comentário; "INDICE: CONDICAO" é busca
+     * pontual, só o nome do índice (ou tableScan) é varredura completa
+     */
+    private static boolean acessoPorChave(String plano) {
+        int inicio = plano.indexOf("/*");
+        int fim = plano.indexOf("*/", inicio);
+        return inicio >= 0 && fim > inicio
+                && plano.substring(inicio, fim).contains(": EMAIL_NORMALIZADO = ");
+    }
+
+    private static String email(Random random) {
+        return "usuario" + (1 + random.nextInt(USUARIOS)) + "@wellmind.com";
+    }
+}
@@ -0,0 +1,207 @@
+package com.wellmind.repository;
+
+import com.wellmind.dto.empresa.EmpresaDTO;
+import com.wellmind.dto.registrobemestar.RegistroBemestarDTO;
+import com.wellmind.dto.usuarioempresa.UsuarioEmpresaDTO;
+import com.wellmind.entity.Empresa;
+import com.wellmind.entity.RegistroBemestar;
+import com.wellmind.entity.Usuario;
+import com.wellmind.entity.UsuarioEmpresa;
+import com.wellmind.mapper.EmpresaMapper;
+import com.wellmind.mapper.RegistroBemestarMapper;
+import com.wellmind.mapper.UsuarioEmpresaMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Garante que as listagens executam um número fixo de comandos SQL,
+ * independente da quantidade de linhas (sem N+1 ao montar os DTOs)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({RegistroBemestarMapper.class, UsuarioEmpresaMapper.class, EmpresaMapper.class})
+class ListagensStatementCountTest {
+
+    private static final int USUARIOS = 25;
+    private static final int REGISTROS_POR_USUARIO = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RegistroBemestarRepository registroBemestarRepository;
+
+    @Autowired
+    private UsuarioEmpresaRepository usuarioEmpresaRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private RegistroBemestarMapper registroBemestarMapper;
+
+    @Autowired
+    private UsuarioEmpresaMapper usuarioEmpresaMapper;
+
+    @Autowired
+    private EmpresaMapper empresaMapper;
+
+    private Statistics statistics;
+    private Long primeiroUsuarioId;
+    private Long primeiraEmpresaId;
+
+    @BeforeEach
+    void popularBase() {
+        Empresa empresaA = entityManager.persist(empresa("Empresa A", "11111111000111", USUARIOS));
+        Empresa empresaB = entityManager.persist(empresa("Empresa B", "22222222000122", USUARIOS));
+
+        for (int i = 0; i < USUARIOS; i++) {
+            Usuario usuario = entityManager.persist(Usuario.builder()
+                    .nome("Usuário " + i)
+                    .email("usuario" + i + "@wellmind.com")
+                    .senhaHash("hash")
+                    .dataNascimento(LocalDate.of(1990, 1, 1))
+                    .statusAtivo("S")
+                    .build());
+
+            if (primeiroUsuarioId == null) {
+                primeiroUsuarioId = usuario.getIdUsuario();
+            }
+
+            for (Empresa empresa : List.of(empresaA, empresaB)) {
+                entityManager.persist(UsuarioEmpresa.builder()
+                        .usuario(usuario)
+                        .empresa(empresa)
+                        .cargo("Analista")
+                        .dataVinculo(LocalDate.of(2020, 1, 1))
+                        .statusVinculo("A")
+                        .build());
+            }
+
+            for (int r = 0; r < REGISTROS_POR_USUARIO; r++) {
+                entityManager.persist(RegistroBemestar.builder()
+                        .usuario(usuario)
+                        .dataRegistro(LocalDateTime.now().minusHours(r))
+                        .nivelHumor(2)
+                        .nivelEstresse(9)
+                        .nivelEnergia(5)
+                        .horasSono(5.0)
+                        .build());
+            }
+        }
+
+        primeiraEmpresaId = empresaA.getIdEmpresa();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void registrosDoUsuarioUsamConsultaECount() {
+        Page<RegistroBemestarDTO> pagina = registroBemestarRepository
+                .findByUsuarioId(primeiroUsuarioId, PageRequest.of(0, 2))
+                .map(registroBemestarMapper::toDTO);
+
+        assertEquals(2, pagina.getContent().size());
+        assertStatements(2);
+    }
+
+    @Test
+    void registrosComEstresseAltoUsamConsultaECount() {
+        Page<RegistroBemestarDTO> pagina = registroBemestarRepository
+                .findWithHighStress(PageRequest.of(0, 20))
+                .map(registroBemestarMapper::toDTO);
+
+        assertEquals(20, pagina.getContent().size());
+        pagina.forEach(dto -> assertEquals("Usuário", dto.getNomeUsuario().split(" ")[0]));
+        assertStatements(2);
+    }
+
+    @Test
+    void registrosComAlertaUsamUmaConsulta() {
+        List<RegistroBemestarDTO> registros = registroBemestarRepository.findRequiringAlert()
+                .stream()
+                .map(registroBemestarMapper::toDTO)
+                .toList();
+
+        assertEquals(USUARIOS * REGISTROS_POR_USUARIO, registros.size());
+        assertStatements(1);
+    }
+
+    @Test
+    void vinculosDoUsuarioUsamUmaConsulta() {
+        List<UsuarioEmpresaDTO> vinculos = usuarioEmpresaRepository.findByUsuarioId(primeiroUsuarioId)
+                .stream()
+                .map(usuarioEmpresaMapper::toDTO)
+                .toList();
+
+        assertEquals(2, vinculos.size());
+        assertStatements(1);
+    }
+
+    @Test
+    void vinculosAtivosDaEmpresaUsamConsultaECount() {
+        Page<UsuarioEmpresaDTO> pagina = usuarioEmpresaRepository
+                .findActiveByEmpresaId(primeiraEmpresaId, PageRequest.of(0, 20))
+                .map(usuarioEmpresaMapper::toDTO);
+
+        assertEquals(20, pagina.getContent().size());
+        assertEquals(USUARIOS, pagina.getTotalElements());
+        assertStatements(2);
+    }
+
+    @Test
+    void empresasAtivasUsamConsultaECount() {
+        Page<EmpresaDTO> pagina = empresaRepository.findAllActive(PageRequest.of(0, 1))
+                .map(empresaMapper::toDTO);
+
+        assertEquals(USUARIOS, pagina.getContent().get(0).getTotalColaboradores());
+        assertStatements(2);
+    }
+
+    @Test
+    void empresasComMaisColaboradoresUsamConsultaECount() {
+        Page<EmpresaDTO> pagina = empresaRepository.findEmpresasComMaisColaboradores(PageRequest.of(0, 1))
+                .map(empresaMapper::toDTO);
+
+        assertEquals(1, pagina.getContent().size());
+        assertStatements(2);
+    }
+
+    private void assertStatements(long esperado) {
+        assertEquals(esperado, statistics.getPrepareStatementCount(), "comandos SQL executados");
+    }
+
+    private static Empresa empresa(String nome, String cnpj, long colaboradores) {
+        return Empresa.builder()
+                .nomeEmpresa(nome)
+                .cnpj(cnpj)
+                .statusAtivo("S")
+                .totalColaboradoresAtivos(colaboradores)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.wellmind.search;
+
+import com.wellmind.dto.profissionalsaude.FiltroProfissionalDTO;
+import com.wellmind.dto.profissionalsaude.ProfissionalSaudeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Filtros combinados, contagens por faceta e a faixa "a combinar" do índice de facetas
+ */
+class ProfissionalFacetIndexTest {
+
+    private ProfissionalFacetIndex indice;
+
+    @BeforeEach
+    void montar() {
+        indice = new ProfissionalFacetIndex(new double[]{300, 100, 200});
+        indice.indexar(profissional(1, "Ana", "Psicologia", "PSICÓLOGO", true, 150.0));
+        indice.indexar(profissional(2, "Bruno", "Psiquiatria", "MÉDICO", true, 350.0));
+        indice.indexar(profissional(3, "Carla", "psicologia", "PSICÓLOGO", false, 90.0));
+        indice.indexar(profissional(4, "Daniel", "Nutrição", "MÉDICO", true, null));
+        indice.indexar(profissional(5, "Elisa", "Psicologia", "PSICÓLOGO", true, null));
+        indice.indexar(profissional(6, "Fábio", "Psiquiatria", "MÉDICO", false, 250.0));
+    }
+
+    @Test
+    void combinaFiltrosEContaCadaFacetaSemOProprioFiltro() {
+        FiltroProfissionalDTO filtro = FiltroProfissionalDTO.builder()
+                .especialidades(List.of("Psicologia", "Psiquiatria"))
+                .disponivel(true)
+                .precoMax(400.0)
+                .build();
+
+        ProfissionalFacetIndex.Resultado resultado = indice.buscar(filtro, OrdenacaoProfissional.MENOR_PRECO, 0, 10);
+
+        // Especialidades em OU, E com disponibilidade e preço; sem valor de consulta não entra na faixa de preço
+        assertEquals(2, resultado.getTotal());
+        assertEquals(List.of(1L, 2L), ids(resultado));
+
+        Map<String, Map<String, Long>> facetas = resultado.getFacetas();
+        assertEquals(Map.of("Psicologia", 1L, "Psiquiatria", 1L), facetas.get(ProfissionalFacetIndex.ESPECIALIDADE));
+        assertEquals(Map.of("MÉDICO", 1L, "PSICÓLOGO", 1L), facetas.get(ProfissionalFacetIndex.TIPO_REGISTRO));
+        assertEquals(Map.of("true", 2L, "false", 2L), facetas.get(ProfissionalFacetIndex.DISPONIVEL));
+        assertEquals(Map.of("0-100", 0L, "100-200", 1L, "200-300", 0L, "300+", 1L, ProfissionalFacetIndex.A_COMBINAR, 1L),
+                facetas.get(ProfissionalFacetIndex.FAIXA_PRECO));
+    }
+
+    @Test
+    void semPrecoFicaEmACombinarEAoFimDaOrdenacaoPorPreco() {
+        ProfissionalFacetIndex.Resultado resultado = indice.buscar(
+                new FiltroProfissionalDTO(), OrdenacaoProfissional.MAIOR_PRECO, 0, 10);
+
+        assertEquals(6, resultado.getTotal());
+        assertEquals(List.of(2L, 6L, 1L, 3L, 4L, 5L), ids(resultado));
+        assertEquals(Map.of("0-100", 1L, "100-200", 1L, "200-300", 1L, "300+", 1L, ProfissionalFacetIndex.A_COMBINAR, 2L),
+                resultado.getFacetas().get(ProfissionalFacetIndex.FAIXA_PRECO));
+
+        ProfissionalFacetIndex.Resultado pagina = indice.buscar(
+                new FiltroProfissionalDTO(), OrdenacaoProfissional.MENOR_PRECO, 4, 10);
+        assertEquals(List.of(4L, 5L), ids(pagina));
+    }
+
+    @Test
+    void reindexacaoERemocaoAtualizamFiltrosEContagens() {
+        indice.indexar(profissional(1, "Ana", "Psicologia", "PSICÓLOGO", true, null));
+        indice.remover(2);
+
+        // Sem acento e sem distinção de maiúsculas
+        FiltroProfissionalDTO filtro = FiltroProfissionalDTO.builder()
+                .tiposRegistro(List.of("psicologo"))
+                .build();
+        ProfissionalFacetIndex.Resultado resultado = indice.buscar(filtro, OrdenacaoProfissional.NOME, 0, 10);
+
+        assertEquals(5, indice.tamanho());
+        assertEquals(List.of(1L, 3L, 5L), ids(resultado));
+        assertEquals(Map.of("0-100", 1L, "100-200", 0L, "200-300", 0L, "300+", 0L, ProfissionalFacetIndex.A_COMBINAR, 2L),
+                resultado.getFacetas().get(ProfissionalFacetIndex.FAIXA_PRECO));
+        assertEquals(Map.of("Nutrição", 1L, "Psicologia", 3L, "Psiquiatria", 1L),
+                indice.buscar(new FiltroProfissionalDTO(), OrdenacaoProfissional.NOME, 0, 0)
+                        .getFacetas().get(ProfissionalFacetIndex.ESPECIALIDADE));
+
+        FiltroProfissionalDTO faixa = FiltroProfissionalDTO.builder().precoMin(100.0).precoMax(300.0).build();
+        assertEquals(List.of(6L), ids(indice.buscar(faixa, OrdenacaoProfissional.MENOR_PRECO, 0, 10)));
+    }
+
+    private static List<Long> ids(ProfissionalFacetIndex.Resultado resultado) {
+        return resultado.getProfissionais().stream().map(ProfissionalSaudeDTO::getIdProfissional).toList();
+    }
+
+    private static ProfissionalSaudeDTO profissional(long id, String nome, String especialidade, String tipoRegistro,
+                                                     boolean disponivel, Double valorConsulta) {
+        return ProfissionalSaudeDTO.builder()
+                .idProfissional(id)
+                .nome(nome)
+                .especialidade(especialidade)
+                .tipoRegistro(tipoRegistro)
+                .disponivel(disponivel)
+                .valorConsulta(valorConsulta)
+                .ativo(true)
+                .build();
+    }
+}